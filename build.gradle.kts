@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.4"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "me.geon"
@@ -27,3 +28,13 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// 벤치마크: src/jmh/java, 실행은 ./gradlew jmh (결과: build/results/jmh)
+jmh {
+    jmhVersion = "1.37"
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    profilers = listOf("gc") // 할당률(gc.alloc.rate, gc.alloc.rate.norm) 측정
+    resultFormat = "JSON"
+}
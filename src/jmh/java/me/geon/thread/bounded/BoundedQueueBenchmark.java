@@ -0,0 +1,257 @@
+package me.geon.thread.bounded;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import me.geon.thread.metrics.LatencyHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Control;
+
+/**
+ * 경합 상황에서 BoundedQueue 구현체 비교
+ * - transfer : 생산자 N개, 소비자 N개가 MESSAGES 개를 주고받는 처리량 (ops/s)
+ * - handoff  : 생산자 스레드가 put 한 데이터를 소비자 스레드가 꺼낼 때까지 걸린 시간 (p99 등 백분위)
+ *              JMH 그룹으로 생산자(handoffPut)와 소비자(handoffTake)를 다른 스레드에서 돌리고, 데이터에 put 시각을 담아 보낸다.
+ *              JMH 결과에는 put/take 처리량이 나오고, 전달 시간 분포는 iteration 마다 LatencyHistogram 으로 출력한다.
+ *              V3, V4 는 대기 집합이 하나라서, capacity 가 작고 배경 스레드가 많으면 모두 대기 상태에 빠져 끝나지 않을 수 있다.
+ * - 할당률은 build.gradle.kts 의 gc 프로파일러 결과(gc.alloc.rate.norm)로 확인한다.
+ *
+ * V1, V2, V6_2 ~ V6_4 는 버리거나, 락을 잡고 sleep 하거나, 예외를 던지므로 비교 대상에서 뺐다.
+ * V7_1 은 생산자/소비자가 1개일 때만 안전하므로 뺐다.
+ *
+ * 실행: ./gradlew jmh
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoundedQueueBenchmark {
+
+    static final int MESSAGES = 1 << 14; // 1, 2, 4, 8, 16 으로 나누어 떨어짐
+    private static final long STUCK_TIMEOUT_SECONDS = 10;
+    private static final long HANDOFF_POLL_MILLIS = 1;
+
+    static BoundedQueue<String> create(String version, int capacity) {
+        return switch (version) {
+            case "V3" -> new BoundedQueueV3<>(capacity);
+            case "V4" -> new BoundedQueueV4<>(capacity);
+            case "V5" -> new BoundedQueueV5<>(capacity);
+            case "V6_1" -> new BoundedQueueV6_1<>(capacity);
+            case "V7_2" -> new BoundedQueueV7_2<>(capacity);
+            case "V8" -> new BoundedQueueV8<>(capacity);
+            case "V10" -> new BoundedQueueV10(capacity, 64); // "data" + 숫자가 들어가는 크기
+            default -> throw new IllegalArgumentException("지원하지 않는 버전: " + version);
+        };
+    }
+
+    /**
+     * V3 ~ V5 는 put/take 마다 Utils.logger 로 출력하므로 그대로 두면 콘솔 출력 속도를 측정하게 된다.
+     * 로그 호출 비용(문자열 생성, 포맷)은 남기고 실제 출력만 버린다.
+     */
+    static PrintStream silenceLogger() {
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return original;
+    }
+
+    @State(Scope.Benchmark)
+    public static class TransferState {
+
+        @Param({"V3", "V4", "V5", "V6_1", "V7_2", "V8", "V10"})
+        public String version;
+
+        @Param({"1", "16", "1024"})
+        public int capacity;
+
+        // 생산자 수 = 소비자 수
+        @Param({"1", "2", "4", "8", "16"})
+        public int threads;
+
+        BoundedQueue<String> queue;
+        ExecutorService workers;
+        String[] payloads;
+        private PrintStream originalOut;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            originalOut = silenceLogger();
+            workers = Executors.newFixedThreadPool(threads * 2);
+            payloads = new String[MESSAGES];
+            for (int i = 0; i < MESSAGES; i++) {
+                payloads[i] = "data" + i; // 생산자 쪽 문자열 할당이 측정에 섞이지 않도록 미리 만든다.
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void newQueue() {
+            queue = create(version, capacity);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            workers.shutdownNow(); // 대기 상태에 빠진 작업이 있으면 인터럽트로 정리
+            System.setOut(originalOut);
+        }
+    }
+
+    @State(Scope.Group)
+    public static class HandoffState {
+
+        @Param({"V3", "V4", "V5", "V6_1", "V7_2", "V8", "V10"})
+        public String version;
+
+        @Param({"1", "16", "1024"})
+        public int capacity;
+
+        // 측정 생산자/소비자 1쌍 + 배경 생산자/소비자 (threads - 1)개씩
+        @Param({"1", "2", "4", "8", "16"})
+        public int threads;
+
+        BoundedQueue<String> queue;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final AtomicInteger producing = new AtomicInteger(); // put 중인 측정 생산자 수 (0 또는 1)
+        final List<String> taken = new ArrayList<>();        // 소비자 스레드만 사용
+        private final List<Thread> background = new ArrayList<>();
+        private PrintStream originalOut;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            originalOut = silenceLogger();
+            queue = create(version, capacity);
+            for (int i = 1; i < threads; i++) {
+                // 측정 소비자가 배경 생산자의 데이터를 꺼낼 수도 있으므로 같은 형식(put 시각)으로 보낸다.
+                startBackground(() -> queue.put(Long.toString(System.nanoTime())), "producer" + i);
+                startBackground(queue::take, "consumer" + i);
+            }
+        }
+
+        private void startBackground(Runnable action, String name) {
+            Thread thread = new Thread(() -> {
+                try {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        action.run();
+                    }
+                } catch (RuntimeException e) {
+                    // 구현체들은 InterruptedException 을 RuntimeException 으로 감싸서 던진다. 종료 신호로 본다.
+                }
+            }, name);
+            thread.setDaemon(true);
+            background.add(thread);
+            thread.start();
+        }
+
+        @Setup(Level.Iteration)
+        public void resetLatency() {
+            latency.reset();
+        }
+
+        @TearDown(Level.Iteration)
+        public void reportLatency() {
+            originalOut.println("handoff[" + version + ", capacity=" + capacity + ", threads=" + threads + "] "
+                    + latency.snapshot());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            for (Thread thread : background) {
+                thread.interrupt();
+            }
+            for (Thread thread : background) {
+                thread.join(1000);
+            }
+            background.clear();
+            System.setOut(originalOut);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void transfer(TransferState state) throws InterruptedException {
+        int perThread = MESSAGES / state.threads;
+        BoundedQueue<String> queue = state.queue;
+        CountDownLatch done = new CountDownLatch(state.threads * 2);
+        for (int t = 0; t < state.threads; t++) {
+            int offset = t * perThread;
+            state.workers.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    queue.put(state.payloads[offset + i]);
+                }
+                done.countDown();
+            });
+            state.workers.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    queue.take();
+                }
+                done.countDown();
+            });
+        }
+        if (!done.await(STUCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            // V3 처럼 대기 집합이 하나인 구현은 notify() 가 같은 편(생산자 -> 생산자)을 깨우면 모두 대기 상태에 빠질 수 있다.
+            throw new IllegalStateException(state.version + ": 생산자/소비자가 모두 대기 상태에 빠짐, 큐 = " + queue);
+        }
+    }
+
+    /**
+     * 측정이 끝난 뒤에는 넣지 않는다. producing 을 먼저 올리고 stopMeasurement 를 확인하므로,
+     * 소비자가 "끝남 + producing == 0" 을 보면 이후에 put 을 시작하는 생산자는 없다.
+     */
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public void handoffPut(HandoffState state, Control control) {
+        state.producing.incrementAndGet();
+        try {
+            if (!control.stopMeasurement) {
+                state.queue.put(Long.toString(System.nanoTime()));
+            }
+        } finally {
+            state.producing.decrementAndGet();
+        }
+    }
+
+    /**
+     * 꺼낸 데이터의 put 시각으로 전달 시간을 기록한다. 계속 기다리면 iteration 이 끝나지 않으므로 짧게 나눠 기다린다.
+     * 측정이 끝나면 생산자가 put 에서 빠져나갈 때까지 비워서, 생산자가 가득 찬 큐에 막혀 끝나지 않는 일이 없게 한다.
+     */
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public void handoffTake(HandoffState state, Control control) {
+        List<String> taken = state.taken;
+        if (state.queue.drainTo(taken, 1, HANDOFF_POLL_MILLIS, TimeUnit.MILLISECONDS) > 0) {
+            state.latency.record(System.nanoTime() - Long.parseLong(taken.get(0)));
+            taken.clear();
+        }
+        if (control.stopMeasurement) {
+            while (state.producing.get() > 0) {
+                state.queue.drainTo(taken, state.capacity, HANDOFF_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            // 남은 데이터가 다음 iteration 에서 오래 기다린 것으로 기록되지 않도록 비운다.
+            state.queue.drainTo(taken, state.capacity, 0, TimeUnit.MILLISECONDS);
+            taken.clear();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package me.geon.thread.forkjoin;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 1 ~ size 합계 비교
+ * - sequential   : 단일 스레드 반복문 (기준선)
+ * - twoThreadJob : JoinSleep.Job 방식, 구간을 반으로 나누어 스레드 두 개를 만들고 join() (로그/sleep 제외, long 누적)
+ * - forkJoin     : ParallelRangeReducer.sum (work-stealing)
+ * - longStream   : LongStream.rangeClosed(1, size).parallel().sum()
+ *
+ * 실행: ./gradlew jmh (size=1000000000 은 한 번에 수백 ms 가 걸린다)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelRangeBenchmark {
+
+    @Param({"1000000", "100000000", "1000000000"})
+    public long size;
+
+    private final ParallelRangeReducer reducer = new ParallelRangeReducer();
+
+    @Benchmark
+    public long sequential() {
+        return sumRange(1, size);
+    }
+
+    @Benchmark
+    public long twoThreadJob() throws InterruptedException {
+        long half = size / 2;
+        LongJob job1 = new LongJob(1, half);
+        LongJob job2 = new LongJob(half + 1, size);
+        Thread t1 = new Thread(job1);
+        Thread t2 = new Thread(job2);
+        t1.start();
+        t2.start();
+        t1.join();
+        t2.join();
+        return job1.result + job2.result;
+    }
+
+    @Benchmark
+    public long forkJoin() {
+        return reducer.sum(1, size);
+    }
+
+    @Benchmark
+    public long longStream() {
+        return LongStream.rangeClosed(1, size).parallel().sum();
+    }
+
+    private static long sumRange(long start, long end) {
+        long sum = 0;
+        for (long i = start; i <= end; i++) {
+            sum += i;
+        }
+        return sum;
+    }
+
+    /**
+     * JoinSleep.Job 과 같은 구조 (int 누적은 10억 구간에서 넘치므로 long 으로 바꿈)
+     */
+    static class LongJob implements Runnable {
+        private final long start;
+        private final long end;
+        private long result; // join() 이 happens-before 를 보장하므로 volatile 이 필요 없다.
+
+        LongJob(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public void run() {
+            result = sumRange(start, end);
+        }
+    }
+}
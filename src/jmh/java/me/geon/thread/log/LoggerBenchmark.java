@@ -0,0 +1,70 @@
+package me.geon.thread.log;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.util.concurrent.TimeUnit;
+
+import me.geon.thread.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Utils.logger() 한 줄에 드는 시간과 할당량 비교
+ * - console : 기존 방식 (LocalTime.now().format + printf)
+ * - direct  : CachedClock + 재사용 버퍼 + 채널 직접 쓰기
+ * - async   : 링 버퍼에 넣고 writer 스레드가 출력 (호출 스레드 쪽 비용만 측정)
+ * 출력 대상은 모두 버리는 스트림/채널이다. 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 확인한다.
+ *
+ * 실행: ./gradlew jmh (build.gradle.kts 에서 gc 프로파일러 사용)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggerBenchmark {
+
+    private static final String MESSAGE = "[put] 생산자 데이터 저장, consumerCond.signal() 호출";
+
+    @Param({"console", "direct", "async"})
+    public String sink;
+
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        originalOut = System.out;
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(discard);
+        Utils.setLogSink(switch (sink) {
+            case "console" -> new ConsoleLogSink();
+            case "direct" -> new DirectLogSink(Channels.newChannel(OutputStream.nullOutputStream()));
+            case "async" -> AsyncLogSink.start(1 << 16, OverflowPolicy.BLOCK, discard);
+            default -> throw new IllegalArgumentException("지원하지 않는 sink: " + sink);
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Utils.setLogSink(new ConsoleLogSink());
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void logger() {
+        Utils.logger(MESSAGE);
+    }
+}
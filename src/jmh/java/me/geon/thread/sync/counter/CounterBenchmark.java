@@ -0,0 +1,106 @@
+package me.geon.thread.sync.counter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 스레드 1 ~ 64개가 동시에 increment() 할 때 카운터 구현별 처리량 (ops/s, 전체 스레드 합계)
+ * - read=none        : 증가만 한다.
+ * - read=exact       : 64번 증가할 때마다 get() 으로 한 번 읽는다.
+ * - read=approximate : 64번 증가할 때마다 getApproximate() 로 한 번 읽는다.
+ *
+ * JMH 의 @Threads 는 파라미터로 바꿀 수 없으므로, BoundedQueueBenchmark.transfer 처럼
+ * 한 번 호출에 threads 개의 작업 스레드가 OPERATIONS 를 나누어 수행한다.
+ *
+ * 실행: ./gradlew jmh
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CounterBenchmark {
+
+    static final int OPERATIONS = 1 << 20; // 1 ~ 64 로 나누어 떨어짐
+    private static final int READ_EVERY = 64;
+
+    @Param({"synchronized", "striped", "batching"})
+    public String impl;
+
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    public int threads;
+
+    @Param({"none", "exact", "approximate"})
+    public String read;
+
+    private ExecutorService workers;
+    private Counter counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workers = Executors.newFixedThreadPool(threads);
+        counter = switch (impl) {
+            case "synchronized" -> new SynchronizedCounter();
+            case "striped" -> new StripedCounter();
+            case "batching" -> new BatchingCounter(1024);
+            default -> throw new IllegalArgumentException("지원하지 않는 카운터: " + impl);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        workers.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long increment() throws InterruptedException {
+        int perThread = OPERATIONS / threads;
+        Counter counter = this.counter;
+        int mode = switch (read) {
+            case "exact" -> 1;
+            case "approximate" -> 2;
+            default -> 0;
+        };
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] sink = new long[threads * 16]; // 읽은 값을 버리지 않도록 (스레드마다 다른 캐시 라인)
+        for (int t = 0; t < threads; t++) {
+            int slot = t * 16;
+            workers.execute(() -> {
+                long seen = 0;
+                for (int i = 0; i < perThread; i++) {
+                    counter.increment();
+                    if (mode != 0 && i % READ_EVERY == 0) {
+                        seen += mode == 1 ? counter.get() : counter.getApproximate();
+                    }
+                }
+                sink[slot] = seen;
+                done.countDown();
+            });
+        }
+        done.await();
+        long total = 0;
+        for (long value : sink) {
+            total += value;
+        }
+        return total;
+    }
+}
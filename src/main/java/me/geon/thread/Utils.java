@@ -1,16 +1,24 @@
 package me.geon.thread;
 
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import me.geon.thread.log.LogSink;
+import me.geon.thread.log.LogSinks;
 
 public abstract class Utils {
 
-	private static final DateTimeFormatter formatter =
-		DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+	// 기본은 호출 스레드에서 바로 출력, -Dthread.log=async 로 비동기 출력, -Dthread.log=direct 로 할당 없는 출력 (me.geon.thread.log.LogSinks 참고)
+	private static volatile LogSink logSink = LogSinks.fromSystemProperties();
 
 	public static void logger(Object obj) {
-		String time = LocalTime.now().format(formatter);
-		System.out.printf("%s [%s] %s\n", time, Thread.currentThread().getName(), obj);
+		logSink.log(obj);
+	}
+
+	/**
+	 * 로그 출력 방식을 바꾼다. 이전 LogSink 는 남은 로그를 출력한 뒤 닫는다.
+	 */
+	public static void setLogSink(LogSink newSink) {
+		LogSink old = logSink;
+		logSink = newSink;
+		old.close();
 	}
 
 	public static void timeSleep(long millis) {
@@ -10,21 +10,29 @@ public class BoundedMain {
 
     public static void main(String[] args) {
         // 1. BoundedQueue 선택
-        //BoundedQueue queue = new BoundedQueueV1(2);
-        // BoundedQueue queue = new BoundedQueueV2(2);
-//        BoundedQueue queue = new BoundedQueueV3(2);
-//        BoundedQueue queue = new BoundedQueueV4(2);
-        BoundedQueue queue = new BoundedQueueV5(2);
-//        BoundedQueue queue = new BoundedQueueV6_1(2);
-//        BoundedQueue queue = new BoundedQueueV6_2(2);
-        //BoundedQueue queue = new BoundedQueueV6_3(2);
+        //BoundedQueue<String> queue = new BoundedQueueV1<>(2);
+        // BoundedQueue<String> queue = new BoundedQueueV2<>(2);
+//        BoundedQueue<String> queue = new BoundedQueueV3<>(2);
+//        BoundedQueue<String> queue = new BoundedQueueV4<>(2);
+        BoundedQueue<String> queue = new BoundedQueueV5<>(2);
+//        BoundedQueue<String> queue = new BoundedQueueV6_1<>(2);
+//        BoundedQueue<String> queue = new BoundedQueueV6_2<>(2);
+        //BoundedQueue<String> queue = new BoundedQueueV6_3<>(2);
+//        BoundedQueue<String> queue = new BoundedQueueV7_1<>(2); // 생산자, 소비자가 각각 1개일 때만 사용
+//        BoundedQueue<String> queue = new BoundedQueueV7_2<>(2);
+//        BoundedQueue<String> queue = new BoundedQueueV8<>(2); // 가상 스레드용 (로그 없음)
+//        BoundedQueue<String> queue = new BoundedQueueV9(java.nio.file.Path.of("build/queue-v9"), 2); // 메모리 맵 파일 (재시작해도 남음)
+//        BoundedQueue<String> queue = new BoundedQueueV10(2, 64); // direct 메모리 슬롯 (로그 없음)
+//        BoundedQueue<String> queue = new BoundedQueueV11(2, java.nio.file.Path.of("build/queue-v11.spill")); // 넘치면 파일로 (put 이 기다리지 않음)
+//        BoundedQueue<String> queue = BoundedQueueV12.strictPriority(8, BoundedQueueV12.Lane.of(2), BoundedQueueV12.Lane.of(2)); // lane 별 capacity, put 은 마지막 lane (로그 없음)
 
         // 2. 생산자, 소비자 실행 순서 선택, 반드시 하나만 선택!
         producerFirst(queue); // 생산자 먼저 실행
         //consumerFirst(queue); // 소비자 먼저 실행
+        //batchProducerFirst(queue); // 생산자, 소비자 모두 배치 모드로 실행 (putAll, takeBatch)
     }
 
-    private static void producerFirst(BoundedQueue queue) {
+    private static void producerFirst(BoundedQueue<String> queue) {
         logger("== [생산자 먼저 실행] 시작, " + queue.getClass().getSimpleName() + " ==");
         List<Thread> threads = new ArrayList<>();
         startProducer(queue, threads);
@@ -34,7 +42,7 @@ public class BoundedMain {
         logger("== [생산자 먼저 실행] 종료, " + queue.getClass().getSimpleName() + " ==");
     }
 
-    private static void consumerFirst(BoundedQueue queue) {
+    private static void consumerFirst(BoundedQueue<String> queue) {
         logger("== [소비자 먼저 실행] 시작, " + queue.getClass().getSimpleName() + " ==");
         List<Thread> threads = new ArrayList<>();
         startConsumer(queue, threads);
@@ -45,7 +53,24 @@ public class BoundedMain {
 
     }
 
-    private static void startProducer(BoundedQueue queue, List<Thread> threads) {
+    private static void batchProducerFirst(BoundedQueue<String> queue) {
+        logger("== [배치 생산자 먼저 실행] 시작, " + queue.getClass().getSimpleName() + " ==");
+        List<Thread> threads = new ArrayList<>();
+        Thread producer = new Thread(new ProducerTask(queue, List.of("data1", "data2", "data3")), "producer1");
+        threads.add(producer);
+        producer.start();
+        timeSleep(100);
+        printAllState(queue, threads);
+
+        Thread consumer = new Thread(new ConsumerTask(queue, 3), "consumer1");
+        threads.add(consumer);
+        consumer.start();
+        timeSleep(100);
+        printAllState(queue, threads);
+        logger("== [배치 생산자 먼저 실행] 종료, " + queue.getClass().getSimpleName() + " ==");
+    }
+
+    private static void startProducer(BoundedQueue<String> queue, List<Thread> threads) {
         System.out.println();
         logger("생산자 시작");
         for (int i = 1; i <= 3; i++) {
@@ -56,7 +81,7 @@ public class BoundedMain {
         }
     }
 
-    private static void startConsumer(BoundedQueue queue, List<Thread> threads) {
+    private static void startConsumer(BoundedQueue<String> queue, List<Thread> threads) {
         System.out.println();
         logger("소비자 시작");
         for (int i = 1; i <= 3; i++) {
@@ -67,7 +92,8 @@ public class BoundedMain {
         }
     }
 
-    private static void printAllState(BoundedQueue queue, List<Thread> threads) {
+    // 한 시점의 상태만 출력한다. 부하 중에 상태별로 보내는 시간의 비율은 monitor.ThreadStateSampler 로 본다.
+    private static void printAllState(BoundedQueue<String> queue, List<Thread> threads) {
         System.out.println();
         logger("현재 상태 출력, 큐 데이터: " + queue);
         for (Thread thread : threads) {
@@ -1,7 +1,29 @@
 package me.geon.thread.bounded;
 
-public interface BoundedQueue {
-    void put(String data);
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 
-    String take();
+public interface BoundedQueue<T> {
+    void put(T data);
+
+    T take();
+
+    /**
+     * 여러 데이터를 한 번에 저장한다.
+     * 락 획득과 대기 스레드 깨우기를 데이터마다 하지 않고 묶어서 처리한다.
+     */
+    void putAll(Collection<? extends T> data);
+
+    /**
+     * 최대 max 개의 데이터를 sink 로 옮기고, 옮긴 개수를 반환한다.
+     * 데이터가 없을 때의 동작(대기, 즉시 반환 등)은 take() 와 같다.
+     * max 가 0 이하이면 기다리지 않고 바로 0 을 반환한다.
+     */
+    int takeBatch(int max, Collection<? super T> sink);
+
+    /**
+     * 최대 timeout 만큼 데이터를 기다렸다가 최대 max 개를 sink 로 옮긴다.
+     * 시간 안에 데이터가 들어오지 않으면 0 을 반환한다. max 가 0 이하이면 기다리지 않고 바로 0 을 반환한다.
+     */
+    int drainTo(Collection<? super T> sink, int max, long timeout, TimeUnit unit);
 }
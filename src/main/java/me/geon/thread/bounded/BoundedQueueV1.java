@@ -1,13 +1,15 @@
 package me.geon.thread.bounded;
 
 import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 
 import static me.geon.thread.Utils.logger;
 
-public class BoundedQueueV1 implements BoundedQueue {
+public class BoundedQueueV1<T> implements BoundedQueue<T> {
 
-    private final Queue<String> queue = new ArrayDeque<>();
+    private final Queue<T> queue = new ArrayDeque<>();
     private final int max;
 
     public BoundedQueueV1(int max) {
@@ -15,7 +17,7 @@ public class BoundedQueueV1 implements BoundedQueue {
     }
 
     @Override
-    public synchronized void put(String data) {
+    public synchronized void put(T data) {
         if (queue.size() == max) {
             logger("[put] 큐가 가득 참, 버림: " + data);
             return;
@@ -24,7 +26,7 @@ public class BoundedQueueV1 implements BoundedQueue {
     }
 
     @Override
-    public synchronized String take() {
+    public synchronized T take() {
         if (queue.isEmpty()) {
             return null;
         }
@@ -32,6 +34,33 @@ public class BoundedQueueV1 implements BoundedQueue {
         return queue.poll();
     }
 
+    @Override
+    public synchronized void putAll(Collection<? extends T> data) {
+        for (T item : data) {
+            if (queue.size() == max) {
+                logger("[putAll] 큐가 가득 참, 버림: " + item);
+                continue;
+            }
+            queue.offer(item);
+        }
+    }
+
+    @Override
+    public synchronized int takeBatch(int max, Collection<? super T> sink) {
+        int count = 0;
+        while (count < max && !queue.isEmpty()) {
+            sink.add(queue.poll());
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> sink, int max, long timeout, TimeUnit unit) {
+        // V1은 대기 기능이 없으므로 timeout 을 무시하고 즉시 반환한다.
+        return takeBatch(max, sink);
+    }
+
     @Override
     public String toString() {
         return queue.toString();
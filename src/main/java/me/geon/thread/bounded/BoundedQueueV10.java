@@ -0,0 +1,275 @@
+package me.geon.thread.bounded;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 데이터를 힙 밖(direct ByteBuffer)에 두는 BoundedQueue
+ *
+ * V1 ~ V8 은 String 참조를 힙에 보관하므로, 수 KB 짜리 데이터가 수백만 개 밀리면 그대로 old 영역에 쌓인다.
+ * V10 은 데이터를 미리 잡아 둔 direct 메모리의 고정 크기 슬롯에 쓰고, 큐에는 슬롯 번호(int)만 돌린다.
+ *
+ * 구성
+ * - 슬롯: [int 길이][내용 slotBytes], 64byte 단위(stride)로 맞춰서 이웃 슬롯끼리 같은 캐시 라인을 쓰지 않는다.
+ *         direct 버퍼 하나는 2GB 를 넘을 수 없으므로 최대 1GB 청크 여러 개에 나눠 담는다.
+ *         슬롯마다 힙 객체를 두지 않고, 번호로 위치를 계산해서(청크 = 번호 / 청크당 슬롯 수, 위치 = 나머지 * stride)
+ *         청크 버퍼에 절대 위치로 읽고 쓴다. 슬롯이 수백만 개여도 힙에는 청크 버퍼 몇 개와 두 링만 남는다.
+ * - free  : 비어 있는 슬롯 번호 (처음에는 전부)
+ * - ready : 다 쓴 슬롯 번호 (넣은 순서)
+ *   두 링 모두 IntBoundedQueueV7_2 (할당 없는 lock-free 링)이다. 슬롯 번호는 slots 개뿐이므로 링이 넘치지 않는다.
+ *   free 가 비면 생산자가, ready 가 비면 소비자가 기다린다. (spin -> yield -> park)
+ *
+ * 복사 없는 API
+ * - claim() -> 슬롯 버퍼에 직접 쓰기 -> publish()
+ * - acquire() -> 읽기 전용 view 에서 직접 읽기 -> release()
+ *   슬롯은 free -> 생산자 -> ready -> 소비자 -> free 순서로 한 번에 한 스레드만 가진다.
+ *   claim/acquire 는 호출마다 Slot 과 그 슬롯만 보이는 ByteBuffer 하나를 만든다. 곧 버려지는 young 객체라 old 영역에 쌓이지 않는다.
+ * BoundedQueue<String> 메서드(put/take)는 Slot 없이 청크에 바로 UTF-8 로 쓰고 읽는다. (변환용 byte[]/String 은 힙에 생긴다)
+ *
+ * direct 메모리 한도는 -XX:MaxDirectMemorySize 이다. (기본값은 최대 힙 크기)
+ */
+public class BoundedQueueV10 implements BoundedQueue<String> {
+
+    private static final int LENGTH_BYTES = Integer.BYTES;
+    private static final int ALIGNMENT = 64;
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+
+    private final int slotBytes;
+    private final int slotCount;
+    private final int stride;
+    private final int slotsPerChunk;
+    private final ByteBuffer[] chunks;
+    private final IntBoundedQueueV7_2 free;
+    private final IntBoundedQueueV7_2 ready;
+    private final long offHeapBytes;
+
+    /**
+     * @param slotCount 슬롯 수 (큐에 담을 수 있는 최대 개수)
+     * @param slotBytes 슬롯 하나에 담을 수 있는 최대 바이트 수
+     */
+    public BoundedQueueV10(int slotCount, int slotBytes) {
+        if (slotCount <= 0 || slotBytes <= 0) {
+            throw new IllegalArgumentException("slotCount=" + slotCount + ", slotBytes=" + slotBytes);
+        }
+        int stride = align(LENGTH_BYTES + slotBytes);
+        if (stride > MAX_CHUNK_BYTES) {
+            throw new IllegalArgumentException("slotBytes 가 너무 큽니다: " + slotBytes);
+        }
+        this.slotBytes = slotBytes;
+        this.slotCount = slotCount;
+        this.stride = stride;
+        this.slotsPerChunk = MAX_CHUNK_BYTES / stride;
+        this.free = new IntBoundedQueueV7_2(slotCount);
+        this.ready = new IntBoundedQueueV7_2(slotCount);
+
+        this.chunks = new ByteBuffer[(slotCount + slotsPerChunk - 1) / slotsPerChunk];
+        long allocated = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            int inChunk = Math.min(slotsPerChunk, slotCount - i * slotsPerChunk);
+            chunks[i] = ByteBuffer.allocateDirect(inChunk * stride);
+            allocated += chunks[i].capacity();
+        }
+        this.offHeapBytes = allocated;
+        for (int i = 0; i < slotCount; i++) {
+            free.put(i);
+        }
+    }
+
+    /**
+     * 빈 슬롯을 하나 가져온다. 빈 슬롯이 없으면 기다린다.
+     * 반환된 buffer() 에 최대 slotBytes 만큼 쓰고 publish() 를 호출해야 한다.
+     */
+    public Slot claim() {
+        int index = free.take();
+        return new Slot(index, chunkOf(index).slice(offsetOf(index) + LENGTH_BYTES, slotBytes));
+    }
+
+    /**
+     * claim() 으로 가져온 슬롯에 쓴 내용(buffer 의 0 ~ position)을 소비자에게 넘긴다.
+     */
+    public void publish(Slot slot) {
+        chunkOf(slot.index).putInt(offsetOf(slot.index), slot.data.position());
+        ready.put(slot.index);
+    }
+
+    /**
+     * 가장 먼저 넣은 슬롯을 가져온다. 없으면 기다린다.
+     * view() 로 읽은 뒤 release() 를 호출해야 슬롯이 다시 쓰인다.
+     */
+    public Slot acquire() {
+        return readSlot(ready.take());
+    }
+
+    /**
+     * 최대 timeout 만큼 기다리고, 그래도 없으면 null 을 반환한다.
+     */
+    public Slot acquire(long timeout, TimeUnit unit) {
+        int[] index = new int[1];
+        if (ready.drainTo(index, 1, timeout, unit) == 0) {
+            return null;
+        }
+        return readSlot(index[0]);
+    }
+
+    /**
+     * 다 읽은 슬롯을 돌려준다. 이후에는 view() 를 사용하면 안 된다.
+     */
+    public void release(Slot slot) {
+        free.put(slot.index);
+    }
+
+    @Override
+    public void put(String data) {
+        write(encode(data));
+    }
+
+    @Override
+    public String take() {
+        return read(ready.take());
+    }
+
+    @Override
+    public void putAll(Collection<? extends String> data) {
+        List<byte[]> encoded = new ArrayList<>(data.size());
+        for (String item : data) {
+            encoded.add(encode(item)); // 중간에 너무 큰 데이터가 있으면 하나도 넣지 않는다.
+        }
+        for (byte[] bytes : encoded) {
+            write(bytes);
+        }
+    }
+
+    @Override
+    public int takeBatch(int max, Collection<? super String> sink) {
+        int[] indexes = batchIndexes(max);
+        int taken = ready.takeBatch(max, indexes);
+        return readAll(indexes, taken, sink);
+    }
+
+    @Override
+    public int drainTo(Collection<? super String> sink, int max, long timeout, TimeUnit unit) {
+        int[] indexes = batchIndexes(max);
+        int taken = ready.drainTo(indexes, max, timeout, unit);
+        return readAll(indexes, taken, sink);
+    }
+
+    /**
+     * 슬롯 하나에 담을 수 있는 최대 바이트 수
+     */
+    public int slotBytes() {
+        return slotBytes;
+    }
+
+    public int capacity() {
+        return slotCount;
+    }
+
+    /**
+     * 미리 잡아 둔 direct 메모리 크기
+     */
+    public long offHeapBytes() {
+        return offHeapBytes;
+    }
+
+    /**
+     * 한 번에 꺼낼 수 있는 슬롯 번호는 슬롯 수를 넘지 않으므로, max 가 커도(Integer.MAX_VALUE 등) 슬롯 수만큼만 잡는다.
+     */
+    private int[] batchIndexes(int max) {
+        return new int[Math.max(0, Math.min(max, slotCount))];
+    }
+
+    private int readAll(int[] indexes, int count, Collection<? super String> sink) {
+        for (int i = 0; i < count; i++) {
+            sink.add(read(indexes[i]));
+        }
+        return count;
+    }
+
+    private void write(byte[] bytes) {
+        int index = free.take();
+        ByteBuffer chunk = chunkOf(index);
+        int offset = offsetOf(index);
+        chunk.put(offset + LENGTH_BYTES, bytes);
+        chunk.putInt(offset, bytes.length);
+        ready.put(index);
+    }
+
+    /**
+     * 슬롯의 내용을 힙으로 복사하고 슬롯을 돌려준다.
+     */
+    private String read(int index) {
+        ByteBuffer chunk = chunkOf(index);
+        int offset = offsetOf(index);
+        byte[] bytes = new byte[chunk.getInt(offset)];
+        chunk.get(offset + LENGTH_BYTES, bytes);
+        free.put(index);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Slot readSlot(int index) {
+        ByteBuffer chunk = chunkOf(index);
+        int offset = offsetOf(index);
+        return new Slot(index, chunk.slice(offset + LENGTH_BYTES, chunk.getInt(offset)).asReadOnlyBuffer());
+    }
+
+    private ByteBuffer chunkOf(int index) {
+        return chunks[index / slotsPerChunk];
+    }
+
+    private int offsetOf(int index) {
+        return (index % slotsPerChunk) * stride;
+    }
+
+    private byte[] encode(String data) {
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > slotBytes) {
+            throw new IllegalArgumentException("데이터가 슬롯보다 큽니다: " + bytes.length + "byte > " + slotBytes + "byte");
+        }
+        return bytes;
+    }
+
+    private static int align(int bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedQueueV10[slots=" + slotCount + ", slotBytes=" + slotBytes
+                + ", offHeap=" + offHeapBytes / (1024 * 1024) + "MB]";
+    }
+
+    /**
+     * claim() 또는 acquire() 로 가져온 슬롯 하나 (호출마다 새로 만든다)
+     * - buffer(): claim() 한 슬롯에서 생산자가 쓰는 곳 (claim ~ publish 사이에만 사용)
+     * - view()  : acquire() 한 슬롯의 내용만 보이는 읽기 전용 view (acquire ~ release 사이에만 사용)
+     */
+    public static final class Slot {
+
+        private final int index;
+        private final ByteBuffer data;
+
+        private Slot(int index, ByteBuffer data) {
+            this.index = index;
+            this.data = data;
+        }
+
+        public ByteBuffer buffer() {
+            if (data.isReadOnly()) {
+                throw new IllegalStateException("acquire() 한 슬롯에는 쓸 수 없습니다. view() 를 사용하세요.");
+            }
+            return data;
+        }
+
+        public ByteBuffer view() {
+            return data;
+        }
+
+        public int index() {
+            return index;
+        }
+    }
+}
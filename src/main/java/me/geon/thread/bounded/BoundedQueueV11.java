@@ -0,0 +1,484 @@
+package me.geon.thread.bounded;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 가득 차면 버리는 대신 파일로 넘기는(spill) BoundedQueue
+ *
+ * BoundedQueueV1 은 가득 차면 데이터를 버리고("큐가 가득 참, 버림"), V6_2/V6_3 는 offer 실패를 로그로만 남긴다.
+ * V11 은 넘치는 데이터를 로컬 파일에 순서대로 이어 쓰고, 메모리에 자리가 나면 백그라운드에서 다시 읽어 온다.
+ * - 생산자는 기다리지 않는다. (메모리가 가득 차도 put 은 바로 반환한다)
+ * - 데이터를 버리지 않고, 넣은 순서대로 꺼내진다.
+ * - 평소(메모리에 자리가 있을 때)에는 메모리 큐와 같다. 파일은 몰릴 때만 사용한다.
+ *
+ * 데이터 순서 = ring(메모리, 최대 max 개) -> 파일 -> tail(아직 파일에 쓰지 않은 넘친 데이터)
+ * - 파일이나 tail 에 데이터가 남아 있으면, ring 에 자리가 있어도 새 데이터는 tail 로 간다. (순서 유지)
+ * - tail 이 batchSize 만큼 차면 통째로 떼어 spill 스레드에 넘긴다. 파일 쓰기는 레코드마다 하지 않고 묶어서 한다.
+ * - spill 스레드 하나가 파일 쓰기와 다시 읽기를 모두 한다. 그래서 파일 위치를 따로 동기화하지 않는다.
+ *   파일 I/O 는 락 밖에서 하므로 생산자/소비자는 디스크를 기다리지 않는다.
+ * - 파일을 모두 읽으면 길이를 0 으로 줄여 디스크 공간을 돌려준다.
+ *
+ * 파일 레코드 = [int 길이][UTF-8 바이트]. 재시작 후 복구는 하지 않는다. (영속성이 필요하면 BoundedQueueV9)
+ * 디스크가 생산 속도를 따라가지 못하면 떼어 둔 배치가 메모리에 쌓인다.
+ * spill 스레드가 실패하면(디스크 부족 등) 그 뒤 put 은 예외를 던지고, take 는 메모리에 남은 데이터를 다 꺼낸 뒤 예외를 던진다.
+ * close() 뒤에도 마찬가지로, 메모리에 남은 데이터를 다 꺼낸 뒤의 take 는 예외를 던진다.
+ * (조용히 데이터를 쌓아 두거나 소비자를 영원히 기다리게 하지 않는다)
+ */
+public class BoundedQueueV11 implements BoundedQueue<String>, AutoCloseable {
+
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition work = lock.newCondition(); // spill 스레드가 할 일이 생김
+
+    private final int max;
+    private final int batchSize;
+    private final Path spillFile;
+    private final FileChannel channel;
+    private final Thread spiller;
+
+    // lock 으로 보호
+    private final ArrayDeque<String> ring = new ArrayDeque<>();
+    private final ArrayDeque<List<String>> sealed = new ArrayDeque<>(); // 파일에 쓸 배치 (오래된 순)
+    private ArrayDeque<String> tail = new ArrayDeque<>();
+    private long inFile;       // 파일에 썼지만 아직 다시 읽지 않은 레코드 수
+    private long spilledTotal; // 파일에 쓴 레코드 누적 수
+    private boolean closed;
+    private Throwable failure; // spill 스레드가 실패한 원인
+
+    // spill 스레드만 사용
+    private long writePos;
+    private long readPos;
+    private ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+
+    public BoundedQueueV11(int max, Path spillFile) {
+        this(max, spillFile, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param spillFile 넘친 데이터를 쓸 파일, 이미 있으면 비우고 시작한다.
+     * @param batchSize 이만큼 모이면 한 번에 파일에 쓴다.
+     */
+    public BoundedQueueV11(int max, Path spillFile, int batchSize) {
+        if (max <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("max=" + max + ", batchSize=" + batchSize);
+        }
+        this.max = max;
+        this.batchSize = batchSize;
+        this.spillFile = spillFile;
+        try {
+            this.channel = FileChannel.open(spillFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.spiller = new Thread(this::spillLoop, "spill-" + spillFile.getFileName());
+        spiller.setDaemon(true);
+        spiller.start();
+    }
+
+    /**
+     * 기다리지 않는다. 메모리에 자리가 없으면 파일로 넘긴다.
+     */
+    @Override
+    public void put(String data) {
+        lock.lock();
+        try {
+            add(data);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String take() {
+        lock.lock();
+        try {
+            while (ring.isEmpty()) {
+                checkCanWait();
+                await(notEmpty);
+            }
+            return poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void putAll(Collection<? extends String> data) {
+        lock.lock();
+        try {
+            for (String item : data) {
+                add(item);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int takeBatch(int max, Collection<? super String> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            while (ring.isEmpty()) {
+                checkCanWait();
+                await(notEmpty);
+            }
+            return pollBatch(max, sink);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super String> sink, int max, long timeout, TimeUnit unit) {
+        if (max <= 0) {
+            return 0;
+        }
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (ring.isEmpty()) {
+                checkCanWait();
+                if (remaining <= 0) {
+                    return 0;
+                }
+                try {
+                    remaining = notEmpty.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return pollBatch(max, sink);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 전체 개수 (메모리 + 파일 + 파일에 쓰기 전)
+     */
+    public long size() {
+        lock.lock();
+        try {
+            return ring.size() + inFile + sealedCount() + tail.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 메모리(ring)에 있는 개수
+     */
+    public int memorySize() {
+        lock.lock();
+        try {
+            return ring.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지금까지 파일에 쓴 레코드 수 (파일에 쓰기 전에 메모리로 바로 옮긴 tail 데이터는 제외)
+     */
+    public long spilledTotal() {
+        lock.lock();
+        try {
+            return spilledTotal;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * spill 스레드를 멈추고 파일을 지운다. 파일에 남은 데이터는 버려진다.
+     * 메모리(ring)에 남은 데이터는 계속 꺼낼 수 있고, 비면 take/takeBatch/drainTo 는 예외를 던진다.
+     * spill 스레드가 실패했었다면 정리한 뒤 그 실패를 던진다.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            work.signal();
+            notEmpty.signalAll(); // 기다리는 소비자가 닫힌 것을 알 수 있도록 깨운다.
+        } finally {
+            lock.unlock();
+        }
+        try {
+            spiller.join();
+            channel.close();
+            Files.deleteIfExists(spillFile);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lock.lock();
+        try {
+            checkFailure();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 아래 add/poll/pollBatch 는 lock 을 잡은 상태에서 호출한다.
+
+    private void add(String data) {
+        if (closed) {
+            throw new IllegalStateException("닫힌 큐입니다.");
+        }
+        checkFailure();
+        if (ring.size() < max && inFile == 0 && sealed.isEmpty() && tail.isEmpty()) {
+            ring.add(data);
+            notEmpty.signal();
+            return;
+        }
+        tail.add(data);
+        if (tail.size() >= batchSize) {
+            sealed.add(new ArrayList<>(tail));
+            tail = new ArrayDeque<>();
+            work.signal();
+        }
+    }
+
+    private String poll() {
+        String data = ring.poll();
+        wakeSpillerIfRoom();
+        return data;
+    }
+
+    private int pollBatch(int max, Collection<? super String> sink) {
+        int taken = 0;
+        while (taken < max && !ring.isEmpty()) {
+            sink.add(ring.poll());
+            taken++;
+        }
+        wakeSpillerIfRoom();
+        return taken;
+    }
+
+    /**
+     * 메모리가 절반 아래로 내려갔고 넘긴 데이터가 있으면 다시 읽어 오게 한다. (한 개씩 자주 깨우지 않도록 절반 기준)
+     */
+    private void wakeSpillerIfRoom() {
+        if (hasRoomToReload()) {
+            work.signal();
+        }
+    }
+
+    /**
+     * 다시 읽어 올 데이터가 있고 메모리가 절반 이하로 비었는지. 소비자가 깨울 때와 spill 스레드가 일어날 때 같은 기준을 쓴다.
+     * (한 자리만 비어도 깨우면 64KB 를 읽어 레코드 한두 개만 옮기게 된다)
+     */
+    private boolean hasRoomToReload() {
+        return ring.size() <= max / 2 && (inFile > 0 || !tail.isEmpty());
+    }
+
+    /**
+     * spill 스레드가 실패했으면 더 받거나 기다리지 않고 예외를 던진다.
+     */
+    private void checkFailure() {
+        if (failure != null) {
+            throw new IllegalStateException("spill 스레드가 실패했습니다. 처리하지 못한 데이터 "
+                    + (inFile + sealedCount() + tail.size()) + "개", failure);
+        }
+    }
+
+    /**
+     * 비어 있는 큐에서 기다리기 전에 호출한다. 실패했거나 닫혔으면 기다리지 않고 예외를 던진다.
+     * (닫힌 뒤에는 ring 을 채울 spill 스레드가 없으므로, 기다리면 영원히 깨어나지 못한다)
+     */
+    private void checkCanWait() {
+        checkFailure();
+        if (closed) {
+            throw new IllegalStateException("닫힌 큐입니다.");
+        }
+    }
+
+    private int sealedCount() {
+        int count = 0;
+        for (List<String> batch : sealed) {
+            count += batch.size();
+        }
+        return count;
+    }
+
+    private boolean hasWork() {
+        return closed || !sealed.isEmpty() || hasRoomToReload();
+    }
+
+    // spill 스레드
+
+    private void spillLoop() {
+        try {
+            while (true) {
+                List<String> batch;
+                int room;
+                lock.lock();
+                try {
+                    while (!hasWork()) {
+                        work.await();
+                    }
+                    if (closed) {
+                        return;
+                    }
+                    batch = sealed.peek(); // 파일에 다 쓴 뒤에 뺀다. (쓰는 동안에도 size() 에 포함)
+                    room = max - ring.size();
+                    if (batch == null && inFile == 0) {
+                        // 파일이 비었으므로 tail 은 디스크를 거치지 않고 바로 옮긴다.
+                        moveTail(room);
+                        continue;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                if (batch != null) {
+                    write(batch);
+                    lock.lock();
+                    try {
+                        sealed.poll();
+                        inFile += batch.size();
+                        spilledTotal += batch.size();
+                    } finally {
+                        lock.unlock();
+                    }
+                    continue;
+                }
+
+                List<String> loaded = read(room);
+                boolean drained;
+                lock.lock();
+                try {
+                    ring.addAll(loaded);
+                    inFile -= loaded.size();
+                    drained = inFile == 0;
+                    if (!loaded.isEmpty()) {
+                        notEmpty.signalAll();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (drained) {
+                    // 파일을 다 읽었다. 다음 쓰기는 spill 스레드만 하므로 지금 비워도 안전하다.
+                    channel.truncate(0);
+                    writePos = 0;
+                    readPos = 0;
+                }
+            }
+        } catch (InterruptedException | IOException | RuntimeException e) {
+            // FileChannel 은 인터럽트되면 닫히므로 인터럽트도 실패로 본다.
+            lock.lock();
+            try {
+                failure = e;
+                notEmpty.signalAll(); // 기다리는 소비자가 실패를 알 수 있도록 깨운다.
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void moveTail(int room) {
+        int moved = 0;
+        while (moved < room && !tail.isEmpty()) {
+            ring.add(tail.poll());
+            moved++;
+        }
+        if (moved > 0) {
+            notEmpty.signalAll();
+        }
+    }
+
+    private void write(List<String> batch) throws IOException {
+        List<byte[]> encoded = new ArrayList<>(batch.size());
+        int bytes = 0;
+        for (String item : batch) {
+            byte[] data = item.getBytes(StandardCharsets.UTF_8);
+            encoded.add(data);
+            bytes += Integer.BYTES + data.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        for (byte[] data : encoded) {
+            buffer.putInt(data.length).put(data);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            writePos += channel.write(buffer, writePos);
+        }
+    }
+
+    /**
+     * 파일에서 최대 room 개를 순서대로 읽는다. 한 번에 READ_BUFFER_BYTES 씩 읽어서 레코드를 나눈다.
+     */
+    private List<String> read(int room) throws IOException {
+        List<String> loaded = new ArrayList<>(Math.min(room, batchSize));
+        while (loaded.size() < room && readPos < writePos) {
+            readBuffer.clear();
+            readBuffer.limit((int) Math.min(readBuffer.capacity(), writePos - readPos));
+            while (readBuffer.hasRemaining()) {
+                channel.read(readBuffer, readPos + readBuffer.position());
+            }
+            readBuffer.flip();
+
+            int consumed = 0;
+            while (loaded.size() < room && readBuffer.remaining() >= Integer.BYTES) {
+                int length = readBuffer.getInt(readBuffer.position());
+                if (readBuffer.remaining() < Integer.BYTES + length) {
+                    break;
+                }
+                readBuffer.position(readBuffer.position() + Integer.BYTES);
+                byte[] data = new byte[length];
+                readBuffer.get(data);
+                loaded.add(new String(data, StandardCharsets.UTF_8));
+                consumed += Integer.BYTES + length;
+            }
+            if (consumed == 0) {
+                // 레코드 하나가 버퍼보다 크다. 버퍼를 키워서 다시 읽는다.
+                readBuffer = ByteBuffer.allocate(Math.max(readBuffer.capacity() * 2, Integer.BYTES + readBuffer.getInt(0)));
+                continue;
+            }
+            readPos += consumed;
+        }
+        return loaded;
+    }
+
+    private static void await(Condition condition) {
+        try {
+            condition.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return "BoundedQueueV11[memory=" + ring.size() + "/" + max + ", file=" + inFile
+                    + ", pending=" + (sealedCount() + tail.size()) + ", spilledTotal=" + spilledTotal + "]";
+        } finally {
+            lock.unlock();
+        }
+    }
+}
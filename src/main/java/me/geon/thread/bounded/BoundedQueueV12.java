@@ -0,0 +1,376 @@
+package me.geon.thread.bounded;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 여러 lane 으로 나눈 BoundedQueue (로그 없음)
+ *
+ * V1 ~ V11 은 lane 이 하나인 FIFO 라서, 대량 작업이 몰리면 급한 데이터도 그 뒤에서 기다린다.
+ * V12 는 생산자가 lane 을 골라 넣고, lane 마다 따로 capacity 를 둔다.
+ * - 대량 lane 이 가득 차도 다른 lane 의 생산자는 기다리지 않는다.
+ * - 소비자는 아래 방식 중 하나로 lane 을 고른다. 데이터가 있는 lane 이 하나라도 있으면 기다리지 않는다.
+ *   WEIGHTED_ROUND_ROBIN: lane 을 돌아가며 weight 개씩 꺼낸다. (weight 3:1 이면 0,0,0,1,0,0,0,1 ...)
+ *   STRICT_PRIORITY     : 번호가 작은 lane 부터 꺼낸다. 대신 낮은 lane 이 starvationLimit 번 연속으로 밀리면
+ *                         한 번은 그 lane 에서 꺼낸다. (굶주림 방지, limit 3 이면 0,0,0,1,0,0,0,1 ...)
+ *
+ * V5 처럼 락 하나에 조건을 나눠 둔다.
+ * - notFull[lane]: lane 마다 하나, 그 lane 에서 꺼냈을 때만 그 lane 의 생산자를 깨운다.
+ * - notEmpty     : 소비자용 하나, 어느 lane 에 넣어도 깨운다. (소비자는 lane 을 가리지 않는다)
+ *
+ * lane 을 지정하지 않은 put/putAll 은 마지막 lane (가장 낮은 우선순위)에 넣는다.
+ */
+public class BoundedQueueV12<T> implements BoundedQueue<T> {
+
+    public enum Scheduling {
+        WEIGHTED_ROUND_ROBIN,
+        STRICT_PRIORITY
+    }
+
+    /**
+     * @param capacity 이 lane 에 담을 수 있는 최대 개수
+     * @param weight   WEIGHTED_ROUND_ROBIN 에서 한 바퀴에 꺼내는 개수 (STRICT_PRIORITY 에서는 쓰지 않는다)
+     */
+    public record Lane(int capacity, int weight) {
+
+        public Lane {
+            if (capacity <= 0 || weight <= 0) {
+                throw new IllegalArgumentException("capacity=" + capacity + ", weight=" + weight);
+            }
+        }
+
+        public static Lane of(int capacity) {
+            return new Lane(capacity, 1);
+        }
+    }
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition[] notFull;
+
+    private final Scheduling scheduling;
+    private final int starvationLimit;
+    private final Lane[] lanes;
+    private final ArrayDeque<T>[] queues;
+    private final long[] served;
+    private int size;
+
+    // WEIGHTED_ROUND_ROBIN: 지금 lane 과 이 lane 에서 더 꺼낼 수 있는 개수
+    private int cursor;
+    private int credit;
+    // STRICT_PRIORITY: 데이터가 있는데도 연속으로 밀린 횟수
+    private final int[] skipped;
+
+    private BoundedQueueV12(Scheduling scheduling, int starvationLimit, Lane... lanes) {
+        if (lanes.length == 0) {
+            throw new IllegalArgumentException("lane 이 하나 이상 필요합니다.");
+        }
+        this.scheduling = scheduling;
+        this.starvationLimit = starvationLimit;
+        this.lanes = lanes.clone();
+        this.notFull = new Condition[lanes.length];
+        this.served = new long[lanes.length];
+        this.skipped = new int[lanes.length];
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArrayDeque<T>[] queues = new ArrayDeque[lanes.length];
+        this.queues = queues;
+        for (int i = 0; i < lanes.length; i++) {
+            notFull[i] = lock.newCondition();
+            queues[i] = new ArrayDeque<>();
+        }
+        this.credit = lanes[0].weight();
+    }
+
+    /**
+     * lane 을 돌아가며 각 lane 의 weight 개씩 꺼낸다.
+     */
+    public static <T> BoundedQueueV12<T> weightedRoundRobin(Lane... lanes) {
+        return new BoundedQueueV12<>(Scheduling.WEIGHTED_ROUND_ROBIN, 0, lanes);
+    }
+
+    /**
+     * lanes[0] 이 가장 높은 우선순위이다. 낮은 lane 이 starvationLimit 번 연속으로 밀리면 한 번은 꺼낸다.
+     */
+    public static <T> BoundedQueueV12<T> strictPriority(int starvationLimit, Lane... lanes) {
+        if (starvationLimit <= 0) {
+            throw new IllegalArgumentException("starvationLimit=" + starvationLimit);
+        }
+        return new BoundedQueueV12<>(Scheduling.STRICT_PRIORITY, starvationLimit, lanes);
+    }
+
+    @Override
+    public void put(T data) {
+        put(defaultLane(), data);
+    }
+
+    /**
+     * 지정한 lane 에 넣는다. 그 lane 이 가득 차면 기다린다.
+     */
+    public void put(int lane, T data) {
+        checkLane(lane);
+        lock.lock();
+        try {
+            while (queues[lane].size() == lanes[lane].capacity()) {
+                await(notFull[lane]);
+            }
+            enqueue(lane, data);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지정한 lane 이 가득 차 있으면 기다리지 않고 false 를 반환한다.
+     */
+    public boolean offer(int lane, T data) {
+        checkLane(lane);
+        lock.lock();
+        try {
+            if (queues[lane].size() == lanes[lane].capacity()) {
+                return false;
+            }
+            enqueue(lane, data);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T take() {
+        lock.lock();
+        try {
+            while (size == 0) {
+                await(notEmpty);
+            }
+            int lane = selectLane();
+            T data = dequeue(lane);
+            notFull[lane].signal();
+            return data;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void putAll(Collection<? extends T> data) {
+        putAll(defaultLane(), data);
+    }
+
+    public void putAll(int lane, Collection<? extends T> data) {
+        checkLane(lane);
+        lock.lock();
+        try {
+            int added = 0;
+            for (T item : data) {
+                while (queues[lane].size() == lanes[lane].capacity()) {
+                    if (added > 0) {
+                        // 가득 찼으니 지금까지 넣은 데이터를 소비자가 가져갈 수 있도록 먼저 깨운다.
+                        notEmpty.signalAll();
+                        added = 0;
+                    }
+                    await(notFull[lane]);
+                }
+                enqueue(lane, item);
+                added++;
+            }
+            if (added > 0) {
+                notEmpty.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 한 개씩 꺼낼 때와 같은 순서로 lane 을 고르면서 최대 max 개를 꺼낸다.
+     */
+    @Override
+    public int takeBatch(int max, Collection<? super T> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            while (size == 0) {
+                await(notEmpty);
+            }
+            return pollBatch(max, sink);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> sink, int max, long timeout, TimeUnit unit) {
+        if (max <= 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            long nanos = unit.toNanos(timeout);
+            while (size == 0) {
+                if (nanos <= 0) {
+                    return 0;
+                }
+                try {
+                    nanos = notEmpty.awaitNanos(nanos);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return pollBatch(max, sink);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size(int lane) {
+        checkLane(lane);
+        lock.lock();
+        try {
+            return queues[lane].size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * lane 별로 지금까지 꺼낸 개수
+     */
+    public long served(int lane) {
+        checkLane(lane);
+        lock.lock();
+        try {
+            return served[lane];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    public Scheduling scheduling() {
+        return scheduling;
+    }
+
+    // 아래 메서드는 lock 을 잡은 상태에서 호출한다.
+
+    private void enqueue(int lane, T data) {
+        queues[lane].offer(data);
+        size++;
+    }
+
+    private T dequeue(int lane) {
+        size--;
+        served[lane]++;
+        return queues[lane].poll();
+    }
+
+    private int pollBatch(int max, Collection<? super T> sink) {
+        boolean[] touched = new boolean[lanes.length];
+        int count = 0;
+        while (count < max && size > 0) {
+            int lane = selectLane();
+            sink.add(dequeue(lane));
+            touched[lane] = true;
+            count++;
+        }
+        for (int lane = 0; lane < lanes.length; lane++) {
+            if (touched[lane]) {
+                notFull[lane].signalAll();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 다음에 꺼낼 lane, size > 0 일 때만 호출한다.
+     */
+    private int selectLane() {
+        return scheduling == Scheduling.STRICT_PRIORITY ? selectByPriority() : selectByWeight();
+    }
+
+    private int selectByWeight() {
+        // 많아야 한 바퀴 돌면 데이터가 있는 lane 을 만난다. 빈 lane 은 credit 을 쓰지 않고 넘어간다.
+        for (int i = 0; i <= lanes.length; i++) {
+            if (credit > 0 && !queues[cursor].isEmpty()) {
+                credit--;
+                return cursor;
+            }
+            cursor = (cursor + 1) % lanes.length;
+            credit = lanes[cursor].weight();
+        }
+        throw new IllegalStateException("꺼낼 lane 이 없습니다. size=" + size);
+    }
+
+    private int selectByPriority() {
+        int highest = -1;
+        int starved = -1;
+        for (int lane = 0; lane < lanes.length; lane++) {
+            if (queues[lane].isEmpty()) {
+                skipped[lane] = 0;
+                continue;
+            }
+            if (highest < 0) {
+                highest = lane;
+            } else if (++skipped[lane] > starvationLimit && starved < 0) {
+                starved = lane;
+            }
+        }
+        int lane = starved >= 0 ? starved : highest;
+        skipped[lane] = 0;
+        return lane;
+    }
+
+    private int defaultLane() {
+        return lanes.length - 1;
+    }
+
+    private void checkLane(int lane) {
+        if (lane < 0 || lane >= lanes.length) {
+            throw new IllegalArgumentException("lane=" + lane + ", laneCount=" + lanes.length);
+        }
+    }
+
+    private static void await(Condition condition) {
+        try {
+            condition.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            StringBuilder sb = new StringBuilder("BoundedQueueV12[").append(scheduling);
+            for (int lane = 0; lane < lanes.length; lane++) {
+                sb.append(", lane").append(lane).append('=').append(queues[lane].size())
+                        .append('/').append(lanes[lane].capacity());
+            }
+            return sb.append(", served=").append(Arrays.toString(served)).append(']').toString();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,14 +1,16 @@
 package me.geon.thread.bounded;
 
 import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 
 import static me.geon.thread.Utils.logger;
 import static me.geon.thread.Utils.timeSleep;
 
-public class BoundedQueueV2 implements BoundedQueue {
+public class BoundedQueueV2<T> implements BoundedQueue<T> {
 
-    private final Queue<String> queue = new ArrayDeque<>();
+    private final Queue<T> queue = new ArrayDeque<>();
     private final int max;
 
     public BoundedQueueV2(int max) {
@@ -16,7 +18,7 @@ public class BoundedQueueV2 implements BoundedQueue {
     }
 
     @Override
-    public synchronized void put(String data) {
+    public synchronized void put(T data) {
         while (queue.size() == max) {
             logger("[put] 큐가 가득 참, 생산자 대기");
             timeSleep(1000);
@@ -25,7 +27,7 @@ public class BoundedQueueV2 implements BoundedQueue {
     }
 
     @Override
-    public synchronized String take() {
+    public synchronized T take() {
         while (queue.isEmpty()) {
             logger("[take] 큐에 데이터가 없음, 소비자 대기");
             timeSleep(1000);
@@ -33,6 +35,55 @@ public class BoundedQueueV2 implements BoundedQueue {
         return queue.poll();
     }
 
+    @Override
+    public synchronized void putAll(Collection<? extends T> data) {
+        for (T item : data) {
+            while (queue.size() == max) {
+                logger("[putAll] 큐가 가득 참, 생산자 대기");
+                timeSleep(1000);
+            }
+            queue.offer(item);
+        }
+    }
+
+    @Override
+    public synchronized int takeBatch(int max, Collection<? super T> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        while (queue.isEmpty()) {
+            logger("[takeBatch] 큐에 데이터가 없음, 소비자 대기");
+            timeSleep(1000);
+        }
+        return pollBatch(max, sink);
+    }
+
+    @Override
+    public synchronized int drainTo(Collection<? super T> sink, int max, long timeout, TimeUnit unit) {
+        if (max <= 0) {
+            return 0;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (queue.isEmpty()) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0) {
+                return 0;
+            }
+            logger("[drainTo] 큐에 데이터가 없음, 소비자 대기");
+            timeSleep(Math.min(1000, remainingMs));
+        }
+        return pollBatch(max, sink);
+    }
+
+    private int pollBatch(int max, Collection<? super T> sink) {
+        int count = 0;
+        while (count < max && !queue.isEmpty()) {
+            sink.add(queue.poll());
+            count++;
+        }
+        return count;
+    }
+
     @Override
     public String toString() {
         return queue.toString();
@@ -1,13 +1,15 @@
 package me.geon.thread.bounded;
 
 import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 
 import me.geon.thread.Utils;
 
-public class BoundedQueueV3 implements BoundedQueue {
+public class BoundedQueueV3<T> implements BoundedQueue<T> {
 
-    private final Queue<String> queue = new ArrayDeque<>();
+    private final Queue<T> queue = new ArrayDeque<>();
     private final int max;
 
     public BoundedQueueV3(int max) {
@@ -15,7 +17,7 @@ public class BoundedQueueV3 implements BoundedQueue {
     }
 
     @Override
-    public synchronized void put(String data) {
+    public synchronized void put(T data) {
         while (queue.size() == max) {
             Utils.logger("[put] 큐가 가득 참, 생산자 대기");
             try {
@@ -31,7 +33,7 @@ public class BoundedQueueV3 implements BoundedQueue {
     }
 
     @Override
-    public synchronized String take() {
+    public synchronized T take() {
         while (queue.isEmpty()) {
             Utils.logger("[take] 큐에 데이터가 없음, 소비자 대기");
             try {
@@ -41,14 +43,96 @@ public class BoundedQueueV3 implements BoundedQueue {
                 throw new RuntimeException(e);
             }
         }
-        String data = queue.poll();
+        T data = queue.poll();
         Utils.logger("[take] 소비자 데이터 획득, notify() 호출");
         notify(); // 대기 스레드, WAIT -> BLOCKED
         return data;
     }
 
     @Override
-    public String toString() {
+    public synchronized void putAll(Collection<? extends T> data) {
+        int added = 0;
+        for (T item : data) {
+            while (queue.size() == max) {
+                if (added > 0) {
+                    // 가득 찼으니 지금까지 넣은 데이터를 소비자가 가져갈 수 있도록 먼저 깨운다.
+                    Utils.logger("[putAll] 큐가 가득 참, notifyAll() 호출 후 생산자 대기");
+                    notifyAll();
+                    added = 0;
+                } else {
+                    Utils.logger("[putAll] 큐가 가득 참, 생산자 대기");
+                }
+                try {
+                    wait();
+                    Utils.logger("[putAll] 생산자 깨어남");
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            queue.offer(item);
+            added++;
+        }
+        if (added > 0) {
+            // 데이터 여러 개가 들어왔으므로 notify() 한 번으로는 소비자 하나만 깨어난다.
+            Utils.logger("[putAll] 생산자 데이터 " + added + "개 저장, notifyAll() 호출");
+            notifyAll();
+        }
+    }
+
+    @Override
+    public synchronized int takeBatch(int max, Collection<? super T> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        while (queue.isEmpty()) {
+            Utils.logger("[takeBatch] 큐에 데이터가 없음, 소비자 대기");
+            try {
+                wait();
+                Utils.logger("[takeBatch] 소비자 깨어남");
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return pollBatch(max, sink);
+    }
+
+    @Override
+    public synchronized int drainTo(Collection<? super T> sink, int max, long timeout, TimeUnit unit) {
+        if (max <= 0) {
+            return 0;
+        }
+        long remaining = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + remaining;
+        while (queue.isEmpty()) {
+            if (remaining <= 0) {
+                return 0;
+            }
+            Utils.logger("[drainTo] 큐에 데이터가 없음, 소비자 대기");
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining); // RUNNABLE -> TIMED_WAITING, 락 반납
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            remaining = deadline - System.nanoTime();
+        }
+        return pollBatch(max, sink);
+    }
+
+    private int pollBatch(int max, Collection<? super T> sink) {
+        int count = 0;
+        while (count < max && !queue.isEmpty()) {
+            sink.add(queue.poll());
+            count++;
+        }
+        if (count > 0) {
+            Utils.logger("[takeBatch] 소비자 데이터 " + count + "개 획득, notifyAll() 호출");
+            notifyAll();
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized String toString() { // 로그 출력 중 다른 스레드가 큐를 바꾸면 ConcurrentModificationException
         return queue.toString();
     }
 }
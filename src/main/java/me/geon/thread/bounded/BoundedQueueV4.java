@@ -1,20 +1,22 @@
 package me.geon.thread.bounded;
 
 import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static me.geon.thread.Utils.logger;
 
-public class BoundedQueueV4 implements BoundedQueue {
+public class BoundedQueueV4<T> implements BoundedQueue<T> {
 
     private final Lock lock = new ReentrantLock();
     // condition은 대기집합이라고 생각하면 된다.
     private final Condition condition = lock.newCondition();
 
-    private final Queue<String> queue = new ArrayDeque<>();
+    private final Queue<T> queue = new ArrayDeque<>();
     private final int max;
 
     public BoundedQueueV4(int max) {
@@ -22,7 +24,7 @@ public class BoundedQueueV4 implements BoundedQueue {
     }
 
     @Override
-    public void put(String data) {
+    public void put(T data) {
         lock.lock();
         try {
             while (queue.size() == max) {
@@ -45,7 +47,7 @@ public class BoundedQueueV4 implements BoundedQueue {
     }
 
     @Override
-    public String take() {
+    public T take() {
         lock.lock();
         try {
             while (queue.isEmpty()) {
@@ -57,7 +59,7 @@ public class BoundedQueueV4 implements BoundedQueue {
                     throw new RuntimeException(e);
                 }
             }
-            String data = queue.poll();
+            T data = queue.poll();
             logger("[take] 소비자 데이터 획득, signal() 호출");
             // signal : Object.notify()와 비슷하다.
             condition.signal();
@@ -67,6 +69,100 @@ public class BoundedQueueV4 implements BoundedQueue {
         }
     }
 
+    @Override
+    public void putAll(Collection<? extends T> data) {
+        lock.lock();
+        try {
+            int added = 0;
+            for (T item : data) {
+                while (queue.size() == max) {
+                    if (added > 0) {
+                        // 가득 찼으니 지금까지 넣은 데이터를 소비자가 가져갈 수 있도록 먼저 깨운다.
+                        logger("[putAll] 큐가 가득 참, signalAll() 호출 후 생산자 대기");
+                        condition.signalAll();
+                        added = 0;
+                    } else {
+                        logger("[putAll] 큐가 가득 참, 생산자 대기");
+                    }
+                    try {
+                        condition.await();
+                        logger("[putAll] 생산자 깨어남");
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                queue.offer(item);
+                added++;
+            }
+            if (added > 0) {
+                logger("[putAll] 생산자 데이터 " + added + "개 저장, signalAll() 호출");
+                condition.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int takeBatch(int max, Collection<? super T> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            while (queue.isEmpty()) {
+                logger("[takeBatch] 큐에 데이터가 없음, 소비자 대기");
+                try {
+                    condition.await();
+                    logger("[takeBatch] 소비자 깨어남");
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return pollBatch(max, sink);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> sink, int max, long timeout, TimeUnit unit) {
+        if (max <= 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            long nanos = unit.toNanos(timeout);
+            while (queue.isEmpty()) {
+                if (nanos <= 0) {
+                    return 0;
+                }
+                logger("[drainTo] 큐에 데이터가 없음, 소비자 대기");
+                try {
+                    nanos = condition.awaitNanos(nanos);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return pollBatch(max, sink);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int pollBatch(int max, Collection<? super T> sink) {
+        int count = 0;
+        while (count < max && !queue.isEmpty()) {
+            sink.add(queue.poll());
+            count++;
+        }
+        if (count > 0) {
+            logger("[takeBatch] 소비자 데이터 " + count + "개 획득, signalAll() 호출");
+            condition.signalAll();
+        }
+        return count;
+    }
+
     @Override
     public String toString() {
         return queue.toString();
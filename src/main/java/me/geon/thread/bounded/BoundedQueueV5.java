@@ -2,20 +2,22 @@ package me.geon.thread.bounded;
 
 
 import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import me.geon.thread.Utils;
 
-public class BoundedQueueV5 implements BoundedQueue {
+public class BoundedQueueV5<T> implements BoundedQueue<T> {
 
     private final Lock lock = new ReentrantLock();
     private final Condition producerCond = lock.newCondition();
     private final Condition consumerCond = lock.newCondition();
 
-    private final Queue<String> queue = new ArrayDeque<>();
+    private final Queue<T> queue = new ArrayDeque<>();
     private final int max;
 
     public BoundedQueueV5(int max) {
@@ -23,7 +25,7 @@ public class BoundedQueueV5 implements BoundedQueue {
     }
 
     @Override
-    public void put(String data) {
+    public void put(T data) {
         lock.lock();
         try {
             while (queue.size() == max) {
@@ -45,7 +47,7 @@ public class BoundedQueueV5 implements BoundedQueue {
     }
 
     @Override
-    public String take() {
+    public T take() {
         lock.lock();
         try {
             while (queue.isEmpty()) {
@@ -57,7 +59,7 @@ public class BoundedQueueV5 implements BoundedQueue {
                     throw new RuntimeException(e);
                 }
             }
-            String data = queue.poll();
+            T data = queue.poll();
             Utils.logger("[take] 소비자 데이터 획득, producerCond.signal() 호출");
             producerCond.signal();
             return data;
@@ -66,6 +68,100 @@ public class BoundedQueueV5 implements BoundedQueue {
         }
     }
 
+    @Override
+    public void putAll(Collection<? extends T> data) {
+        lock.lock();
+        try {
+            int added = 0;
+            for (T item : data) {
+                while (queue.size() == max) {
+                    if (added > 0) {
+                        // 가득 찼으니 지금까지 넣은 데이터를 소비자가 가져갈 수 있도록 먼저 깨운다.
+                        Utils.logger("[putAll] 큐가 가득 참, consumerCond.signalAll() 호출 후 생산자 대기");
+                        consumerCond.signalAll();
+                        added = 0;
+                    } else {
+                        Utils.logger("[putAll] 큐가 가득 참, 생산자 대기");
+                    }
+                    try {
+                        producerCond.await();
+                        Utils.logger("[putAll] 생산자 깨어남");
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                queue.offer(item);
+                added++;
+            }
+            if (added > 0) {
+                Utils.logger("[putAll] 생산자 데이터 " + added + "개 저장, consumerCond.signalAll() 호출");
+                consumerCond.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int takeBatch(int max, Collection<? super T> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            while (queue.isEmpty()) {
+                Utils.logger("[takeBatch] 큐에 데이터가 없음, 소비자 대기");
+                try {
+                    consumerCond.await();
+                    Utils.logger("[takeBatch] 소비자 깨어남");
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return pollBatch(max, sink);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> sink, int max, long timeout, TimeUnit unit) {
+        if (max <= 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            long nanos = unit.toNanos(timeout);
+            while (queue.isEmpty()) {
+                if (nanos <= 0) {
+                    return 0;
+                }
+                Utils.logger("[drainTo] 큐에 데이터가 없음, 소비자 대기");
+                try {
+                    nanos = consumerCond.awaitNanos(nanos);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return pollBatch(max, sink);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int pollBatch(int max, Collection<? super T> sink) {
+        int count = 0;
+        while (count < max && !queue.isEmpty()) {
+            sink.add(queue.poll());
+            count++;
+        }
+        if (count > 0) {
+            Utils.logger("[takeBatch] 소비자 데이터 " + count + "개 획득, producerCond.signalAll() 호출");
+            producerCond.signalAll();
+        }
+        return count;
+    }
+
     @Override
     public String toString() {
         return queue.toString();
@@ -1,18 +1,20 @@
 package me.geon.thread.bounded;
 
+import java.util.Collection;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
-public class BoundedQueueV6_1 implements BoundedQueue {
+public class BoundedQueueV6_1<T> implements BoundedQueue<T> {
 
-    private BlockingQueue<String> queue;
+    private BlockingQueue<T> queue;
 
     public BoundedQueueV6_1(int max) {
         this.queue = new ArrayBlockingQueue<>(max);
     }
 
     @Override
-    public void put(String data) {
+    public void put(T data) {
         try {
             queue.put(data);
         } catch (InterruptedException e) {
@@ -21,7 +23,7 @@ public class BoundedQueueV6_1 implements BoundedQueue {
     }
 
     @Override
-    public String take() {
+    public T take() {
         try {
             return queue.take();
         } catch (InterruptedException e) {
@@ -29,6 +31,41 @@ public class BoundedQueueV6_1 implements BoundedQueue {
         }
     }
 
+    @Override
+    public void putAll(Collection<? extends T> data) {
+        // ArrayBlockingQueue 는 블로킹 일괄 저장을 제공하지 않으므로 하나씩 저장한다.
+        for (T item : data) {
+            put(item);
+        }
+    }
+
+    @Override
+    public int takeBatch(int max, Collection<? super T> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        // 첫 데이터는 블로킹으로 기다리고, 나머지는 drainTo 로 락 한 번에 옮긴다.
+        sink.add(take());
+        return 1 + queue.drainTo(sink, max - 1);
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> sink, int max, long timeout, TimeUnit unit) {
+        if (max <= 0) {
+            return 0;
+        }
+        try {
+            T first = queue.poll(timeout, unit);
+            if (first == null) {
+                return 0;
+            }
+            sink.add(first);
+            return 1 + queue.drainTo(sink, max - 1);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public String toString() {
         return queue.toString();
@@ -1,29 +1,64 @@
 package me.geon.thread.bounded;
 
+import java.util.Collection;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import me.geon.thread.Utils;
 
-public class BoundedQueueV6_2 implements BoundedQueue {
+public class BoundedQueueV6_2<T> implements BoundedQueue<T> {
 
-    private BlockingQueue<String> queue;
+    private BlockingQueue<T> queue;
 
     public BoundedQueueV6_2(int max) {
         this.queue = new ArrayBlockingQueue<>(max);
     }
 
     @Override
-    public void put(String data) {
+    public void put(T data) {
         boolean result = queue.offer(data);
         Utils.logger("저장 시도 결과 = " + result);
     }
 
     @Override
-    public String take() {
+    public T take() {
         return queue.poll();
     }
 
+    @Override
+    public void putAll(Collection<? extends T> data) {
+        int saved = 0;
+        for (T item : data) {
+            if (queue.offer(item)) {
+                saved++;
+            }
+        }
+        Utils.logger("일괄 저장 시도 결과 = " + saved + "/" + data.size());
+    }
+
+    @Override
+    public int takeBatch(int max, Collection<? super T> sink) {
+        return queue.drainTo(sink, max);
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> sink, int max, long timeout, TimeUnit unit) {
+        if (max <= 0) {
+            return 0;
+        }
+        try {
+            T first = queue.poll(timeout, unit);
+            if (first == null) {
+                return 0;
+            }
+            sink.add(first);
+            return 1 + queue.drainTo(sink, max - 1);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public String toString() {
         return queue.toString();
@@ -1,21 +1,22 @@
 package me.geon.thread.bounded;
 
+import java.util.Collection;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 import me.geon.thread.Utils;
 
-public class BoundedQueueV6_3 implements BoundedQueue {
+public class BoundedQueueV6_3<T> implements BoundedQueue<T> {
 
-    private BlockingQueue<String> queue;
+    private BlockingQueue<T> queue;
 
     public BoundedQueueV6_3(int max) {
         this.queue = new ArrayBlockingQueue<>(max);
     }
 
     @Override
-    public void put(String data) {
+    public void put(T data) {
         try {
             // 대기 시간 설정 가능
             boolean result = queue.offer(data, 1, TimeUnit.NANOSECONDS);
@@ -26,7 +27,7 @@ public class BoundedQueueV6_3 implements BoundedQueue {
     }
 
     @Override
-    public String take() {
+    public T take() {
         try {
             // 대기 시간 설정 가능
             return queue.poll(2, TimeUnit.SECONDS);
@@ -35,6 +36,44 @@ public class BoundedQueueV6_3 implements BoundedQueue {
         }
     }
 
+    @Override
+    public void putAll(Collection<? extends T> data) {
+        try {
+            int saved = 0;
+            for (T item : data) {
+                if (queue.offer(item, 1, TimeUnit.NANOSECONDS)) {
+                    saved++;
+                }
+            }
+            Utils.logger("일괄 저장 시도 결과 = " + saved + "/" + data.size());
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public int takeBatch(int max, Collection<? super T> sink) {
+        // take() 와 같이 최대 2초 대기
+        return drainTo(sink, max, 2, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> sink, int max, long timeout, TimeUnit unit) {
+        if (max <= 0) {
+            return 0;
+        }
+        try {
+            T first = queue.poll(timeout, unit);
+            if (first == null) {
+                return 0;
+            }
+            sink.add(first);
+            return 1 + queue.drainTo(sink, max - 1);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public String toString() {
         return queue.toString();
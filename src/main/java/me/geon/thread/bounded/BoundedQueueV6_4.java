@@ -1,26 +1,59 @@
 package me.geon.thread.bounded;
 
+import java.util.Collection;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
-public class BoundedQueueV6_4 implements BoundedQueue {
+public class BoundedQueueV6_4<T> implements BoundedQueue<T> {
 
-    private BlockingQueue<String> queue;
+    private BlockingQueue<T> queue;
 
     public BoundedQueueV6_4(int max) {
         this.queue = new ArrayBlockingQueue<>(max);
     }
 
     @Override
-    public void put(String data) {
+    public void put(T data) {
         queue.add(data); // java.lang.IllegalStateException: Queue full
     }
 
     @Override
-    public String take() {
+    public T take() {
         return queue.remove(); // java.util.NoSuchElementException
     }
 
+    @Override
+    public void putAll(Collection<? extends T> data) {
+        queue.addAll(data); // java.lang.IllegalStateException: Queue full
+    }
+
+    @Override
+    public int takeBatch(int max, Collection<? super T> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        sink.add(queue.remove()); // java.util.NoSuchElementException
+        return 1 + queue.drainTo(sink, max - 1);
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> sink, int max, long timeout, TimeUnit unit) {
+        if (max <= 0) {
+            return 0;
+        }
+        try {
+            T first = queue.poll(timeout, unit);
+            if (first == null) {
+                return 0;
+            }
+            sink.add(first);
+            return 1 + queue.drainTo(sink, max - 1);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public String toString() {
         return queue.toString();
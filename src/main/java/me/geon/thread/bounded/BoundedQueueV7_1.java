@@ -0,0 +1,154 @@
+package me.geon.thread.bounded;
+
+import java.util.Collection;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 단일 생산자 - 단일 소비자(SPSC) 전용 lock-free 링 버퍼
+ * - 생산자 스레드 1개, 소비자 스레드 1개일 때만 안전하다. (여러 스레드가 동시에 put/take 하면 안 된다)
+ * - tail 은 생산자만, head 는 소비자만 쓰기 때문에 CAS 없이 release/acquire 만으로 동기화한다.
+ * - 배열은 2의 제곱수 크기로 미리 할당한다. (BoundedQueueV5 와 달리 put/take 마다 노드를 만들지 않는다)
+ *   넣을 수 있는 개수는 다른 BoundedQueue 와 같이 요청한 max 까지다.
+ * - 가득 차거나 비어 있으면 spin -> yield -> park 순서로 대기한다. (put/take 블로킹 계약 유지)
+ */
+public class BoundedQueueV7_1<T> implements BoundedQueue<T> {
+
+    private final Object[] buffer;
+    private final int capacity; // 배열 크기 (2의 제곱수)
+    private final int limit;    // 넣을 수 있는 최대 개수 (요청한 max)
+    private final int mask;
+
+    // cursors[HEAD] : 다음에 꺼낼 위치(소비자), cursors[TAIL] : 다음에 넣을 위치(생산자)
+    private final AtomicLongArray cursors = new AtomicLongArray(RingSupport.CURSORS_LENGTH);
+
+    // 상대편 커서를 매번 읽지 않도록 마지막으로 본 값을 기억한다.
+    private long cachedHead; // 생산자 전용
+    private long cachedTail; // 소비자 전용
+
+    public BoundedQueueV7_1(int max) {
+        this.capacity = RingSupport.ringCapacity(max);
+        this.limit = max;
+        this.mask = capacity - 1;
+        this.buffer = new Object[capacity];
+    }
+
+    @Override
+    public void put(T data) {
+        long tail = cursors.get(RingSupport.TAIL);
+        int attempt = 0;
+        while (tail - cachedHead >= limit) {
+            cachedHead = cursors.getAcquire(RingSupport.HEAD);
+            if (tail - cachedHead < limit) {
+                break;
+            }
+            attempt = RingSupport.idle(attempt); // 가득 참, 생산자 대기
+        }
+        buffer[(int) tail & mask] = data;
+        cursors.setRelease(RingSupport.TAIL, tail + 1); // 데이터 저장 후 tail 공개
+    }
+
+    @Override
+    public T take() {
+        long head = cursors.get(RingSupport.HEAD);
+        int attempt = 0;
+        while (head >= cachedTail) {
+            cachedTail = cursors.getAcquire(RingSupport.TAIL);
+            if (head < cachedTail) {
+                break;
+            }
+            attempt = RingSupport.idle(attempt); // 비어 있음, 소비자 대기
+        }
+        int index = (int) head & mask;
+        T data = elementAt(index);
+        buffer[index] = null; // 꺼낸 참조는 GC 대상이 되도록 비운다.
+        cursors.setRelease(RingSupport.HEAD, head + 1);
+        return data;
+    }
+
+    @Override
+    public void putAll(Collection<? extends T> data) {
+        long tail = cursors.get(RingSupport.TAIL);
+        long published = tail;
+        for (T item : data) {
+            int attempt = 0;
+            while (tail - cachedHead >= limit) {
+                if (tail != published) {
+                    // 가득 찼으니 지금까지 쓴 데이터를 먼저 소비자에게 공개한다.
+                    cursors.setRelease(RingSupport.TAIL, tail);
+                    published = tail;
+                }
+                cachedHead = cursors.getAcquire(RingSupport.HEAD);
+                if (tail - cachedHead < limit) {
+                    break;
+                }
+                attempt = RingSupport.idle(attempt);
+            }
+            buffer[(int) tail & mask] = item;
+            tail++;
+        }
+        if (tail != published) {
+            cursors.setRelease(RingSupport.TAIL, tail); // 여러 개를 쓰고 tail 은 한 번만 공개
+        }
+    }
+
+    @Override
+    public int takeBatch(int max, Collection<? super T> sink) {
+        return pollBatch(max, sink, false, 0);
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> sink, int max, long timeout, TimeUnit unit) {
+        return pollBatch(max, sink, true, System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    private int pollBatch(int max, Collection<? super T> sink, boolean timed, long deadline) {
+        if (max <= 0) {
+            return 0;
+        }
+        long head = cursors.get(RingSupport.HEAD);
+        int attempt = 0;
+        while (head >= cachedTail) {
+            cachedTail = cursors.getAcquire(RingSupport.TAIL);
+            if (head < cachedTail) {
+                break;
+            }
+            if (timed && System.nanoTime() - deadline >= 0) {
+                return 0;
+            }
+            attempt = RingSupport.idle(attempt);
+        }
+        int count = (int) Math.min(max, cachedTail - head);
+        for (int i = 0; i < count; i++) {
+            int index = (int) (head + i) & mask;
+            sink.add(elementAt(index));
+            buffer[index] = null;
+        }
+        cursors.setRelease(RingSupport.HEAD, head + count); // 여러 개를 꺼내고 head 는 한 번만 공개
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) buffer[index];
+    }
+
+    /**
+     * 넣을 수 있는 최대 개수 (생성자에 준 max)
+     */
+    public int capacity() {
+        return limit;
+    }
+
+    @Override
+    public String toString() {
+        // 동시에 변경될 수 있으므로 출력용 근사값
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        long tail = cursors.getAcquire(RingSupport.TAIL);
+        for (long i = cursors.getAcquire(RingSupport.HEAD); i < tail; i++) {
+            joiner.add(String.valueOf(buffer[(int) i & mask]));
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,196 @@
+package me.geon.thread.bounded;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 다중 생산자 - 다중 소비자(MPMC) lock-free 링 버퍼 (Dmitry Vyukov 의 bounded MPMC queue 방식)
+ * - 슬롯마다 시퀀스 번호를 두고, 생산자는 tail, 소비자는 head 를 CAS 로 전진시켜 슬롯을 선점한다.
+ * - ReentrantLock 핸드오프, Condition.signal() 없이 동작하므로 경합이 심할 때 BoundedQueueV5 보다 유리하다.
+ * - 배열은 2의 제곱수 크기로 미리 할당하지만, 넣을 수 있는 개수는 다른 BoundedQueue 와 같이 요청한 max 까지다.
+ * - 가득 차거나 비어 있으면 spin -> yield -> park 순서로 대기한다. (put/take 블로킹 계약 유지)
+ */
+public class BoundedQueueV7_2<T> implements BoundedQueue<T> {
+
+    private final Object[] buffer;
+    // sequences[i] == pos       : pos 번째 생산자가 쓸 수 있음
+    // sequences[i] == pos + 1   : pos 번째 소비자가 읽을 수 있음
+    private final AtomicLongArray sequences;
+    private final int capacity; // 배열 크기 (2의 제곱수)
+    private final int limit;    // 넣을 수 있는 최대 개수 (요청한 max)
+    private final int mask;
+
+    // cursors[HEAD] : 다음에 꺼낼 위치(소비자), cursors[TAIL] : 다음에 넣을 위치(생산자)
+    private final AtomicLongArray cursors = new AtomicLongArray(RingSupport.CURSORS_LENGTH);
+
+    public BoundedQueueV7_2(int max) {
+        this.capacity = RingSupport.ringCapacity(max);
+        this.limit = max;
+        this.mask = capacity - 1;
+        this.buffer = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    @Override
+    public void put(T data) {
+        int attempt = 0;
+        while (true) {
+            long tail = cursors.get(RingSupport.TAIL);
+            int index = (int) tail & mask;
+            long diff = sequences.getAcquire(index) - tail;
+            if (diff == 0) {
+                if (limit < capacity && tail - cursors.get(RingSupport.HEAD) >= limit) {
+                    attempt = RingSupport.idle(attempt); // 요청한 max 만큼 참, 생산자 대기
+                    continue;
+                }
+                if (cursors.compareAndSet(RingSupport.TAIL, tail, tail + 1)) {
+                    buffer[index] = data;
+                    sequences.setRelease(index, tail + 1); // 소비자에게 공개
+                    return;
+                }
+                // 다른 생산자가 먼저 슬롯을 가져감, 바로 재시도
+            } else if (diff < 0) {
+                attempt = RingSupport.idle(attempt); // 가득 참, 생산자 대기
+            }
+            // diff > 0 : 읽은 tail 이 이미 지나간 값, 바로 재시도
+        }
+    }
+
+    @Override
+    public T take() {
+        int attempt = 0;
+        while (true) {
+            long head = cursors.get(RingSupport.HEAD);
+            int index = (int) head & mask;
+            long diff = sequences.getAcquire(index) - (head + 1);
+            if (diff == 0) {
+                if (cursors.compareAndSet(RingSupport.HEAD, head, head + 1)) {
+                    T data = elementAt(index);
+                    buffer[index] = null;
+                    sequences.setRelease(index, head + capacity); // 다음 바퀴의 생산자에게 반납
+                    return data;
+                }
+            } else if (diff < 0) {
+                attempt = RingSupport.idle(attempt); // 비어 있음, 소비자 대기
+            }
+        }
+    }
+
+    @Override
+    public void putAll(Collection<? extends T> data) {
+        Iterator<? extends T> iterator = data.iterator();
+        int remaining = data.size();
+        int attempt = 0;
+        while (remaining > 0) {
+            long tail = cursors.get(RingSupport.TAIL);
+            // tail 부터 연속으로 비어 있는 슬롯 수를 센 뒤, CAS 한 번으로 한꺼번에 선점한다.
+            int room = room(tail);
+            int free = 0;
+            while (free < remaining && free < room
+                    && sequences.getAcquire((int) (tail + free) & mask) == tail + free) {
+                free++;
+            }
+            if (free == 0) {
+                if (room <= 0 || sequences.getAcquire((int) tail & mask) - tail < 0) {
+                    attempt = RingSupport.idle(attempt); // 가득 참, 생산자 대기
+                }
+                continue;
+            }
+            if (cursors.compareAndSet(RingSupport.TAIL, tail, tail + free)) {
+                for (int i = 0; i < free; i++) {
+                    long pos = tail + i;
+                    int index = (int) pos & mask;
+                    buffer[index] = iterator.next();
+                    sequences.setRelease(index, pos + 1);
+                }
+                remaining -= free;
+                attempt = 0;
+            }
+        }
+    }
+
+    @Override
+    public int takeBatch(int max, Collection<? super T> sink) {
+        return pollBatch(max, sink, false, 0);
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> sink, int max, long timeout, TimeUnit unit) {
+        return pollBatch(max, sink, true, System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    private int pollBatch(int max, Collection<? super T> sink, boolean timed, long deadline) {
+        if (max <= 0) {
+            return 0;
+        }
+        int attempt = 0;
+        while (true) {
+            long head = cursors.get(RingSupport.HEAD);
+            // head 부터 연속으로 공개된 슬롯 수를 센 뒤, CAS 한 번으로 한꺼번에 선점한다.
+            int ready = 0;
+            while (ready < max && ready < capacity
+                    && sequences.getAcquire((int) (head + ready) & mask) == head + ready + 1) {
+                ready++;
+            }
+            if (ready == 0) {
+                if (sequences.getAcquire((int) head & mask) - (head + 1) < 0) {
+                    if (timed && System.nanoTime() - deadline >= 0) {
+                        return 0;
+                    }
+                    attempt = RingSupport.idle(attempt); // 비어 있음, 소비자 대기
+                }
+                continue;
+            }
+            if (cursors.compareAndSet(RingSupport.HEAD, head, head + ready)) {
+                for (int i = 0; i < ready; i++) {
+                    long pos = head + i;
+                    int index = (int) pos & mask;
+                    sink.add(elementAt(index));
+                    buffer[index] = null;
+                    sequences.setRelease(index, pos + capacity);
+                }
+                return ready;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) buffer[index];
+    }
+
+    /**
+     * 넣을 수 있는 최대 개수 (생성자에 준 max)
+     */
+    public int capacity() {
+        return limit;
+    }
+
+    /**
+     * tail 위치에서 더 넣을 수 있는 개수 (배열 크기와 논리적 최대 개수 limit 중 작은 쪽 기준)
+     * head 를 tail 보다 나중에 읽으므로, CAS 가 성공하면 넣은 뒤에도 개수가 limit 을 넘지 않는다.
+     */
+    private int room(long tail) {
+        return (int) Math.min(capacity, limit - (tail - cursors.get(RingSupport.HEAD)));
+    }
+
+    @Override
+    public String toString() {
+        // 동시에 변경될 수 있으므로 출력용 근사값
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        long tail = cursors.get(RingSupport.TAIL);
+        for (long i = cursors.get(RingSupport.HEAD); i < tail; i++) {
+            Object data = buffer[(int) i & mask];
+            if (data != null) {
+                joiner.add(String.valueOf(data));
+            }
+        }
+        return joiner.toString();
+    }
+}
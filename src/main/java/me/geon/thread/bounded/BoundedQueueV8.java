@@ -0,0 +1,359 @@
+package me.geon.thread.bounded;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * 가상 스레드용 BoundedQueue
+ *
+ * BoundedQueueV3 는 synchronized + wait() 로 기다리는데, Java 21 에서 가상 스레드가 모니터 안에서 wait() 하면
+ * 캐리어 스레드에 고정(pinning)된 채로 잠든다. 캐리어가 모두 고정되면 다른 가상 스레드는 실행될 곳이 없다.
+ *
+ * V8 은 모니터를 전혀 쓰지 않는다.
+ * - ReentrantLock + Condition(notFull, notEmpty) 으로 기다린다. (내부적으로 LockSupport.park)
+ *   가상 스레드는 park 되면 캐리어에서 내려오므로, 대기 중인 가상 스레드가 수만 개여도 캐리어는 다른 일을 한다.
+ * - 락 안에서 로그를 남기지 않는다. (락 점유 시간을 짧게 유지)
+ * - ArrayDeque 대신 고정 크기 배열을 원형으로 사용해서 put/take 에 할당이 없다.
+ */
+public class BoundedQueueV8<T> implements BoundedQueue<T> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Object[] items;
+    private int takeIndex;
+    private int putIndex;
+    private int count;
+
+    public BoundedQueueV8(int max) {
+        if (max <= 0) {
+            throw new IllegalArgumentException("max 는 0보다 커야 합니다: " + max);
+        }
+        this.items = new Object[max];
+    }
+
+    @Override
+    public void put(T data) {
+        lock.lock();
+        try {
+            while (count == items.length) {
+                await(notFull);
+            }
+            enqueue(data);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T take() {
+        lock.lock();
+        try {
+            while (count == 0) {
+                await(notEmpty);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 가득 차 있으면 기다리지 않고 false 를 반환한다.
+     */
+    public boolean offer(T data) {
+        lock.lock();
+        try {
+            if (count == items.length) {
+                return false;
+            }
+            enqueue(data);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 가득 차 있으면 최대 timeout 만큼 기다리고, 그래도 자리가 없으면 false 를 반환한다.
+     */
+    public boolean offer(T data, long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == items.length) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            enqueue(data);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 비어 있으면 기다리지 않고 null 을 반환한다.
+     */
+    public T poll() {
+        lock.lock();
+        try {
+            return count == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 비어 있으면 최대 timeout 만큼 기다리고, 그래도 없으면 null 을 반환한다.
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (remaining <= 0) {
+                    return null;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public T peek() {
+        lock.lock();
+        try {
+            return count == 0 ? null : elementAt(takeIndex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 같은(equals) 데이터 중 가장 앞의 것 하나를 지운다.
+     */
+    public boolean remove(Object data) {
+        return removeFirst(item -> Objects.equals(item, data));
+    }
+
+    /**
+     * 조건에 맞는 데이터 중 가장 앞의 것 하나를 지운다. 뒤의 데이터를 한 칸씩 당겨서 순서를 유지한다.
+     * 중간 삭제는 O(n) 이므로 취소된 작업 정리처럼 드문 경우에만 사용한다.
+     */
+    public boolean removeFirst(Predicate<? super T> matcher) {
+        lock.lock();
+        try {
+            for (int i = 0, index = takeIndex; i < count; i++, index = next(index)) {
+                if (matcher.test(elementAt(index))) {
+                    removeAt(index);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void putAll(Collection<? extends T> data) {
+        lock.lock();
+        try {
+            int added = 0;
+            for (T item : data) {
+                while (count == items.length) {
+                    if (added > 0) {
+                        // 가득 찼으니 지금까지 넣은 데이터를 소비자가 가져갈 수 있도록 먼저 깨운다.
+                        notEmpty.signalAll();
+                        added = 0;
+                    }
+                    await(notFull);
+                }
+                items[putIndex] = item;
+                putIndex = next(putIndex);
+                count++;
+                added++;
+            }
+            signal(notEmpty, added);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int takeBatch(int max, Collection<? super T> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            while (count == 0) {
+                await(notEmpty);
+            }
+            return pollBatch(max, sink);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> sink, int max, long timeout, TimeUnit unit) {
+        if (max <= 0) {
+            return 0;
+        }
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (count == 0) {
+                if (remaining <= 0) {
+                    return 0;
+                }
+                try {
+                    remaining = notEmpty.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return pollBatch(max, sink);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return items.length - count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int capacity() {
+        return items.length;
+    }
+
+    /**
+     * 들어 있는 데이터를 꺼내지 않고 앞에서부터 복사해서 반환한다.
+     */
+    public List<T> snapshot() {
+        lock.lock();
+        try {
+            List<T> copy = new ArrayList<>(count);
+            for (int i = 0, index = takeIndex; i < count; i++, index = next(index)) {
+                copy.add(elementAt(index));
+            }
+            return copy;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(T data) {
+        items[putIndex] = data;
+        putIndex = next(putIndex);
+        count++;
+        notEmpty.signal();
+    }
+
+    private T dequeue() {
+        T data = elementAt(takeIndex);
+        items[takeIndex] = null; // GC 가 수거할 수 있도록 참조를 끊는다.
+        takeIndex = next(takeIndex);
+        count--;
+        notFull.signal();
+        return data;
+    }
+
+    private void removeAt(int index) {
+        if (index == takeIndex) {
+            dequeue();
+            return;
+        }
+        // index 뒤(putIndex 전까지)의 데이터를 한 칸씩 앞으로 당긴다.
+        for (int next = next(index); next != putIndex; index = next, next = next(next)) {
+            items[index] = items[next];
+        }
+        items[index] = null;
+        putIndex = index;
+        count--;
+        notFull.signal();
+    }
+
+    private int pollBatch(int max, Collection<? super T> sink) {
+        int taken = 0;
+        while (taken < max && count > 0) {
+            sink.add(elementAt(takeIndex));
+            items[takeIndex] = null;
+            takeIndex = next(takeIndex);
+            count--;
+            taken++;
+        }
+        signal(notFull, taken);
+        return taken;
+    }
+
+    private int next(int index) {
+        return ++index == items.length ? 0 : index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) items[index];
+    }
+
+    /**
+     * 자리가(또는 데이터가) 하나 생겼으면 한 스레드만, 여러 개 생겼으면 모두 깨운다.
+     */
+    private static void signal(Condition condition, int changed) {
+        if (changed == 1) {
+            condition.signal();
+        } else if (changed > 1) {
+            condition.signalAll();
+        }
+    }
+
+    private static void await(Condition condition) {
+        try {
+            condition.await(); // 가상 스레드는 캐리어에서 내려와 park 된다.
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            StringJoiner joiner = new StringJoiner(", ", "[", "]");
+            for (int i = 0, index = takeIndex; i < count; i++, index = next(index)) {
+                joiner.add(String.valueOf(items[index]));
+            }
+            return joiner.toString();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
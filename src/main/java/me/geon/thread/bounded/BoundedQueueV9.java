@@ -0,0 +1,592 @@
+package me.geon.thread.bounded;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 메모리 맵 파일에 저장하는 BoundedQueue (재시작해도 데이터가 남는다)
+ *
+ * 다른 구현체는 데이터를 힙(ArrayDeque, 배열)에 두므로, 프로세스가 죽으면 큐에 있던 데이터가 사라지고
+ * 소비자가 밀리면 쌓인 데이터가 그대로 힙(GC 대상)에 남는다.
+ * V9 는 데이터를 디렉터리 안의 세그먼트 파일에 쓴다.
+ *
+ * 파일 구성
+ * - queue.meta            : 헤더. [magic][segmentBytes][readPos][writePos]
+ *                           pos = (세그먼트 번호 << 32) | 세그먼트 안의 위치
+ * - segment-0000000000.dat: segmentBytes 크기로 미리 만든 파일을 FileChannel.map 으로 통째로 매핑한다.
+ *                           레코드 = [int 길이][UTF-8 바이트], 길이 -1 은 "다음 세그먼트로" 표시
+ *
+ * - put: 레코드를 세그먼트에 쓴 다음 헤더의 writePos 를 옮긴다. 남은 공간이 부족하면 다음 세그먼트를 만든다.
+ * - take: readPos 의 레코드를 읽고 readPos 를 옮긴다. 다 읽은 세그먼트 파일은 지운다.
+ * - 재시작: 헤더의 readPos ~ writePos 사이 세그먼트를 다시 매핑한다. 데이터를 복사하지 않고, 길이만 따라가며 개수를 센다.
+ *
+ * 매핑된 메모리에 쓴 값은 OS 페이지 캐시에 있으므로 프로세스가 비정상 종료(kill -9)되어도 남는다.
+ * 전원 장애까지 견디려면 sync() 로 디스크에 내려야 한다. (호출할 때마다 느려지므로 주기적으로 호출하는 것을 권장)
+ * 데이터를 먼저 쓰고 헤더를 나중에 옮기므로, 헤더에 보이는 레코드는 항상 온전하다.
+ *
+ * 한 디렉터리는 한 인스턴스만 쓸 수 있다. queue.meta 에 FileLock 을 잡아서, 다른 프로세스나 같은 JVM 의 다른 인스턴스가
+ * 같은 디렉터리를 열면 IllegalStateException 을 던진다. (close() 하면 풀린다)
+ *
+ * 대기는 BoundedQueueV8 과 같이 ReentrantLock + Condition 을 사용한다. (가상 스레드에서도 캐리어를 붙잡지 않는다)
+ * 인코딩/디코딩은 락 밖에서 한다.
+ */
+public class BoundedQueueV9 implements BoundedQueue<String>, AutoCloseable {
+
+    static final String META_FILE = "queue.meta";
+    private static final int MAGIC = 0x42513039; // "BQ09"
+    private static final int META_SIZE = 24;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int SEGMENT_BYTES_OFFSET = 4;
+    private static final int READ_POS_OFFSET = 8;
+    private static final int WRITE_POS_OFFSET = 16;
+
+    private static final int LENGTH_BYTES = Integer.BYTES;
+    private static final int NEXT_SEGMENT = -1;
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Path dir;
+    private final int maxRecords;
+    private final int segmentBytes;
+    private final FileChannel metaChannel; // FileLock 을 유지하기 위해 close() 까지 열어 둔다.
+    private final MappedByteBuffer meta;
+    private final Map<Integer, MappedByteBuffer> segments = new TreeMap<>(); // 읽기 ~ 쓰기 세그먼트만 매핑
+
+    private int readSegment;
+    private int readOffset;
+    private int writeSegment;
+    private int writeOffset;
+    private int count;
+    private boolean closed;
+
+    public BoundedQueueV9(Path dir, int maxRecords) {
+        this(dir, maxRecords, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * dir 에 이미 큐가 있으면 이어서 사용한다. (segmentBytes 는 처음 만들 때 값과 같아야 한다)
+     *
+     * @param maxRecords   큐에 담을 수 있는 최대 레코드 수 (가득 차면 put 이 기다린다)
+     * @param segmentBytes 세그먼트 파일 하나의 크기, 레코드 하나(4byte + 내용)는 이 안에 들어가야 한다.
+     */
+    public BoundedQueueV9(Path dir, int maxRecords, int segmentBytes) {
+        if (maxRecords <= 0 || segmentBytes <= LENGTH_BYTES * 2) {
+            throw new IllegalArgumentException("maxRecords=" + maxRecords + ", segmentBytes=" + segmentBytes);
+        }
+        this.dir = dir;
+        this.maxRecords = maxRecords;
+        this.segmentBytes = segmentBytes;
+        try {
+            Files.createDirectories(dir);
+            this.metaChannel = FileChannel.open(dir.resolve(META_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            lockMeta();
+            this.meta = metaChannel.map(FileChannel.MapMode.READ_WRITE, 0, META_SIZE);
+            // 파일이 없었거나, 만들다가 MAGIC 을 쓰기 전에 죽었으면 MAGIC 자리가 0 이다.
+            if (meta.getInt(MAGIC_OFFSET) == 0) {
+                initialize();
+            } else {
+                recover();
+            }
+        } catch (IOException e) {
+            closeMetaChannel();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            closeMetaChannel();
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(String data) {
+        byte[] bytes = encode(data);
+        lock.lock();
+        try {
+            while (count == maxRecords) {
+                await(notFull);
+            }
+            append(bytes);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String take() {
+        byte[] bytes;
+        lock.lock();
+        try {
+            while (count == 0) {
+                await(notEmpty);
+            }
+            bytes = read();
+            notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+        return decode(bytes);
+    }
+
+    /**
+     * 가득 차 있으면 기다리지 않고 false 를 반환한다.
+     */
+    public boolean offer(String data) {
+        byte[] bytes = encode(data);
+        lock.lock();
+        try {
+            if (count == maxRecords) {
+                return false;
+            }
+            append(bytes);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 비어 있으면 최대 timeout 만큼 기다리고, 그래도 없으면 null 을 반환한다.
+     */
+    public String poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        byte[] bytes;
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (remaining <= 0) {
+                    return null;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+            bytes = read();
+            notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+        return decode(bytes);
+    }
+
+    @Override
+    public void putAll(Collection<? extends String> data) {
+        List<byte[]> encoded = new ArrayList<>(data.size());
+        for (String item : data) {
+            encoded.add(encode(item));
+        }
+        lock.lock();
+        try {
+            int added = 0;
+            for (byte[] bytes : encoded) {
+                while (count == maxRecords) {
+                    if (added > 0) {
+                        notEmpty.signalAll();
+                        added = 0;
+                    }
+                    await(notFull);
+                }
+                append(bytes);
+                added++;
+            }
+            signal(notEmpty, added);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int takeBatch(int max, Collection<? super String> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        List<byte[]> taken;
+        lock.lock();
+        try {
+            while (count == 0) {
+                await(notEmpty);
+            }
+            taken = readBatch(max);
+        } finally {
+            lock.unlock();
+        }
+        return decodeInto(taken, sink);
+    }
+
+    @Override
+    public int drainTo(Collection<? super String> sink, int max, long timeout, TimeUnit unit) {
+        if (max <= 0) {
+            return 0;
+        }
+        long remaining = unit.toNanos(timeout);
+        List<byte[]> taken;
+        lock.lock();
+        try {
+            while (count == 0) {
+                if (remaining <= 0) {
+                    return 0;
+                }
+                try {
+                    remaining = notEmpty.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            taken = readBatch(max);
+        } finally {
+            lock.unlock();
+        }
+        return decodeInto(taken, sink);
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지금 디스크에 남아 있는 세그먼트 파일 수
+     */
+    public int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 매핑된 세그먼트와 헤더를 디스크에 내린다. (전원 장애 대비)
+     */
+    public void sync() {
+        lock.lock();
+        try {
+            ensureOpen();
+            for (MappedByteBuffer segment : segments.values()) {
+                segment.force();
+            }
+            meta.force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 디스크에 내리고 닫는다. 남은 데이터는 같은 디렉터리로 다시 열면 이어서 읽을 수 있다.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            sync();
+            closed = true;
+            segments.clear(); // 매핑 해제는 GC 가 버퍼를 수거할 때 일어난다.
+            closeMetaChannel(); // FileLock 도 함께 풀린다.
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 프로세스가 비정상 종료된 것처럼, 디스크에 내리지 않고 닫으면서 FileLock 만 푼다.
+     * 같은 JVM 안에서 재시작을 흉내 낼 때(예제, 테스트) 사용한다.
+     */
+    void abandon() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            segments.clear();
+            closeMetaChannel();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 아래는 모두 lock 을 잡은 상태에서 호출한다.
+
+    private void append(byte[] bytes) {
+        ensureOpen();
+        int recordBytes = LENGTH_BYTES + bytes.length;
+        if (writeOffset + recordBytes > segmentBytes) {
+            rollover();
+        }
+        MappedByteBuffer segment = segments.get(writeSegment);
+        segment.put(writeOffset + LENGTH_BYTES, bytes);
+        segment.putInt(writeOffset, bytes.length);
+        writeOffset += recordBytes;
+        meta.putLong(WRITE_POS_OFFSET, pos(writeSegment, writeOffset)); // 데이터를 다 쓴 뒤에 헤더를 옮긴다.
+        count++;
+    }
+
+    private void rollover() {
+        if (writeOffset + LENGTH_BYTES <= segmentBytes) {
+            segments.get(writeSegment).putInt(writeOffset, NEXT_SEGMENT);
+        }
+        MappedByteBuffer next = mapSegment(writeSegment + 1);
+        writeSegment++;
+        writeOffset = 0;
+        segments.put(writeSegment, next);
+        meta.putLong(WRITE_POS_OFFSET, pos(writeSegment, writeOffset));
+    }
+
+    private byte[] read() {
+        ensureOpen();
+        skipToRecord();
+        MappedByteBuffer segment = segments.get(readSegment);
+        int length = segment.getInt(readOffset);
+        byte[] bytes = new byte[length];
+        segment.get(readOffset + LENGTH_BYTES, bytes);
+        readOffset += LENGTH_BYTES + length;
+        meta.putLong(READ_POS_OFFSET, pos(readSegment, readOffset));
+        count--;
+        return bytes;
+    }
+
+    private List<byte[]> readBatch(int max) {
+        List<byte[]> taken = new ArrayList<>(Math.min(max, count));
+        while (taken.size() < max && count > 0) {
+            taken.add(read());
+        }
+        signal(notFull, taken.size());
+        return taken;
+    }
+
+    /**
+     * 현재 읽기 세그먼트를 다 읽었으면 다음 세그먼트로 넘어가고, 다 읽은 파일은 지운다.
+     * 헤더의 readPos 를 먼저 옮기고 파일을 지운다. 반대로 하면 그 사이에 죽었을 때 헤더가 지워진 파일을 가리킨다.
+     */
+    private void skipToRecord() {
+        while (readSegment < writeSegment && endOfSegment(segments.get(readSegment), readOffset)) {
+            int finished = readSegment;
+            readSegment++;
+            readOffset = 0;
+            meta.putLong(READ_POS_OFFSET, pos(readSegment, readOffset));
+            segments.remove(finished);
+            deleteSegment(finished);
+        }
+    }
+
+    private boolean endOfSegment(MappedByteBuffer segment, int offset) {
+        return offset + LENGTH_BYTES > segmentBytes || segment.getInt(offset) == NEXT_SEGMENT;
+    }
+
+    private void lockMeta() throws IOException {
+        FileLock fileLock;
+        try {
+            fileLock = metaChannel.tryLock();
+        } catch (OverlappingFileLockException e) { // 같은 JVM 의 다른 인스턴스가 잡고 있다.
+            fileLock = null;
+        }
+        if (fileLock == null) {
+            throw new IllegalStateException("다른 인스턴스가 사용 중인 큐입니다: " + dir);
+        }
+    }
+
+    /**
+     * 새 헤더를 쓴다. MAGIC 은 마지막에 써서, 중간에 죽으면 다음에 열 때 다시 초기화한다.
+     * (데이터는 MAGIC 을 쓴 뒤에만 들어가므로, 남아 있는 세그먼트 0 파일은 비어 있다)
+     */
+    private void initialize() {
+        meta.putInt(SEGMENT_BYTES_OFFSET, segmentBytes);
+        meta.putLong(READ_POS_OFFSET, 0);
+        meta.putLong(WRITE_POS_OFFSET, 0);
+        meta.putInt(MAGIC_OFFSET, MAGIC);
+        segments.put(0, mapSegment(0));
+    }
+
+    private void closeMetaChannel() {
+        try {
+            metaChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 헤더의 위치를 그대로 믿고, 그 사이 세그먼트를 다시 매핑한다.
+     * 데이터를 먼저 쓰고 헤더를 옮겼으므로 writePos 앞의 레코드는 모두 온전하다.
+     */
+    private void recover() throws IOException {
+        if (meta.getInt(MAGIC_OFFSET) != MAGIC) {
+            throw new IllegalStateException("큐 헤더가 아닙니다: " + dir.resolve(META_FILE));
+        }
+        int storedSegmentBytes = meta.getInt(SEGMENT_BYTES_OFFSET);
+        if (storedSegmentBytes != segmentBytes) {
+            throw new IllegalArgumentException("segmentBytes 가 다릅니다. 저장된 값=" + storedSegmentBytes
+                    + ", 요청한 값=" + segmentBytes);
+        }
+        long readPos = meta.getLong(READ_POS_OFFSET);
+        long writePos = meta.getLong(WRITE_POS_OFFSET);
+        readSegment = segmentOf(readPos);
+        readOffset = offsetOf(readPos);
+        writeSegment = segmentOf(writePos);
+        writeOffset = offsetOf(writePos);
+
+        // 파일은 지웠는데 헤더가 그 세그먼트를 가리키면(지운 직후 헤더를 옮기기 전에 죽은 경우) 다 읽은 것으로 본다.
+        // mapSegment 로 다시 만들면 0 으로 채워진 파일의 길이 0 을 레코드로 세게 된다.
+        while (readSegment < writeSegment && !Files.exists(segmentPath(readSegment))) {
+            readSegment++;
+            readOffset = 0;
+            meta.putLong(READ_POS_OFFSET, pos(readSegment, readOffset));
+        }
+
+        for (int i = readSegment; i <= writeSegment; i++) {
+            segments.put(i, mapSegment(i));
+        }
+        deleteSegmentsBefore(readSegment); // 다음 세그먼트로 넘어간 직후 죽었다면 지우지 못한 파일이 남아 있다.
+
+        // 개수는 헤더에 두지 않고 길이만 따라가며 센다. (내용은 읽지 않는다)
+        int segment = readSegment;
+        int offset = readOffset;
+        int recovered = 0;
+        while (segment < writeSegment || offset < writeOffset) {
+            if (segment < writeSegment && endOfSegment(segments.get(segment), offset)) {
+                segment++;
+                offset = 0;
+                continue;
+            }
+            offset += LENGTH_BYTES + segments.get(segment).getInt(offset);
+            recovered++;
+        }
+        count = recovered;
+        if (count > maxRecords) {
+            throw new IllegalStateException("저장된 레코드 수(" + count + ")가 maxRecords(" + maxRecords + ")보다 많습니다.");
+        }
+    }
+
+    private MappedByteBuffer mapSegment(int segment) {
+        try {
+            return map(segmentPath(segment), segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MappedByteBuffer map(Path path, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size); // 채널을 닫아도 매핑은 유지된다.
+        }
+    }
+
+    private void deleteSegment(int segment) {
+        try {
+            Files.deleteIfExists(segmentPath(segment));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteSegmentsBefore(int segment) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "segment-*.dat")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int index = Integer.parseInt(name.substring("segment-".length(), name.length() - ".dat".length()));
+                if (index < segment) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private Path segmentPath(int segment) {
+        return dir.resolve(String.format("segment-%010d.dat", segment));
+    }
+
+    private byte[] encode(String data) {
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        if (LENGTH_BYTES + bytes.length > segmentBytes) {
+            throw new IllegalArgumentException("레코드가 세그먼트보다 큽니다: " + bytes.length + "byte");
+        }
+        return bytes;
+    }
+
+    private static String decode(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int decodeInto(List<byte[]> taken, Collection<? super String> sink) {
+        for (byte[] bytes : taken) {
+            sink.add(decode(bytes));
+        }
+        return taken.size();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("닫힌 큐입니다: " + dir);
+        }
+    }
+
+    private static long pos(int segment, int offset) {
+        return ((long) segment << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int segmentOf(long pos) {
+        return (int) (pos >>> 32);
+    }
+
+    private static int offsetOf(long pos) {
+        return (int) pos;
+    }
+
+    private static void signal(Condition condition, int changed) {
+        if (changed == 1) {
+            condition.signal();
+        } else if (changed > 1) {
+            condition.signalAll();
+        }
+    }
+
+    private static void await(Condition condition) {
+        try {
+            condition.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return "BoundedQueueV9[dir=" + dir + ", size=" + count + ", segments=" + segments.keySet() + "]";
+        } finally {
+            lock.unlock();
+        }
+    }
+}
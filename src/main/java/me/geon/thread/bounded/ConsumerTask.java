@@ -1,17 +1,33 @@
 package me.geon.thread.bounded;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static me.geon.thread.Utils.logger;
 
 public class ConsumerTask implements Runnable {
 
-    private BoundedQueue queue;
+    private BoundedQueue<String> queue;
+    private int batchSize = 1; // 2 이상이면 배치 모드: takeBatch() 로 한 번에 소비
+
+    public ConsumerTask(BoundedQueue<String> queue) {
+        this.queue = queue;
+    }
 
-    public ConsumerTask(BoundedQueue queue) {
+    public ConsumerTask(BoundedQueue<String> queue, int batchSize) {
         this.queue = queue;
+        this.batchSize = batchSize;
     }
 
     @Override
     public void run() {
+        if (batchSize > 1) {
+            logger("[일괄 소비 시도]     ? <- " + queue);
+            List<String> data = new ArrayList<>(batchSize);
+            queue.takeBatch(batchSize, data);
+            logger("[일괄 소비 완료] " + data + " <- " + queue);
+            return;
+        }
         logger("[소비 시도]     ? <- " + queue);
         String data = queue.take();
         logger("[소비 완료] " + data + " <- " + queue);
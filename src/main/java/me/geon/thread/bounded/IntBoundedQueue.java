@@ -0,0 +1,20 @@
+package me.geon.thread.bounded;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * int 전용 BoundedQueue
+ * - 시퀀스 번호, ID 같은 값을 박싱(Integer)이나 문자열 변환 없이 그대로 주고받는다.
+ * - 배치 메서드는 Collection 대신 int[] 를 사용한다. (sink 의 0번 인덱스부터 채운다)
+ */
+public interface IntBoundedQueue {
+    void put(int data);
+
+    int take();
+
+    void putAll(int[] data);
+
+    int takeBatch(int max, int[] sink);
+
+    int drainTo(int[] sink, int max, long timeout, TimeUnit unit);
+}
@@ -0,0 +1,177 @@
+package me.geon.thread.bounded;
+
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * long[] 저장소를 사용하는 MPMC lock-free 링 버퍼 (BoundedQueueV7_2 와 같은 방식)
+ * - 값을 배열에 그대로 복사하므로 put/take 마다 할당이 없다. (박싱, 노드, 락 대기 노드 모두 없음)
+ * - 같은 이유로 다른 구현처럼 put/take 마다 로그를 남기지 않는다. (로그 문자열 자체가 할당)
+ * - 가득 차거나 비어 있으면 spin -> yield -> park 순서로 대기한다.
+ */
+public class LongBoundedQueueV7_2 implements LongBoundedQueue {
+
+    private final long[] buffer;
+    private final AtomicLongArray sequences;
+    private final int capacity; // 배열 크기 (2의 제곱수)
+    private final int limit;    // 넣을 수 있는 최대 개수 (요청한 max)
+    private final int mask;
+
+    private final AtomicLongArray cursors = new AtomicLongArray(RingSupport.CURSORS_LENGTH);
+
+    public LongBoundedQueueV7_2(int max) {
+        this.capacity = RingSupport.ringCapacity(max);
+        this.limit = max;
+        this.mask = capacity - 1;
+        this.buffer = new long[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    @Override
+    public void put(long data) {
+        int attempt = 0;
+        while (true) {
+            long tail = cursors.get(RingSupport.TAIL);
+            int index = (int) tail & mask;
+            long diff = sequences.getAcquire(index) - tail;
+            if (diff == 0) {
+                if (limit < capacity && tail - cursors.get(RingSupport.HEAD) >= limit) {
+                    attempt = RingSupport.idle(attempt); // 요청한 max 만큼 참, 생산자 대기
+                    continue;
+                }
+                if (cursors.compareAndSet(RingSupport.TAIL, tail, tail + 1)) {
+                    buffer[index] = data;
+                    sequences.setRelease(index, tail + 1);
+                    return;
+                }
+            } else if (diff < 0) {
+                attempt = RingSupport.idle(attempt); // 가득 참, 생산자 대기
+            }
+        }
+    }
+
+    @Override
+    public long take() {
+        int attempt = 0;
+        while (true) {
+            long head = cursors.get(RingSupport.HEAD);
+            int index = (int) head & mask;
+            long diff = sequences.getAcquire(index) - (head + 1);
+            if (diff == 0) {
+                if (cursors.compareAndSet(RingSupport.HEAD, head, head + 1)) {
+                    long data = buffer[index];
+                    sequences.setRelease(index, head + capacity);
+                    return data;
+                }
+            } else if (diff < 0) {
+                attempt = RingSupport.idle(attempt); // 비어 있음, 소비자 대기
+            }
+        }
+    }
+
+    @Override
+    public void putAll(long[] data) {
+        int offset = 0;
+        int attempt = 0;
+        while (offset < data.length) {
+            int remaining = data.length - offset;
+            long tail = cursors.get(RingSupport.TAIL);
+            int room = room(tail);
+            int free = 0;
+            while (free < remaining && free < room
+                    && sequences.getAcquire((int) (tail + free) & mask) == tail + free) {
+                free++;
+            }
+            if (free == 0) {
+                if (room <= 0 || sequences.getAcquire((int) tail & mask) - tail < 0) {
+                    attempt = RingSupport.idle(attempt); // 가득 참, 생산자 대기
+                }
+                continue;
+            }
+            if (cursors.compareAndSet(RingSupport.TAIL, tail, tail + free)) {
+                for (int i = 0; i < free; i++) {
+                    long pos = tail + i;
+                    int index = (int) pos & mask;
+                    buffer[index] = data[offset + i];
+                    sequences.setRelease(index, pos + 1);
+                }
+                offset += free;
+                attempt = 0;
+            }
+        }
+    }
+
+    @Override
+    public int takeBatch(int max, long[] sink) {
+        return pollBatch(max, sink, false, 0);
+    }
+
+    @Override
+    public int drainTo(long[] sink, int max, long timeout, TimeUnit unit) {
+        return pollBatch(max, sink, true, System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    private int pollBatch(int max, long[] sink, boolean timed, long deadline) {
+        int wanted = Math.min(max, sink.length);
+        if (wanted <= 0) {
+            return 0;
+        }
+        int attempt = 0;
+        while (true) {
+            long head = cursors.get(RingSupport.HEAD);
+            int ready = 0;
+            while (ready < wanted && ready < capacity
+                    && sequences.getAcquire((int) (head + ready) & mask) == head + ready + 1) {
+                ready++;
+            }
+            if (ready == 0) {
+                if (sequences.getAcquire((int) head & mask) - (head + 1) < 0) {
+                    if (timed && System.nanoTime() - deadline >= 0) {
+                        return 0;
+                    }
+                    attempt = RingSupport.idle(attempt); // 비어 있음, 소비자 대기
+                }
+                continue;
+            }
+            if (cursors.compareAndSet(RingSupport.HEAD, head, head + ready)) {
+                for (int i = 0; i < ready; i++) {
+                    long pos = head + i;
+                    int index = (int) pos & mask;
+                    sink[i] = buffer[index];
+                    sequences.setRelease(index, pos + capacity);
+                }
+                return ready;
+            }
+        }
+    }
+
+    /**
+     * 넣을 수 있는 최대 개수 (생성자에 준 max)
+     */
+    public int capacity() {
+        return limit;
+    }
+
+    /**
+     * tail 위치에서 더 넣을 수 있는 개수 (배열 크기와 논리적 최대 개수 limit 중 작은 쪽 기준)
+     * head 를 tail 보다 나중에 읽으므로, CAS 가 성공하면 넣은 뒤에도 개수가 limit 을 넘지 않는다.
+     */
+    private int room(long tail) {
+        return (int) Math.min(capacity, limit - (tail - cursors.get(RingSupport.HEAD)));
+    }
+
+    @Override
+    public String toString() {
+        // 동시에 변경될 수 있으므로 출력용 근사값
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        long tail = cursors.get(RingSupport.TAIL);
+        for (long i = cursors.get(RingSupport.HEAD); i < tail; i++) {
+            joiner.add(String.valueOf(buffer[(int) i & mask]));
+        }
+        return joiner.toString();
+    }
+}
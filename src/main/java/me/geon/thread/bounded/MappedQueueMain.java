@@ -0,0 +1,73 @@
+package me.geon.thread.bounded;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * BoundedQueueV9 가 비정상 종료 후에도 데이터를 이어서 읽는지 확인한다.
+ *
+ * 1. 생산자가 100,000개를 넣는 동안 소비자는 30,000개만 가져간다. (세그먼트 256KB, 여러 번 넘어감)
+ * 2. close() 없이 버린다. (kill -9 와 같은 상황, 페이지 캐시에 쓴 내용은 남는다)
+ * 3. 같은 디렉터리로 다시 열어, 남은 70,000개를 순서대로 읽는다.
+ *
+ * -Dqueue.dir=/path 로 디렉터리를 지정하면 지우지 않고 남겨 둔다.
+ */
+public class MappedQueueMain {
+
+    private static final int RECORDS = 100_000;
+    private static final int CONSUMED_BEFORE_CRASH = 30_000;
+    private static final int SEGMENT_BYTES = 256 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        String configured = System.getProperty("queue.dir");
+        Path dir = configured != null ? Path.of(configured) : Files.createTempDirectory("bounded-v9-");
+        logger("큐 디렉터리: " + dir);
+
+        BoundedQueueV9 queue = new BoundedQueueV9(dir, RECORDS, SEGMENT_BYTES);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < RECORDS; i++) {
+                queue.put("order-" + i);
+            }
+        }, "producer");
+        Thread consumer = new Thread(() -> {
+            for (int i = 0; i < CONSUMED_BEFORE_CRASH; i++) {
+                queue.take();
+            }
+        }, "consumer");
+        producer.start();
+        consumer.start();
+        producer.join();
+        consumer.join();
+        logger("비정상 종료 직전: " + queue);
+        queue.abandon(); // close() 없이 FileLock 만 푼다. (프로세스가 죽으면 OS 가 풀어 준다)
+
+        long start = System.nanoTime();
+        try (BoundedQueueV9 reopened = new BoundedQueueV9(dir, RECORDS, SEGMENT_BYTES)) {
+            logger("다시 열기 " + (System.nanoTime() - start) / 1000 + "us: " + reopened);
+            for (int i = CONSUMED_BEFORE_CRASH; i < RECORDS; i++) {
+                String data = reopened.take();
+                if (!data.equals("order-" + i)) {
+                    throw new IllegalStateException("순서가 맞지 않습니다. 기대값=order-" + i + ", 실제=" + data);
+                }
+            }
+            logger("남은 " + (RECORDS - CONSUMED_BEFORE_CRASH) + "개를 순서대로 읽음: " + reopened);
+        }
+
+        if (configured == null) {
+            deleteRecursively(dir);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package me.geon.thread.bounded;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.ByteBuffer;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * 4KB 짜리 데이터 50,000개(약 200MB)가 밀린 상황에서 V8(힙)과 V10(direct 메모리)을 비교한다.
+ *
+ * 1. 큐를 가득 채운 뒤 GC 를 한 번 돌리고 남은 힙 사용량을 본다. (V8 은 데이터만큼 old 영역에 남는다)
+ * 2. 채우고 꺼내는 동안의 GC 횟수/시간을 본다. (위 1번의 System.gc() 는 제외)
+ *
+ * V10 은 claim/publish, acquire/release 로 슬롯에 직접 쓰고 읽으므로, 데이터를 힙에 복사하지 않는다.
+ * (호출마다 생기는 Slot/view 는 작고 곧 버려지므로 old 영역에 쌓이지 않는다)
+ * 실행: -Xmx1g 이상 (V8 쪽 데이터가 힙에 모두 올라가야 한다)
+ */
+public class OffHeapQueueMain {
+
+    private static final int COUNT = 50_000;
+    private static final int PAYLOAD_BYTES = 4096;
+
+    public static void main(String[] args) {
+        runHeap();
+        runOffHeap();
+    }
+
+    private static void runHeap() {
+        long before = usedHeapAfterGc();
+        GcUsage gc = new GcUsage();
+        BoundedQueueV8<byte[]> queue = new BoundedQueueV8<>(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            byte[] payload = new byte[PAYLOAD_BYTES];
+            fill(ByteBuffer.wrap(payload), i);
+            queue.put(payload);
+        }
+        gc.pause();
+        long backlog = usedHeapAfterGc() - before;
+        gc.resume();
+
+        long checksum = 0;
+        for (int i = 0; i < COUNT; i++) {
+            checksum += checksum(ByteBuffer.wrap(queue.take()));
+        }
+        logger("V8  (힙)   : 밀린 데이터가 차지한 힙 " + mb(backlog) + ", 채우고 꺼내는 동안 GC " + gc
+                + ", checksum=" + checksum);
+    }
+
+    private static void runOffHeap() {
+        long before = usedHeapAfterGc();
+        GcUsage gc = new GcUsage();
+        BoundedQueueV10 queue = new BoundedQueueV10(COUNT, PAYLOAD_BYTES);
+        for (int i = 0; i < COUNT; i++) {
+            BoundedQueueV10.Slot slot = queue.claim();
+            fill(slot.buffer(), i); // 슬롯에 직접 쓴다.
+            queue.publish(slot);
+        }
+        gc.pause();
+        long backlog = usedHeapAfterGc() - before;
+        gc.resume();
+
+        long checksum = 0;
+        for (int i = 0; i < COUNT; i++) {
+            BoundedQueueV10.Slot slot = queue.acquire();
+            checksum += checksum(slot.view()); // 복사 없이 view 에서 읽는다.
+            queue.release(slot);
+        }
+        logger("V10 (direct): 밀린 데이터가 차지한 힙 " + mb(backlog) + ", 채우고 꺼내는 동안 GC " + gc
+                + ", checksum=" + checksum + ", " + queue);
+    }
+
+    private static void fill(ByteBuffer buffer, int seq) {
+        buffer.putLong(seq);
+        while (buffer.remaining() >= Long.BYTES) {
+            buffer.putLong(seq * 31L + buffer.position());
+        }
+    }
+
+    private static long checksum(ByteBuffer view) {
+        long sum = 0;
+        while (view.remaining() >= Long.BYTES) {
+            sum += view.getLong();
+        }
+        return sum;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * 구간별 GC 횟수/시간 합계 (pause ~ resume 사이는 빼고 센다)
+     */
+    private static class GcUsage {
+        private long count;
+        private long millis;
+        private long startCount = gcCount();
+        private long startMillis = gcMillis();
+
+        void pause() {
+            count += gcCount() - startCount;
+            millis += gcMillis() - startMillis;
+        }
+
+        void resume() {
+            startCount = gcCount();
+            startMillis = gcMillis();
+        }
+
+        @Override
+        public String toString() {
+            pause();
+            resume();
+            return count + "회/" + millis + "ms";
+        }
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    private static String mb(long bytes) {
+        return bytes / (1024 * 1024) + "MB";
+    }
+}
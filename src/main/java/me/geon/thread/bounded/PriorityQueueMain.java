@@ -0,0 +1,110 @@
+package me.geon.thread.bounded;
+
+import me.geon.thread.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * 대량 데이터가 몰릴 때 급한 데이터가 얼마나 기다리는지 비교한다.
+ *
+ * - 대량 생산자 2개: 쉬지 않고 넣는다. (큐가 가득 차면 기다린다)
+ * - 급한 생산자 1개: 1ms 마다 하나씩 1,000개를 넣는다.
+ * - 소비자 1개: 하나에 약 20us 가 걸린다.
+ * 비교
+ * - BoundedQueueV8(5,100): lane 하나, 급한 데이터도 대량 데이터 뒤에 선다.
+ * - BoundedQueueV12 WEIGHTED_ROUND_ROBIN: 급한 lane(100개, weight 4), 대량 lane(5,000개, weight 1)
+ * - BoundedQueueV12 STRICT_PRIORITY: 급한 lane 먼저, 대량 lane 은 8번 밀리면 한 번
+ */
+public class PriorityQueueMain {
+
+    private static final int URGENT_COUNT = 1_000;
+    private static final int URGENT_CAPACITY = 100;
+    private static final int BULK_CAPACITY = 5_000;
+    private static final long WORK_NANOS = 20_000;
+
+    record Item(boolean urgent, long enqueuedNanos) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        BoundedQueueV8<Item> single = new BoundedQueueV8<>(URGENT_CAPACITY + BULK_CAPACITY);
+        run("V8 (lane 1개)", single, single::put, single::put, single::size);
+
+        BoundedQueueV12<Item> weighted = BoundedQueueV12.weightedRoundRobin(
+                new BoundedQueueV12.Lane(URGENT_CAPACITY, 4), new BoundedQueueV12.Lane(BULK_CAPACITY, 1));
+        run("V12 " + weighted.scheduling(), weighted, item -> weighted.put(0, item), item -> weighted.put(1, item), weighted::size);
+
+        BoundedQueueV12<Item> priority = BoundedQueueV12.strictPriority(8,
+                BoundedQueueV12.Lane.of(URGENT_CAPACITY), BoundedQueueV12.Lane.of(BULK_CAPACITY));
+        run("V12 " + priority.scheduling(), priority, item -> priority.put(0, item), item -> priority.put(1, item), priority::size);
+    }
+
+    private static void run(String name, BoundedQueue<Item> queue, Consumer<Item> urgentPut, Consumer<Item> bulkPut,
+                            IntSupplier size) throws InterruptedException {
+        LatencyHistogram urgentWait = new LatencyHistogram();
+        LatencyHistogram bulkWait = new LatencyHistogram();
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicBoolean producersDone = new AtomicBoolean();
+
+        List<Thread> bulkProducers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            bulkProducers.add(new Thread(() -> {
+                while (!stop.get()) {
+                    bulkPut.accept(new Item(false, System.nanoTime()));
+                }
+            }, "bulk-" + i));
+        }
+        Thread urgentProducer = new Thread(() -> {
+            for (int i = 0; i < URGENT_COUNT; i++) {
+                urgentPut.accept(new Item(true, System.nanoTime()));
+                sleepMillis(1);
+            }
+        }, "urgent");
+        Thread consumer = new Thread(() -> {
+            List<Item> batch = new ArrayList<>();
+            while (!producersDone.get() || size.getAsInt() > 0) {
+                batch.clear();
+                queue.drainTo(batch, 1, 10, TimeUnit.MILLISECONDS);
+                for (Item item : batch) {
+                    (item.urgent() ? urgentWait : bulkWait).recordSince(item.enqueuedNanos());
+                    busy(WORK_NANOS);
+                }
+            }
+        }, "consumer");
+
+        consumer.start();
+        bulkProducers.forEach(Thread::start);
+        urgentProducer.start();
+        urgentProducer.join();
+        stop.set(true);
+        for (Thread producer : bulkProducers) {
+            producer.join();
+        }
+        producersDone.set(true);
+        consumer.join();
+
+        logger(name + " 급한 데이터 대기(ns): " + urgentWait.snapshot());
+        logger(name + " 대량 데이터 대기(ns): " + bulkWait.snapshot());
+    }
+
+    private static void busy(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -1,19 +1,33 @@
 package me.geon.thread.bounded;
 
+import java.util.List;
+
 import static me.geon.thread.Utils.logger;
 
 public class ProducerTask implements Runnable {
 
-    private BoundedQueue queue;
+    private BoundedQueue<String> queue;
     private String request;
+    private List<String> requests; // 배치 모드: putAll() 로 한 번에 저장
 
-    public ProducerTask(BoundedQueue queue, String request) {
+    public ProducerTask(BoundedQueue<String> queue, String request) {
         this.queue = queue;
         this.request = request;
     }
 
+    public ProducerTask(BoundedQueue<String> queue, List<String> requests) {
+        this.queue = queue;
+        this.requests = requests;
+    }
+
     @Override
     public void run() {
+        if (requests != null) {
+            logger("[일괄 생산 시도] " + requests + " -> " + queue);
+            queue.putAll(requests);
+            logger("[일괄 생산 완료] " + requests + " -> " + queue);
+            return;
+        }
         logger("[생산 시도] " + request + " -> " + queue);
         queue.put(request);
         logger("[생산 완료] " + request + " -> " + queue);
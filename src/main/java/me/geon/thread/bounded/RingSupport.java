@@ -0,0 +1,59 @@
+package me.geon.thread.bounded;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * lock-free 링 버퍼(BoundedQueueV7_x)에서 공통으로 사용하는 도우미
+ */
+final class RingSupport {
+
+    // head, tail 을 서로 다른 캐시 라인에 두기 위한 간격 (long 16개 = 128byte, 인접 라인 prefetch 까지 고려)
+    static final int PAD = 16;
+    static final int HEAD = PAD;
+    static final int TAIL = PAD * 2;
+    static final int CURSORS_LENGTH = PAD * 3;
+
+    private static final int SPIN_LIMIT = 100;
+    private static final int YIELD_LIMIT = 200;
+    private static final long MIN_PARK_NANOS = 1_000L;          // 1us
+    private static final long MAX_PARK_NANOS = 1_000_000L;      // 1ms
+
+    private RingSupport() {
+    }
+
+    /**
+     * 배열 크기: 요청한 크기 이상인 가장 작은 2의 제곱수로 올린다. (index = seq & mask 로 계산하기 위함)
+     * - 시퀀스 기반 MPMC 링은 슬롯이 최소 2개 있어야 올바르게 동작한다.
+     * - 넣을 수 있는 개수는 각 링이 요청한 max 로 따로 제한한다. (배열이 커도 max 를 넘겨 담지 않는다)
+     */
+    static int ringCapacity(int max) {
+        if (max <= 0) {
+            throw new IllegalArgumentException("max는 1 이상이어야 합니다: " + max);
+        }
+        if (max > (1 << 30)) {
+            throw new IllegalArgumentException("max가 너무 큽니다: " + max);
+        }
+        return Math.max(2, Integer.highestOneBit(max - 1) << 1);
+    }
+
+    /**
+     * 대기 한 번 수행 후 다음 시도 횟수를 반환한다.
+     * spin(onSpinWait) -> yield -> parkNanos(1us ~ 1ms 로 점점 증가) 순서로 대기한다.
+     * - park 에서 깨워줄 상대를 등록하지 않으므로 최대 1ms 후에는 스스로 깨어나 다시 확인한다.
+     * - 인터럽트가 걸리면 다른 BoundedQueue 구현과 동일하게 RuntimeException 으로 감싸서 던진다.
+     */
+    static int idle(int attempt) {
+        if (attempt < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else if (attempt < YIELD_LIMIT) {
+            Thread.yield();
+        } else {
+            int shift = Math.min(attempt - YIELD_LIMIT, 10);
+            LockSupport.parkNanos(Math.min(MIN_PARK_NANOS << shift, MAX_PARK_NANOS));
+            if (Thread.interrupted()) {
+                throw new RuntimeException(new InterruptedException("링 버퍼 대기 중 인터럽트 발생"));
+            }
+        }
+        return attempt + 1;
+    }
+}
@@ -0,0 +1,83 @@
+package me.geon.thread.bounded;
+
+import me.geon.thread.metrics.LatencyHistogram;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * 몰아서 들어오는(bursty) 부하에서 BoundedQueueV11 이 데이터를 버리지 않는지 확인한다.
+ *
+ * - 생산자: 20,000개를 한꺼번에 넣고 200ms 쉬기를 10번 반복한다. (메모리 큐는 1,000개)
+ * - 소비자: 쉬지 않고 꺼내되, 하나에 약 10us 가 걸린다. (몰릴 때는 생산자보다 느리다)
+ * 확인할 것
+ * - 200,000개가 모두 넣은 순서대로 꺼내진다. (V1 이었다면 몰릴 때마다 대부분 버려졌다)
+ * - put 지연이 짧다. (파일 쓰기는 spill 스레드가 한다)
+ */
+public class SpillQueueMain {
+
+    private static final int BURSTS = 10;
+    private static final int BURST_SIZE = 20_000;
+    private static final int MEMORY_CAPACITY = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        Path spillFile = Files.createTempFile("bounded-v11-", ".spill");
+        LatencyHistogram putLatency = new LatencyHistogram();
+        AtomicLong maxSize = new AtomicLong();
+
+        try (BoundedQueueV11 queue = new BoundedQueueV11(MEMORY_CAPACITY, spillFile)) {
+            Thread producer = new Thread(() -> {
+                int seq = 0;
+                for (int burst = 0; burst < BURSTS; burst++) {
+                    for (int i = 0; i < BURST_SIZE; i++) {
+                        long start = System.nanoTime();
+                        queue.put("event-" + seq++);
+                        putLatency.recordSince(start);
+                    }
+                    maxSize.accumulateAndGet(queue.size(), Math::max);
+                    sleepMillis(200);
+                }
+            }, "producer");
+
+            Thread consumer = new Thread(() -> {
+                for (int i = 0; i < BURSTS * BURST_SIZE; i++) {
+                    String data = queue.take();
+                    if (!data.equals("event-" + i)) {
+                        throw new IllegalStateException("순서가 맞지 않습니다. 기대값=event-" + i + ", 실제=" + data);
+                    }
+                    busy(10_000);
+                }
+            }, "consumer");
+
+            long start = System.nanoTime();
+            producer.start();
+            consumer.start();
+            producer.join();
+            consumer.join();
+
+            logger("전체 " + BURSTS * BURST_SIZE + "개를 순서대로 받음, " + (System.nanoTime() - start) / 1_000_000 + "ms");
+            logger("메모리 " + MEMORY_CAPACITY + "개, 최대 적체 " + maxSize.get() + "개, 파일로 넘긴 개수 " + queue.spilledTotal());
+            logger("put 지연(ns): " + putLatency.snapshot());
+            logger(queue.toString());
+        }
+        logger("spill 파일 삭제: " + !Files.exists(spillFile));
+    }
+
+    private static void busy(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
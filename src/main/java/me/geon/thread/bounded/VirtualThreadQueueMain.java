@@ -0,0 +1,111 @@
+package me.geon.thread.bounded;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import me.geon.thread.executor.PinningDetector;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * 가상 스레드 10,000개(생산자 5,000 + 소비자 5,000)로 ProducerTask/ConsumerTask 를 실행해서
+ * BoundedQueueV3(synchronized + wait) 와 BoundedQueueV8(ReentrantLock + Condition) 을 비교한다.
+ *
+ * 측정 항목
+ * - 걸린 시간 (STUCK_TIMEOUT 안에 끝나지 않으면 멈춘 것으로 본다)
+ * - 피닝 횟수 : 가상 스레드가 모니터 안에서 잠든 횟수 (PinningDetector)
+ * - 캐리어 스레드 수 : 피닝된 캐리어를 대신하려고 스케줄러가 늘린 캐리어 수 (기본은 CPU 코어 수)
+ * - 캐리어 CPU 사용률 : 캐리어 스레드들의 CPU 시간 / (걸린 시간 x 코어 수)
+ *
+ * 실행 예) -Dqueue.versions=V3,V8 -Dqueue.threads=10000 -Dqueue.capacity=100
+ *
+ * 결과 예 (캐리어 4개, -Djdk.virtualThreadScheduler.parallelism=4)
+ *   V8: 완료 2960ms, 피닝 0회, 캐리어 스레드 4개, 캐리어 CPU 사용률 63.1%
+ *   V3: 멈춤(타임아웃) 30036ms, 피닝 2회, 캐리어 스레드 4개, 캐리어 CPU 사용률 0.1%
+ * V3 는 wait() 중인 가상 스레드가 캐리어를 붙잡고 있어서 캐리어가 놀고(CPU 0.1%) 다른 가상 스레드는 실행되지 못한다.
+ * 피닝 이벤트는 고정이 풀릴 때 기록되므로, 끝까지 고정된 채 멈춘 경우는 횟수에 잡히지 않는다.
+ */
+public class VirtualThreadQueueMain {
+
+    private static final Duration STUCK_TIMEOUT = Duration.ofSeconds(30);
+    private static final String CARRIER_PREFIX = "ForkJoinPool-";
+
+    public static void main(String[] args) throws InterruptedException {
+        String[] versions = System.getProperty("queue.versions", "V8,V3").split(",");
+        int threads = Integer.getInteger("queue.threads", 10_000);
+        int capacity = Integer.getInteger("queue.capacity", 100);
+
+        for (String version : versions) {
+            run(version.trim(), threads / 2, capacity);
+        }
+    }
+
+    private static void run(String version, int pairs, int capacity) throws InterruptedException {
+        BoundedQueue<String> queue = switch (version) {
+            case "V3" -> new BoundedQueueV3<>(capacity);
+            case "V8" -> new BoundedQueueV8<>(capacity);
+            default -> throw new IllegalArgumentException("지원하지 않는 버전: " + version);
+        };
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        long carrierCpuBefore = carrierCpuNanos(threadBean);
+        boolean finished;
+        long elapsedNanos;
+        long pinned;
+
+        // ProducerTask/ConsumerTask 와 V3 의 로그 출력이 측정에 섞이지 않도록 잠시 출력을 끈다.
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try (PinningDetector detector = PinningDetector.start(Duration.ofMillis(1))) {
+            long start = System.nanoTime();
+            ExecutorService es = Executors.newVirtualThreadPerTaskExecutor();
+            for (int i = 0; i < pairs; i++) {
+                es.execute(new ConsumerTask(queue));
+                es.execute(new ProducerTask(queue, "data" + i));
+            }
+            es.shutdown();
+            finished = es.awaitTermination(STUCK_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            elapsedNanos = System.nanoTime() - start;
+            if (!finished) {
+                es.shutdownNow(); // 멈춘 가상 스레드를 인터럽트로 깨워서 정리한다.
+                es.awaitTermination(5, TimeUnit.SECONDS);
+            }
+            pinned = detector.getPinnedCount();
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        int carriers = carrierCount(threadBean);
+        double carrierCpu = (carrierCpuNanos(threadBean) - carrierCpuBefore)
+                / ((double) elapsedNanos * Runtime.getRuntime().availableProcessors());
+        logger(String.format("%s: %s %dms, 피닝 %d회, 캐리어 스레드 %d개, 캐리어 CPU 사용률 %.1f%%",
+                version, finished ? "완료" : "멈춤(타임아웃)", elapsedNanos / 1_000_000, pinned, carriers,
+                carrierCpu * 100));
+    }
+
+    private static long carrierCpuNanos(ThreadMXBean threadBean) {
+        long total = 0;
+        for (java.lang.management.ThreadInfo info : threadBean.getThreadInfo(threadBean.getAllThreadIds())) {
+            if (info != null && info.getThreadName().startsWith(CARRIER_PREFIX)) {
+                total += Math.max(0, threadBean.getThreadCpuTime(info.getThreadId()));
+            }
+        }
+        return total;
+    }
+
+    private static int carrierCount(ThreadMXBean threadBean) {
+        int count = 0;
+        for (java.lang.management.ThreadInfo info : threadBean.getThreadInfo(threadBean.getAllThreadIds())) {
+            if (info != null && info.getThreadName().startsWith(CARRIER_PREFIX)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
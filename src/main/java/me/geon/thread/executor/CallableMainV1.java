@@ -7,7 +7,7 @@ import java.util.concurrent.*;
 
 public class CallableMainV1 {
     public static void main(String[] args) throws ExecutionException, InterruptedException {
-        ExecutorService es = Executors.newFixedThreadPool(1);
+        ExecutorService es = ExecutionMode.newExecutor(1);
         Future<Integer> future = es.submit(new MyCallable());
         Integer rtn = future.get();
         Utils.logger("result value : " + rtn);
@@ -7,7 +7,7 @@ import java.util.concurrent.*;
 
 public class CallableMainV2 {
     public static void main(String[] args) throws ExecutionException, InterruptedException {
-        ExecutorService es = Executors.newFixedThreadPool(1);
+        ExecutorService es = ExecutionMode.newExecutor(1);
         Utils.logger("submit() 호출");
         Future<Integer> future = es.submit(new MyCallable());
         Utils.logger("future 즉시 반환, future = " + future);
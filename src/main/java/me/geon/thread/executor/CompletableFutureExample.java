@@ -11,7 +11,7 @@ public class CompletableFutureExample {
     public static void main(String[] args) throws Exception {
         Utils.logger("=== 2개 스레드로 blocking vs non-blocking 비교 ===");
 
-        ExecutorService es = Executors.newFixedThreadPool(10);
+        ExecutorService es = ExecutionMode.newExecutor(10);
 
 //         1. Future 방식 - 블로킹 (순차 처리)
         Utils.logger("1. Future 방식 - 2개 작업을 순차적으로 처리 (블로킹):");
@@ -53,7 +53,7 @@ public class CompletableFutureExample {
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
-        });
+        }, es);
 
         CompletableFuture<String> cf2 = CompletableFuture.supplyAsync(() -> {
             try {
@@ -61,12 +61,12 @@ public class CompletableFutureExample {
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
-        });
+        }, es);
         Utils.logger("2개 CompletableFuture 작업 시작됨");
 
         // 논블로킹 콜백 등록
-        cf1.thenAccept(result -> Utils.logger("CompletableFuture-1 완료: " + result));
-        cf2.thenAccept(result -> Utils.logger("CompletableFuture-2 완료: " + result));
+        CompletableFuture<Void> done1 = cf1.thenAccept(result -> Utils.logger("CompletableFuture-1 완료: " + result));
+        CompletableFuture<Void> done2 = cf2.thenAccept(result -> Utils.logger("CompletableFuture-2 완료: " + result));
         Utils.logger("콜백 등록 완료 - 논블로킹이라 즉시 진행");
 
         // 메인 스레드는 즉시 다른 작업 수행 가능
@@ -96,8 +96,8 @@ public class CompletableFutureExample {
         //05:43:43.123 [CompletableFuture-Worker-2] CompletableFuture-2 완료: CompletableFuture-Worker-2
         //05:43:43.141 [main] ===== CompletableFuture 방식 완료 =====
 
-        // 완료 대기
-        Thread.sleep(3000);
+        // 완료 대기 (시간을 짐작해서 sleep 하지 않고, 콜백까지 끝나기를 기다린다)
+        CompletableFuture.allOf(done1, done2).join();
 
         es.shutdown();
     }
@@ -147,6 +147,10 @@ public class CompletableFutureExample {
    - Future: isDone(), cancel() 정도만 지원
    - CompletableFuture: complete(), completeExceptionally() 등 더 많은 제어
 
+7. **대량 입력**
+   - 입력마다 supplyAsync() 를 부르면 동시 실행 수에 한도가 없고, 기다리는 future 가 모두 힙에 쌓인다.
+   - 입력이 많으면 pipeline.Pipeline 으로 단계별 동시 실행 한도와 전용 executor 를 두고 처리한다. (PipelineMain 참고)
+
 결론: CompletableFuture는 Future의 모든 기능을 포함하면서도
       함수형 프로그래밍과 논블로킹 처리를 지원하는 훨씬 강력한 도구
 */
@@ -0,0 +1,62 @@
+package me.geon.thread.executor;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예제들이 사용할 ExecutorService 종류
+ *
+ * 실행할 때 -Dexecutor.mode=platform|fork_join|virtual 로 고른다. (기본값: platform)
+ * - PLATFORM  : 플랫폼 스레드 고정 풀 (Executors.newFixedThreadPool 과 같음)
+ * - FORK_JOIN : 작업 훔치기(work-stealing) 를 하는 ForkJoinPool
+ * - VIRTUAL   : 작업마다 가상 스레드를 하나씩 만든다. threads 값은 무시한다.
+ *               timeSleep 같은 블로킹 대기가 많은 작업은 OS 스레드 수와 상관없이 수만 개를 동시에 돌릴 수 있다.
+ *               단, synchronized 안에서 블로킹하면 가상 스레드가 캐리어 스레드에 고정(pinning)된다. (PinningDetector 참고)
+ */
+public enum ExecutionMode {
+
+    PLATFORM {
+        @Override
+        public ExecutorService create(int threads) {
+            return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        }
+    },
+    FORK_JOIN {
+        @Override
+        public ExecutorService create(int threads) {
+            return new ForkJoinPool(threads);
+        }
+    },
+    VIRTUAL {
+        @Override
+        public ExecutorService create(int threads) {
+            // 이름이 없으면 로그에 스레드 이름이 비어서 나오므로 번호를 붙인다.
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("virtual-", 0).factory());
+        }
+    };
+
+    public static final String PROPERTY = "executor.mode";
+
+    public abstract ExecutorService create(int threads);
+
+    public static ExecutionMode fromSystemProperty() {
+        String value = System.getProperty(PROPERTY, PLATFORM.name());
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 " + PROPERTY + ": " + value + " (platform, fork_join, virtual)", e);
+        }
+    }
+
+    /**
+     * 설정(-Dexecutor.mode)에 맞는 ExecutorService 를 만든다.
+     */
+    public static ExecutorService newExecutor(int threads) {
+        return fromSystemProperty().create(threads);
+    }
+}
@@ -0,0 +1,37 @@
+package me.geon.thread.executor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import me.geon.thread.Utils;
+
+/**
+ * 1초 동안 블로킹하는 작업 10,000개를 선택한 실행 모드로 돌려 걸린 시간을 비교한다.
+ * - -Dexecutor.mode=platform : 스레드 200개 -> 약 50초
+ * - -Dexecutor.mode=virtual  : 가상 스레드 10,000개 -> 약 1초
+ */
+public class ExecutionModeMain {
+
+    private static final int TASKS = 10_000;
+    private static final int THREADS = 200;
+
+    public static void main(String[] args) throws Exception {
+        ExecutionMode mode = ExecutionMode.fromSystemProperty();
+        Utils.logger("실행 모드: " + mode + ", 작업 수: " + TASKS);
+
+        long start = System.nanoTime();
+        try (ExecutorService es = mode.create(THREADS)) {
+            List<Future<?>> futures = new ArrayList<>(TASKS);
+            for (int i = 0; i < TASKS; i++) {
+                futures.add(es.submit(() -> Utils.timeSleep(1000)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        Utils.logger("완료: " + elapsedMs + "ms");
+    }
+}
@@ -3,19 +3,12 @@ package me.geon.thread.executor;
 import me.geon.thread.Utils;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 public class ExecutorBasicMain {
     public static void main(String[] args) {
-        ExecutorService es = new ThreadPoolExecutor(
-                2,
-                2,
-                0,
-                TimeUnit.MICROSECONDS,
-                new LinkedBlockingDeque<>()
-        );
+        // -Dexecutor.mode=platform(기본) 이면 new ThreadPoolExecutor(2, 2, 0, ..., new LinkedBlockingQueue<>()) 와 같다.
+        // 큐 크기 제한이 없으므로 작업이 계속 몰리면 큐(힙)가 끝없이 커진다. 제한이 필요하면 overload.BoundedExecutors 를 사용한다.
+        ExecutorService es = ExecutionMode.newExecutor(2);
 
         Utils.logger("초기상태");
         ExecutorUtils.printState(es);
@@ -1,15 +1,33 @@
 package me.geon.thread.executor;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import me.geon.thread.executor.metrics.InstrumentedExecutorService;
+import me.geon.thread.executor.overload.SheddingThreadPoolExecutor;
 
 public abstract class ExecutorUtils {
     public static void printState(ExecutorService executor) {
-        if (executor instanceof java.util.concurrent.ThreadPoolExecutor poolExecutor) {
+        if (executor instanceof InstrumentedExecutorService instrumented) {
+            // 감싼 executor 의 상태를 먼저 출력하고, 측정값(대기/실행 시간, 거절 수)을 덧붙인다.
+            printState(instrumented.getDelegate());
+            System.out.println(instrumented.snapshot());
+        } else if (executor instanceof java.util.concurrent.ThreadPoolExecutor poolExecutor) {
             int pool = poolExecutor.getPoolSize();
             int active = poolExecutor.getActiveCount();
             int queuedTasks = poolExecutor.getQueue().size();
             long completedTask = poolExecutor.getCompletedTaskCount();
             System.out.println("pool=" + pool + ", active=" + active + ", queuedTasks=" + queuedTasks + ", completedTask=" + completedTask);
+            if (poolExecutor instanceof SheddingThreadPoolExecutor shedding) {
+                System.out.println(shedding.getStrategy() + ": " + shedding.getShedStats());
+            }
+        } else if (executor instanceof ForkJoinPool forkJoinPool) {
+            int parallelism = forkJoinPool.getParallelism();
+            int pool = forkJoinPool.getPoolSize();
+            int active = forkJoinPool.getActiveThreadCount();
+            long queuedTasks = forkJoinPool.getQueuedTaskCount() + forkJoinPool.getQueuedSubmissionCount();
+            long steals = forkJoinPool.getStealCount();
+            System.out.println("parallelism=" + parallelism + ", pool=" + pool + ", active=" + active + ", queuedTasks=" + queuedTasks + ", steals=" + steals);
         } else {
             System.out.println(executor);
         }
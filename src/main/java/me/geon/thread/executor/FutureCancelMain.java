@@ -12,7 +12,7 @@ public class FutureCancelMain {
     private static boolean mayInterruptIfRunning = false; // 변경
 
     public static void main(String[] args) {
-        ExecutorService es = Executors.newFixedThreadPool(1);
+        ExecutorService es = ExecutionMode.newExecutor(1);
         Future<String> future = es.submit(new MyTask());
         logger("Future.state: " + future.state());
 
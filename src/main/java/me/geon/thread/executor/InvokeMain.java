@@ -4,12 +4,11 @@ import me.geon.thread.Utils;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 public class InvokeMain {
     public static void main(String[] args) throws Exception {
-        ExecutorService es = Executors.newFixedThreadPool(10);
+        ExecutorService es = ExecutionMode.newExecutor(10);
 
         CallableTask c1 = new CallableTask("task 1", 1000);
         CallableTask c2 = new CallableTask("task 3", 2000);
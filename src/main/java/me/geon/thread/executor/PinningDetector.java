@@ -0,0 +1,91 @@
+package me.geon.thread.executor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * 가상 스레드 고정(pinning) 감지기
+ *
+ * 가상 스레드가 synchronized 블록 안에서 블로킹(sleep, IO, 락 대기)하면 캐리어 스레드에서 내려오지 못하고
+ * 캐리어 스레드를 붙잡은 채 기다린다. (예: BankAccountV2.withdraw 의 timeSleep)
+ * JFR 의 jdk.VirtualThreadPinned 이벤트를 구독해서 threshold 보다 오래 고정된 경우를 로그로 남긴다.
+ *
+ * 사용 예)
+ *   try (PinningDetector detector = PinningDetector.start(Duration.ofMillis(20))) { ... }
+ */
+public class PinningDetector implements AutoCloseable {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int STACK_DEPTH = 5;
+
+    private final RecordingStream stream = new RecordingStream();
+    private final LongAdder pinnedCount = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+
+    private PinningDetector(Duration threshold) {
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+    }
+
+    public static PinningDetector start(Duration threshold) {
+        PinningDetector detector = new PinningDetector(threshold);
+        detector.stream.startAsync();
+        return detector;
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    public Duration getPinnedTime() {
+        return Duration.ofNanos(pinnedNanos.sum());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.increment();
+        pinnedNanos.add(event.getDuration().toNanos());
+
+        String thread = event.getThread() == null ? "?" : event.getThread().getJavaName();
+        StringBuilder sb = new StringBuilder("[피닝 감지] ")
+                .append(thread)
+                .append(", ")
+                .append(event.getDuration().toMillis())
+                .append("ms");
+        if (event.getStackTrace() != null) {
+            // VirtualThread.park 같은 JDK 내부 프레임은 건너뛰고, 고정을 일으킨 애플리케이션 코드부터 보여준다.
+            List<RecordedFrame> frames = event.getStackTrace().getFrames().stream()
+                    .filter(frame -> !isJdkFrame(frame))
+                    .limit(STACK_DEPTH)
+                    .toList();
+            for (RecordedFrame frame : frames) {
+                sb.append("\n    at ")
+                        .append(frame.getMethod().getType().getName())
+                        .append('.')
+                        .append(frame.getMethod().getName())
+                        .append(':')
+                        .append(frame.getLineNumber());
+            }
+        }
+        logger(sb);
+    }
+
+    private static boolean isJdkFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    /**
+     * 아직 전달되지 않은 이벤트까지 처리한 뒤 구독을 끝낸다.
+     */
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
@@ -0,0 +1,36 @@
+package me.geon.thread.executor;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+import me.geon.thread.Utils;
+import me.geon.thread.sync.BankAccount;
+import me.geon.thread.sync.BankAccountV2;
+import me.geon.thread.sync.BankAccountV4;
+import me.geon.thread.sync.WithdrawTask;
+
+/**
+ * 가상 스레드에서 synchronized(BankAccountV2) 와 ReentrantLock(BankAccountV4) 비교
+ * - V2 : synchronized 안에서 timeSleep -> 출금 한 건마다 피닝이 감지된다.
+ * - V4 : ReentrantLock 은 가상 스레드를 캐리어에서 내려놓고 기다리므로 피닝이 없다.
+ */
+public class PinningDetectorMain {
+
+    public static void main(String[] args) {
+        run(new BankAccountV2(1000));
+        run(new BankAccountV4(1000));
+    }
+
+    private static void run(BankAccount account) {
+        try (PinningDetector detector = PinningDetector.start(Duration.ofMillis(20))) {
+            try (ExecutorService es = ExecutionMode.VIRTUAL.create(0)) {
+                for (int i = 0; i < 3; i++) {
+                    es.execute(new WithdrawTask(account, 100));
+                }
+            }
+            Utils.timeSleep(1000); // JFR 이벤트가 전달될 때까지 잠시 대기
+            Utils.logger(account.getClass().getSimpleName() + " 피닝 횟수: " + detector.getPinnedCount()
+                    + ", 고정 시간: " + detector.getPinnedTime().toMillis() + "ms");
+        }
+    }
+}
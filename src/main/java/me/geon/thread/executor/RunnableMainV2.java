@@ -8,7 +8,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 public class RunnableMainV2 {
     public static void main(String[] args) throws ExecutionException, InterruptedException {
-        ExecutorService es = Executors.newFixedThreadPool(1);
+        ExecutorService es = ExecutionMode.newExecutor(1);
         
         // 결과를 저장할 공유 변수
         AtomicInteger result = new AtomicInteger();
@@ -0,0 +1,34 @@
+package me.geon.thread.executor.adaptive;
+
+import java.time.Duration;
+
+import me.geon.thread.executor.ExecutorUtils;
+import me.geon.thread.executor.RunnableTask;
+
+import static me.geon.thread.Utils.logger;
+import static me.geon.thread.Utils.timeSleep;
+
+/**
+ * 2 ~ 16 스레드 사이에서 대기 시간 50ms 를 목표로 조절
+ * 1. 3초 동안 100ms 짜리 작업을 초당 50개씩 넣는다. (필요한 스레드 수 = 50 x 0.1 = 5)
+ * 2. 이후 3초 동안 아무것도 넣지 않으면 다시 2개로 줄어든다.
+ */
+public class AdaptiveExecutorMain {
+
+    public static void main(String[] args) {
+        AdaptiveThreadPoolExecutor es = AdaptiveThreadPoolExecutor.start(2, 16, Duration.ofMillis(50));
+
+        logger("== 부하 구간 ==");
+        for (int i = 0; i < 150; i++) {
+            es.execute(new RunnableTask("task" + i, 100));
+            timeSleep(20);
+        }
+        ExecutorUtils.printState(es);
+
+        logger("== 한가한 구간 ==");
+        timeSleep(3000);
+        ExecutorUtils.printState(es);
+
+        es.close();
+    }
+}
@@ -0,0 +1,196 @@
+package me.geon.thread.executor.adaptive;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * 작업 대기 시간을 보고 스스로 스레드 수를 조절하는 ThreadPoolExecutor
+ *
+ * ExecutorBasicMain 처럼 new ThreadPoolExecutor(2, 2, ..., new LinkedBlockingDeque<>()) 로 고정하면
+ * IO 작업이 몰릴 때는 큐에서 한참 기다리고, 한가할 때는 스레드가 놀게 된다.
+ *
+ * 제어 방식 (controlPeriod 마다 한 번)
+ * 1. 리틀의 법칙 : 필요한 스레드 수 L = 초당 도착 작업 수(λ) x 작업 하나의 평균 실행 시간(W)
+ * 2. 대기 시간 피드백 : 대기 시간이 목표(targetQueueWait)를 넘고 큐에 작업이 있으면
+ *    L 에 쌓인 작업을 목표 시간 안에 비우는 데 필요한 수를 더한 만큼 늘리고,
+ *    목표의 절반보다 짧고 큐가 비어 있으면 한 개씩 줄인다.
+ * 3. 한 번에 최대 두 배까지만 늘리고, 항상 [minThreads, maxThreads] 범위를 지킨다.
+ *
+ * 큐가 무제한(LinkedBlockingQueue)이라 core 를 넘는 스레드는 생기지 않으므로 core 와 max 를 항상 같게 맞춘다.
+ */
+public class AdaptiveThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private final int minThreads;
+    private final int maxThreads;
+    private final long targetQueueWaitNanos;
+    private final long controlPeriodNanos;
+
+    private final LongAdder arrivals = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder finished = new LongAdder();
+    private final LongAdder execNanos = new LongAdder();
+
+    private final ScheduledExecutorService controller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "adaptive-pool-controller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile PoolSample lastSample;
+
+    private AdaptiveThreadPoolExecutor(int minThreads, int maxThreads, Duration targetQueueWait,
+                                       Duration controlPeriod) {
+        super(minThreads, minThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        if (minThreads <= 0 || maxThreads < minThreads) {
+            throw new IllegalArgumentException("minThreads: " + minThreads + ", maxThreads: " + maxThreads);
+        }
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        this.targetQueueWaitNanos = targetQueueWait.toNanos();
+        this.controlPeriodNanos = controlPeriod.toNanos();
+    }
+
+    public static AdaptiveThreadPoolExecutor start(int minThreads, int maxThreads, Duration targetQueueWait) {
+        return start(minThreads, maxThreads, targetQueueWait, Duration.ofMillis(500));
+    }
+
+    /**
+     * 풀을 만들고 제어 주기를 시작한다.
+     * (생성자에서 this::adjust 를 예약하면 생성이 끝나기 전의 객체가 제어 스레드에 노출되므로, 다 만든 뒤에 예약한다)
+     */
+    public static AdaptiveThreadPoolExecutor start(int minThreads, int maxThreads, Duration targetQueueWait,
+                                                   Duration controlPeriod) {
+        AdaptiveThreadPoolExecutor executor =
+                new AdaptiveThreadPoolExecutor(minThreads, maxThreads, targetQueueWait, controlPeriod);
+        long period = executor.controlPeriodNanos;
+        executor.controller.scheduleAtFixedRate(executor::adjust, period, period, TimeUnit.NANOSECONDS);
+        return executor;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        arrivals.increment();
+        super.execute(new StampedTask(command));
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        if (r instanceof StampedTask task) {
+            task.startedAt = System.nanoTime();
+            waitNanos.add(task.startedAt - task.submittedAt);
+            started.increment();
+        }
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        super.afterExecute(r, t);
+        if (r instanceof StampedTask task) {
+            execNanos.add(System.nanoTime() - task.startedAt);
+            finished.increment();
+        }
+    }
+
+    @Override
+    protected void terminated() {
+        controller.shutdownNow();
+        super.terminated();
+    }
+
+    /**
+     * 마지막 제어 주기에 관측한 값 (아직 한 번도 돌지 않았으면 null)
+     */
+    public PoolSample getLastSample() {
+        return lastSample;
+    }
+
+    private void adjust() {
+        PoolSample sample = sample();
+        lastSample = sample;
+
+        int current = getCorePoolSize();
+        int next = nextPoolSize(current, minThreads, maxThreads, targetQueueWaitNanos, sample);
+        if (next == current) {
+            return;
+        }
+        if (next > current) {
+            // 늘릴 때는 max 를 먼저 올려야 core > max 예외가 나지 않는다.
+            setMaximumPoolSize(next);
+            setCorePoolSize(next);
+        } else {
+            // 줄일 때는 core 를 먼저 내린다. 남는 스레드는 놀고 있을 때 인터럽트되어 종료된다.
+            setCorePoolSize(next);
+            setMaximumPoolSize(next);
+        }
+        logger("[풀 크기 조정] " + current + " -> " + next + " (" + sample + ")");
+    }
+
+    private PoolSample sample() {
+        long arrived = arrivals.sumThenReset();
+        long startedCount = started.sumThenReset();
+        long waited = waitNanos.sumThenReset();
+        long finishedCount = finished.sumThenReset();
+        long executed = execNanos.sumThenReset();
+
+        // 이번 주기에 시작한 작업이 없더라도(모든 스레드가 긴 작업 중) 큐 맨 앞 작업의 나이로 대기를 감지한다.
+        long headAge = 0;
+        if (getQueue().peek() instanceof StampedTask head) {
+            headAge = System.nanoTime() - head.submittedAt;
+        }
+        long avgWait = startedCount == 0 ? 0 : waited / startedCount;
+        long avgExec = finishedCount == 0 ? 0 : executed / finishedCount;
+        double arrivalsPerSecond = arrived * 1_000_000_000.0 / controlPeriodNanos;
+        return new PoolSample(arrivalsPerSecond, Math.max(avgWait, headAge), avgExec, getQueue().size(),
+                getActiveCount());
+    }
+
+    /**
+     * 다음 스레드 수를 계산한다. (상태가 없는 순수 함수)
+     */
+    static int nextPoolSize(int current, int min, int max, long targetQueueWaitNanos, PoolSample sample) {
+        // 리틀의 법칙: 도착률 x 실행 시간 = 동시에 실행 중이어야 하는 작업 수
+        int required = (int) Math.ceil(sample.arrivalsPerSecond() * sample.avgExecNanos() / 1_000_000_000.0);
+
+        int next = current;
+        if (sample.queueWaitNanos() > targetQueueWaitNanos && sample.queueSize() > 0) {
+            // 이미 쌓인 작업을 목표 대기 시간 안에 비우는 데 필요한 스레드도 더한다.
+            int backlog = (int) Math.ceil((double) sample.queueSize() * sample.avgExecNanos() / targetQueueWaitNanos);
+            next = Math.min(current * 2, Math.max(current + 1, required + backlog));
+        } else if (sample.queueWaitNanos() < targetQueueWaitNanos / 2 && sample.queueSize() == 0) {
+            // 한 번에 하나씩만 줄이고, 리틀의 법칙으로 계산한 필요 수보다 20% 여유는 남긴다.
+            int floor = (int) Math.ceil(required * 1.2);
+            next = current > floor ? current - 1 : current;
+        }
+        return Math.max(min, Math.min(max, next));
+    }
+
+    private static final class StampedTask implements Runnable {
+
+        private final Runnable command;
+        private final long submittedAt = System.nanoTime();
+        private long startedAt; // 작업 스레드만 읽고 쓴다.
+
+        private StampedTask(Runnable command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            command.run();
+        }
+
+        @Override
+        public String toString() {
+            return command.toString();
+        }
+    }
+}
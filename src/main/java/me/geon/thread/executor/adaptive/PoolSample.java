@@ -0,0 +1,20 @@
+package me.geon.thread.executor.adaptive;
+
+/**
+ * 제어 주기 한 번 동안 관측한 값
+ *
+ * @param arrivalsPerSecond 초당 제출된 작업 수
+ * @param queueWaitNanos    평균 대기 시간과 큐 맨 앞 작업의 대기 시간 중 큰 값
+ * @param avgExecNanos      평균 실행 시간
+ * @param queueSize         관측 시점의 큐 길이
+ * @param active            관측 시점에 작업 중인 스레드 수
+ */
+public record PoolSample(double arrivalsPerSecond, long queueWaitNanos, long avgExecNanos, int queueSize,
+                         int active) {
+
+    @Override
+    public String toString() {
+        return String.format("도착 %.1f/s, 대기 %dms, 실행 %dms, 큐 %d, 활성 %d",
+                arrivalsPerSecond, queueWaitNanos / 1_000_000, avgExecNanos / 1_000_000, queueSize, active);
+    }
+}
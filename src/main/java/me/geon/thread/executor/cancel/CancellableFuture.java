@@ -0,0 +1,235 @@
+package me.geon.thread.executor.cancel;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * CancellationToken 을 단계(stage)마다 넘겨주는 CompletableFuture
+ *
+ * - 한 체인(supplyAsync -> thenApplyAsync -> ...)의 모든 단계가 같은 토큰을 공유하므로, 마감 시각이 다음 단계로 이어진다.
+ * - 취소되면(cancel(), 마감 초과, 부모 토큰 취소)
+ *   1. 아직 시작하지 않은 단계는 executor 큐에서 꺼내지는 즉시 건너뛴다. (작업 스레드를 바로 돌려준다)
+ *   2. 실행 중인 단계의 작업 스레드를 인터럽트한다. (Utils.timeSleep, Thread.sleep, 블로킹 IO 대기에서 깨어난다)
+ *   3. 결과 future 는 CancellationException 으로 끝난다.
+ * - toCompletableFuture().cancel(...) 을 호출해도 토큰이 취소된다.
+ * - 체인의 단계가 모두 끝나면 토큰의 부모 리스너와 마감 타이머를 푼다. (오래 사는 부모 토큰에 끝난 체인이 쌓이지 않도록)
+ *   끝난 체인에 단계를 더 붙이면 다시 건다.
+ */
+public final class CancellableFuture<T> {
+
+    private final CompletableFuture<T> future;
+    private final Chain chain;
+    private final CancellationToken token;
+
+    /**
+     * chain.stageStarted() 를 호출한 뒤에 만든다.
+     */
+    private CancellableFuture(CompletableFuture<T> future, Chain chain) {
+        this.future = future;
+        this.chain = chain;
+        this.token = chain.token;
+        future.whenComplete((value, error) -> {
+            if (future.isCancelled()) {
+                token.cancel("future.cancel() 호출");
+            }
+            chain.stageFinished();
+        });
+    }
+
+    /**
+     * parent 의 자식 토큰으로 새 체인을 시작한다. (이 체인을 취소해도 parent 는 취소되지 않는다)
+     */
+    public static <T> CancellableFuture<T> supplyAsync(CancellationToken parent, CancellableSupplier<T> task,
+                                                       Executor executor) {
+        return start(parent.child(), task, executor);
+    }
+
+    public static <T> CancellableFuture<T> supplyAsync(Deadline deadline, CancellableSupplier<T> task,
+                                                       Executor executor) {
+        return start(CancellationToken.create(deadline), task, executor);
+    }
+
+    /**
+     * 앞 단계가 성공하면 같은 토큰으로 다음 단계를 실행한다. 앞 단계가 실패/취소되면 실행하지 않는다.
+     */
+    public <R> CancellableFuture<R> thenApplyAsync(CancellableFunction<? super T, ? extends R> fn, Executor executor) {
+        chain.stageStarted(); // 앞 단계가 이미 끝났다면 아래 whenComplete 가 바로 제출하므로, 그 전에 토큰을 다시 건다.
+        CompletableFuture<R> next = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            if (error != null) {
+                next.completeExceptionally(unwrap(error));
+            } else {
+                submit(token, () -> fn.apply(value, token), executor, next);
+            }
+        });
+        return new CancellableFuture<>(next, chain);
+    }
+
+    public boolean cancel() {
+        return token.cancel("cancel() 호출");
+    }
+
+    public CancellationToken token() {
+        return token;
+    }
+
+    public CompletableFuture<T> toCompletableFuture() {
+        return future;
+    }
+
+    public T join() {
+        return future.join();
+    }
+
+    private static <T> CancellableFuture<T> start(CancellationToken token, CancellableSupplier<T> task,
+                                                  Executor executor) {
+        Chain chain = new Chain(token);
+        chain.stageStarted();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        submit(token, () -> task.get(token), executor, result);
+        return new CancellableFuture<>(result, chain);
+    }
+
+    private static <T> void submit(CancellationToken token, Callable<T> body, Executor executor,
+                                   CompletableFuture<T> result) {
+        if (token.isCancelled()) {
+            result.completeExceptionally(token.toException());
+            return;
+        }
+        // 큐에서 기다리는 동안 취소되면 작업 스레드를 기다리지 않고 바로 결과를 확정한다.
+        CancellationToken.Registration pending = token.onCancel(() -> result.completeExceptionally(token.toException()));
+        try {
+            executor.execute(() -> {
+                pending.close();
+                run(token, body, result);
+            });
+        } catch (RejectedExecutionException e) {
+            pending.close();
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static <T> void run(CancellationToken token, Callable<T> body, CompletableFuture<T> result) {
+        if (token.isCancelled() || result.isDone()) {
+            result.completeExceptionally(token.toException());
+            return; // 이미 취소된 작업은 시작하지 않는다.
+        }
+        Interrupter interrupter = new Interrupter(Thread.currentThread());
+        CancellationToken.Registration registration = token.onCancel(interrupter::interrupt);
+        CancellationToken previous = CancellationToken.bind(token);
+        try {
+            result.complete(body.call());
+        } catch (Throwable e) {
+            if (token.isCancelled()) {
+                CancellationException cancelled = token.toException();
+                cancelled.initCause(e);
+                result.completeExceptionally(cancelled);
+            } else {
+                result.completeExceptionally(e);
+            }
+        } finally {
+            registration.close();
+            interrupter.finish();
+            CancellationToken.bind(previous);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * 실행 중인 작업 스레드만 인터럽트한다.
+     * 작업이 끝난 뒤 늦게 인터럽트가 도착해서 같은 풀 스레드의 다음 작업이 깨지는 일이 없도록,
+     * 인터럽트와 종료 처리를 같은 락으로 직렬화하고 종료 시 남은 인터럽트 상태를 지운다.
+     */
+    private static final class Interrupter {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private Thread runner;
+        private boolean interrupted;
+
+        private Interrupter(Thread runner) {
+            this.runner = runner;
+        }
+
+        void interrupt() {
+            lock.lock();
+            try {
+                if (runner != null) {
+                    interrupted = true;
+                    runner.interrupt();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void finish() {
+            lock.lock();
+            try {
+                runner = null;
+                if (interrupted) {
+                    Thread.interrupted(); // 우리가 보낸 인터럽트가 남아 있으면 지운다.
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 한 체인의 단계들이 공유하는 토큰과 아직 끝나지 않은 단계 수
+     * 끝나지 않은 단계가 0 이 되면 토큰을 부모/타이머에서 떼고(detach), 다시 생기면 붙인다(attach).
+     */
+    private static final class Chain {
+
+        private final CancellationToken token;
+        private final ReentrantLock lock = new ReentrantLock();
+        private int pending;
+        private boolean attached = true; // 토큰은 만들어질 때 이미 붙어 있다.
+
+        private Chain(CancellationToken token) {
+            this.token = token;
+        }
+
+        void stageStarted() {
+            lock.lock();
+            try {
+                if (pending++ == 0 && !attached) {
+                    token.attach();
+                    attached = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void stageFinished() {
+            lock.lock();
+            try {
+                if (--pending == 0) {
+                    token.detach();
+                    attached = false;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface CancellableSupplier<T> {
+        T get(CancellationToken token) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface CancellableFunction<T, R> {
+        R apply(T value, CancellationToken token) throws Exception;
+    }
+}
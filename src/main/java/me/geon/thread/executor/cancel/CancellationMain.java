@@ -0,0 +1,71 @@
+package me.geon.thread.executor.cancel;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+import me.geon.thread.executor.CallableTask;
+import me.geon.thread.executor.ExecutionMode;
+
+import static me.geon.thread.Utils.logger;
+import static me.geon.thread.Utils.timeSleep;
+
+/**
+ * 1. FutureCancelMain 과 같은 상황: 3초 뒤 취소하면 작업이 바로 멈추고, 스레드 1개짜리 풀이 다음 작업을 곧바로 실행한다.
+ * 2. 마감 시각 2.5초인 3단계 체인: 3번째 단계 도중 마감되어 CancellationException 으로 끝난다.
+ * 3. 토큰을 모르는 기존 CallableTask(Utils.timeSleep 사용)도 인터럽트로 바로 풀려난다.
+ */
+public class CancellationMain {
+
+    public static void main(String[] args) {
+        ExecutorService es = ExecutionMode.newExecutor(1);
+
+        logger("== 1. cancel() 후 작업 스레드 즉시 반환 ==");
+        CancellableFuture<String> counting = CancellableFuture.supplyAsync(CancellationToken.create(), token -> {
+            for (int i = 0; i < 10; i++) {
+                logger("작업 중: " + i);
+                token.sleep(1000); // 취소되면 바로 깨어나 CancellationException
+            }
+            return "Completed";
+        }, es);
+        CancellableFuture<String> next = CancellableFuture.supplyAsync(CancellationToken.create(),
+                token -> "다음 작업 실행", es);
+        timeSleep(3000);
+        logger("cancel() 호출");
+        counting.cancel();
+        logger("다음 작업 결과: " + next.join());
+        logger("취소된 작업 결과: " + result(counting));
+
+        logger("== 2. 마감 시각이 다음 단계로 이어짐 ==");
+        CancellableFuture<Integer> chain = CancellableFuture.supplyAsync(Deadline.after(Duration.ofMillis(2500)), token -> {
+            token.sleep(1000);
+            logger("1단계 완료, " + token.getDeadline());
+            return 1;
+        }, es).thenApplyAsync((value, token) -> {
+            token.sleep(1000);
+            logger("2단계 완료, " + token.getDeadline());
+            return value + 1;
+        }, es).thenApplyAsync((value, token) -> {
+            token.sleep(1000);
+            logger("3단계 완료 (출력되지 않아야 함)");
+            return value + 1;
+        }, es);
+        logger("체인 결과: " + result(chain));
+
+        logger("== 3. 토큰을 모르는 CallableTask 도 인터럽트로 풀려남 ==");
+        CancellableFuture<Integer> legacy = CancellableFuture.supplyAsync(
+                Deadline.after(Duration.ofMillis(1500)), token -> new CallableTask("legacy", 5000).call(), es);
+        logger("CallableTask 결과: " + result(legacy));
+
+        es.close();
+    }
+
+    private static String result(CancellableFuture<?> future) {
+        try {
+            return String.valueOf(future.join());
+        } catch (CompletionException | java.util.concurrent.CancellationException e) {
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        }
+    }
+}
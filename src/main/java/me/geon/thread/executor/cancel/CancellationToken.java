@@ -0,0 +1,286 @@
+package me.geon.thread.executor.cancel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 협력적 취소 신호
+ *
+ * FutureCancelMain 처럼 future.cancel(false) 를 해도 작업은 끝까지 돈다. 작업이 스스로 멈추려면 취소 여부를 물어봐야 한다.
+ * - isCancelled() / throwIfCancelled() : volatile 읽기 한 번이므로 반복문 안에서 매번 불러도 된다.
+ * - sleep() : 취소되면 즉시 깨어나는 sleep. (Thread.sleep 과 달리 인터럽트 없이도 깨어난다)
+ * - 마감 시각(Deadline)이 있으면 그 시각에 타이머가 자동으로 취소한다.
+ * - child() 로 만든 토큰은 부모가 취소되면 함께 취소된다. (반대로 자식 취소는 부모에 영향이 없다)
+ * - onCancel() 로 취소 시 실행할 동작을 등록할 수 있다. (예: 작업 스레드 인터럽트)
+ */
+public final class CancellationToken {
+
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+    private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+    private static final CancellationToken NONE = new CancellationToken(null, null);
+
+    private final CancellationToken parent;
+    private final Deadline deadline;
+    private final ReentrantLock lock = new ReentrantLock(); // 리스너 등록/취소 실행에만 사용 (조회에는 사용하지 않는다)
+    private final List<Runnable> listeners = new ArrayList<>();
+    private volatile Registration parentRegistration;
+    private volatile String reason; // null 이면 취소되지 않은 상태
+    private volatile ScheduledFuture<?> timer;
+
+    private CancellationToken(CancellationToken parent, Deadline deadline) {
+        this.parent = parent;
+        this.deadline = deadline;
+        if (deadline != null && deadline.remainingNanos() <= 0) {
+            reason = "마감 시각 초과";
+        }
+        attach();
+    }
+
+    public static CancellationToken create() {
+        return new CancellationToken(null, null);
+    }
+
+    public static CancellationToken create(Deadline deadline) {
+        return new CancellationToken(null, deadline);
+    }
+
+    /**
+     * 취소되지 않는 토큰 (토큰이 필요 없는 곳에 넘긴다)
+     */
+    public static CancellationToken none() {
+        return NONE;
+    }
+
+    /**
+     * 현재 스레드에서 실행 중인 CancellableFuture 작업의 토큰. 없으면 none().
+     * CallableTask 처럼 토큰을 인자로 받지 않는 기존 작업도 이 메서드로 취소 여부를 확인할 수 있다.
+     */
+    public static CancellationToken current() {
+        CancellationToken token = CURRENT.get();
+        return token == null ? NONE : token;
+    }
+
+    /**
+     * 부모의 취소와 마감 시각을 물려받는 자식 토큰
+     */
+    public CancellationToken child() {
+        return new CancellationToken(this, deadline);
+    }
+
+    /**
+     * 부모의 마감 시각과 deadline 중 더 이른 시각을 마감으로 하는 자식 토큰
+     */
+    public CancellationToken child(Deadline deadline) {
+        return new CancellationToken(this, deadline.min(this.deadline));
+    }
+
+    public boolean cancel() {
+        return cancel("cancel() 호출");
+    }
+
+    /**
+     * @return 이번 호출로 취소되었으면 true, 이미 취소된 상태였으면 false
+     */
+    public boolean cancel(String reason) {
+        if (this == NONE) {
+            return false;
+        }
+        List<Runnable> toRun;
+        lock.lock();
+        try {
+            if (this.reason != null) {
+                return false;
+            }
+            this.reason = reason;
+            toRun = new ArrayList<>(listeners);
+            listeners.clear();
+        } finally {
+            lock.unlock();
+        }
+        detach();
+        for (Runnable listener : toRun) {
+            listener.run();
+        }
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return reason != null;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void throwIfCancelled() {
+        String cancelled = reason;
+        if (cancelled != null) {
+            throw new CancellationException(cancelled);
+        }
+    }
+
+    /**
+     * 마감 시각 (없으면 null)
+     */
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * 최대 millis 동안 잠든다. 그 사이 취소되면 바로 깨어나 CancellationException 을 던진다.
+     * 인터럽트는 Utils.timeSleep 과 같이 RuntimeException 으로 감싸서 던진다. (인터럽트 상태는 유지)
+     */
+    public void sleep(long millis) {
+        throwIfCancelled();
+        Thread waiter = Thread.currentThread();
+        Registration registration = onCancel(() -> LockSupport.unpark(waiter));
+        try {
+            long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+            long remaining;
+            while (!isCancelled() && (remaining = deadlineNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, remaining);
+                if (waiter.isInterrupted()) {
+                    throw new RuntimeException(new InterruptedException("sleep 중 인터럽트 발생"));
+                }
+            }
+        } finally {
+            registration.close();
+        }
+        throwIfCancelled();
+    }
+
+    /**
+     * 취소될 때 한 번 실행할 동작을 등록한다. 이미 취소된 상태면 바로 실행한다.
+     * 더 이상 필요 없으면 반환된 Registration 을 close() 해서 해제한다. (오래 사는 토큰에 리스너가 쌓이지 않도록)
+     */
+    public Registration onCancel(Runnable listener) {
+        if (this == NONE) {
+            return () -> {
+            };
+        }
+        lock.lock();
+        try {
+            if (reason == null) {
+                listeners.add(listener);
+                return () -> remove(listener);
+            }
+        } finally {
+            lock.unlock();
+        }
+        listener.run();
+        return () -> {
+        };
+    }
+
+    /**
+     * 부모 취소 리스너와 마감 타이머를 건다. (생성 시, 그리고 detach() 뒤 토큰을 다시 쓰게 될 때)
+     * 이미 마감 시각이 지났으면 바로 취소한다.
+     */
+    void attach() {
+        if (reason != null) {
+            return;
+        }
+        if (deadline != null && timer == null) {
+            long delay = deadline.remainingNanos();
+            if (delay <= 0) {
+                cancel("마감 시각 초과");
+                return;
+            }
+            timer = TIMER.schedule(() -> cancel("마감 시각 초과"), delay, TimeUnit.NANOSECONDS);
+        }
+        if (parent != null && parentRegistration == null) {
+            parentRegistration = parent.onCancel(() -> cancel(parent.reason));
+            if (reason != null) {
+                detach(); // 등록하는 사이 취소되었다면 방금 건 리스너를 바로 푼다.
+            }
+        }
+    }
+
+    /**
+     * 부모 취소 리스너와 마감 타이머를 푼다. 토큰은 취소되지 않는다.
+     * 이 토큰을 쓰는 작업이 모두 끝났는데 부모가 오래 살면, 풀지 않은 리스너와 타이머가 이 토큰을 붙잡고 있게 된다.
+     */
+    void detach() {
+        Registration registration = parentRegistration;
+        parentRegistration = null;
+        if (registration != null) {
+            registration.close();
+        }
+        ScheduledFuture<?> scheduled = timer;
+        timer = null;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+    }
+
+    int listenerCount() {
+        lock.lock();
+        try {
+            return listeners.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static int scheduledTimers() {
+        return TIMER.getQueue().size();
+    }
+
+    CancellationException toException() {
+        return new CancellationException(reason);
+    }
+
+    /**
+     * 현재 스레드의 토큰을 token 으로 바꾸고, 이전 토큰을 반환한다. (CancellableFuture 가 작업 실행 전후에 사용)
+     */
+    static CancellationToken bind(CancellationToken token) {
+        CancellationToken previous = CURRENT.get();
+        if (token == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(token);
+        }
+        return previous;
+    }
+
+    private void remove(Runnable listener) {
+        lock.lock();
+        try {
+            listeners.remove(listener);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        String cancelled = reason;
+        return "CancellationToken[" + (cancelled == null ? "진행 중" : "취소됨: " + cancelled)
+                + (deadline == null ? "" : ", " + deadline) + "]";
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "cancellation-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true); // 먼저 끝난 작업의 타이머가 큐에 쌓이지 않도록
+        return timer;
+    }
+
+    /**
+     * onCancel() 로 등록한 동작의 해제 핸들
+     */
+    @FunctionalInterface
+    public interface Registration extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
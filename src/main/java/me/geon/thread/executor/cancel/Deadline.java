@@ -0,0 +1,51 @@
+package me.geon.thread.executor.cancel;
+
+import java.time.Duration;
+
+/**
+ * 작업이 끝나야 하는 시각 (System.nanoTime() 기준이라 시스템 시계 변경의 영향을 받지 않는다)
+ */
+public final class Deadline implements Comparable<Deadline> {
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, remainingNanos()));
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * 둘 중 더 이른 마감 시각 (null 은 마감 없음으로 본다)
+     */
+    public Deadline min(Deadline other) {
+        if (other == null) {
+            return this;
+        }
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    @Override
+    public int compareTo(Deadline other) {
+        return Long.compare(deadlineNanos - other.deadlineNanos, 0); // nanoTime 은 넘칠 수 있으므로 차이로 비교
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[남은 시간 " + remaining().toMillis() + "ms]";
+    }
+}
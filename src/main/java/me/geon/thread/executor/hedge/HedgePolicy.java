@@ -0,0 +1,73 @@
+package me.geon.thread.executor.hedge;
+
+import java.time.Duration;
+
+import me.geon.thread.metrics.HistogramSnapshot;
+import me.geon.thread.metrics.RollingLatencyWindow;
+
+/**
+ * 예비 요청(backup)을 언제 보낼지 정하는 정책
+ */
+public interface HedgePolicy {
+
+    /**
+     * 앞선 시도를 이만큼 기다려도 끝나지 않으면 다음 시도를 보낸다.
+     */
+    long hedgeDelayNanos();
+
+    /**
+     * 성공한 시도 하나가 걸린 시간 (적응형 정책이 지연 시간을 배우는 데 사용)
+     * 예비 시도가 이겨서 첫 시도가 취소되면, 첫 시도가 그때까지 걸린 시간(실제 지연 시간의 하한)도 기록된다.
+     */
+    default void record(long latencyNanos) {
+    }
+
+    static HedgePolicy fixed(Duration delay) {
+        long nanos = delay.toNanos();
+        return () -> nanos;
+    }
+
+    /**
+     * 최근 1분 동안 관측한 지연 시간의 percentile 값만큼 기다린다. (예: 95 -> 느린 5% 요청에만 예비 요청)
+     * 표본이 minSamples 개보다 적으면 initialDelay 를 사용한다.
+     */
+    static HedgePolicy percentile(double percentile, Duration initialDelay, int minSamples) {
+        return new PercentilePolicy(percentile, initialDelay.toNanos(), minSamples);
+    }
+
+    final class PercentilePolicy implements HedgePolicy {
+
+        private static final long REFRESH_NANOS = 100_000_000L; // 100ms 마다 백분위를 다시 계산
+
+        private final double percentile;
+        private final long initialDelayNanos;
+        private final int minSamples;
+        private final RollingLatencyWindow window = new RollingLatencyWindow(Duration.ofMinutes(1), 12);
+
+        private volatile long cachedDelay;
+        private volatile long cachedAt = System.nanoTime() - REFRESH_NANOS;
+
+        private PercentilePolicy(double percentile, long initialDelayNanos, int minSamples) {
+            this.percentile = percentile;
+            this.initialDelayNanos = initialDelayNanos;
+            this.minSamples = minSamples;
+            this.cachedDelay = initialDelayNanos;
+        }
+
+        @Override
+        public long hedgeDelayNanos() {
+            long now = System.nanoTime();
+            if (now - cachedAt >= REFRESH_NANOS) {
+                HistogramSnapshot snapshot = window.snapshot();
+                cachedDelay = snapshot.count() < minSamples ? initialDelayNanos : snapshot.percentile(percentile);
+                cachedAt = now;
+            }
+            return cachedDelay;
+        }
+
+        @Override
+        public void record(long latencyNanos) {
+            window.record(latencyNanos);
+        }
+    }
+}
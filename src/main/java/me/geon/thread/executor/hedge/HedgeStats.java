@@ -0,0 +1,43 @@
+package me.geon.thread.executor.hedge;
+
+import me.geon.thread.metrics.HistogramSnapshot;
+
+/**
+ * HedgedExecutor 의 누적 통계
+ *
+ * @param invocations   invoke() 호출 수
+ * @param attempts      실제로 실행을 시작한 시도 수 (첫 시도 + 예비 시도)
+ * @param hedged        예비 시도를 한 번 이상 보낸 호출 수
+ * @param backupWins    예비 시도가 먼저 끝나서 결과로 쓰인 호출 수
+ * @param failures      모든 시도가 실패한 호출 수
+ * @param latency       invoke() 호출부터 결과를 받을 때까지 걸린 시간 분포
+ */
+public record HedgeStats(long invocations, long attempts, long hedged, long backupWins, long failures,
+                         HistogramSnapshot latency) {
+
+    /**
+     * 예비 시도를 보낸 호출 중 예비 시도가 이긴 비율 (낮으면 hedge 지연이 너무 짧다는 뜻)
+     */
+    public double hedgeWinRate() {
+        return hedged == 0 ? 0 : (double) backupWins / hedged;
+    }
+
+    /**
+     * 호출 한 번당 평균 시도 수 (invokeAny 에 작업 3개를 넘기면 항상 3.0)
+     */
+    public double loadFactor() {
+        return invocations == 0 ? 0 : (double) attempts / invocations;
+    }
+
+    @Override
+    public String toString() {
+        return "invocations=" + invocations
+                + ", hedged=" + hedged
+                + String.format(" (%.1f%%)", invocations == 0 ? 0 : hedged * 100.0 / invocations)
+                + ", backupWins=" + backupWins
+                + String.format(", hedgeWinRate=%.1f%%", hedgeWinRate() * 100)
+                + String.format(", loadFactor=%.2f", loadFactor())
+                + ", failures=" + failures
+                + "\n  latency: " + latency;
+    }
+}
@@ -0,0 +1,131 @@
+package me.geon.thread.executor.hedge;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import me.geon.thread.metrics.LatencyHistogram;
+
+/**
+ * 예비 요청(hedged request)을 보내는 실행기
+ *
+ * InvokeMain 의 invokeAny() 는 작업을 모두 한꺼번에 시작하므로 부하가 항상 작업 수만큼 늘어난다.
+ * HedgedExecutor 는
+ * 1. 첫 번째 시도만 시작하고,
+ * 2. hedge 지연(예: 최근 p95) 안에 끝나지 않거나 실패하면 다음 시도를 하나 더 보내고,
+ * 3. 가장 먼저 성공한 결과를 반환한 뒤 나머지 시도는 cancel(true) 로 인터럽트한다.
+ * 느린 5% 요청에만 예비 요청이 나가므로 부하는 약 5% 만 늘고, 꼬리 지연 시간(p99)은 크게 줄어든다.
+ */
+public class HedgedExecutor {
+
+    private final ExecutorService executor;
+    private final HedgePolicy policy;
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder backupWins = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public HedgedExecutor(ExecutorService executor, HedgePolicy policy) {
+        this.executor = executor;
+        this.policy = policy;
+    }
+
+    /**
+     * 같은 작업을 최대 maxAttempts 번까지 시도한다.
+     */
+    public <T> T invoke(Callable<T> task, int maxAttempts) throws InterruptedException, ExecutionException {
+        return invoke(Collections.nCopies(maxAttempts, task));
+    }
+
+    /**
+     * tasks 를 순서대로 시도한다. (예: 첫 번째는 주 서버, 두 번째부터는 복제 서버)
+     *
+     * @throws ExecutionException 모든 시도가 실패하면 마지막 실패 원인
+     */
+    public <T> T invoke(List<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+        if (tasks.isEmpty()) {
+            throw new IllegalArgumentException("tasks 가 비어 있습니다.");
+        }
+        invocations.increment();
+        long start = System.nanoTime();
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        long primaryStart = System.nanoTime();
+        try {
+            futures.add(completion.submit(timed(tasks.get(0))));
+            attempts.increment();
+            int finished = 0;
+            while (true) {
+                boolean canHedge = futures.size() < tasks.size();
+                Future<T> done = canHedge
+                        ? completion.poll(policy.hedgeDelayNanos(), TimeUnit.NANOSECONDS)
+                        : completion.take();
+                if (done == null) {
+                    // hedge 지연 안에 아무 시도도 끝나지 않았다 -> 예비 시도 추가
+                    if (futures.size() == 1) {
+                        hedged.increment();
+                    }
+                    futures.add(completion.submit(timed(tasks.get(futures.size()))));
+                    attempts.increment();
+                    continue;
+                }
+                finished++;
+                try {
+                    T result = done.get();
+                    if (done != futures.get(0)) {
+                        backupWins.increment();
+                    }
+                    return result;
+                } catch (ExecutionException e) {
+                    if (finished == tasks.size()) {
+                        failures.increment();
+                        throw e;
+                    }
+                    if (finished == futures.size()) {
+                        // 진행 중인 시도가 없으면 지연 없이 바로 다음 시도를 보낸다.
+                        if (futures.size() == 1) {
+                            hedged.increment();
+                        }
+                        futures.add(completion.submit(timed(tasks.get(futures.size()))));
+                        attempts.increment();
+                    }
+                }
+            }
+        } finally {
+            if (!futures.isEmpty() && futures.get(0).cancel(true)) {
+                // 첫 시도가 끝나기 전에 취소됐다. 실제 지연 시간은 지금까지 걸린 시간 이상이므로 그 하한을 기록한다.
+                // (이긴 시도만 기록하면 느린 요청이 표본에서 빠져, percentile 정책의 hedge 지연이 점점 짧아진다)
+                policy.record(System.nanoTime() - primaryStart);
+            }
+            for (Future<T> future : futures) {
+                future.cancel(true); // 진 시도(loser)는 인터럽트해서 스레드를 돌려받는다.
+            }
+            latency.recordSince(start);
+        }
+    }
+
+    public HedgeStats stats() {
+        return new HedgeStats(invocations.sum(), attempts.sum(), hedged.sum(), backupWins.sum(), failures.sum(),
+                latency.snapshot());
+    }
+
+    private <T> Callable<T> timed(Callable<T> task) {
+        return () -> {
+            long start = System.nanoTime();
+            T result = task.call();
+            policy.record(System.nanoTime() - start); // 성공한 시도 (실패한 시도는 지연 시간을 왜곡하므로 기록하지 않는다)
+            return result;
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package me.geon.thread.executor.hedge;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import me.geon.thread.metrics.LatencyHistogram;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * 보통 10ms, 5% 확률로 300ms 걸리는 요청 300번을 세 가지 방식으로 보낸다.
+ * 1. 단일 요청     : 부하 1.0, p99 ≈ 300ms
+ * 2. invokeAny(3) : 부하 3.0, p99 ≈ 10ms
+ * 3. hedged(p95)  : 부하 ≈ 1.1, p99 ≈ 20ms (p95 만큼 기다린 뒤 예비 요청)
+ */
+public class HedgedMain {
+
+    private static final int REQUESTS = 300;
+
+    public static void main(String[] args) throws Exception {
+        ExecutorService es = Executors.newFixedThreadPool(16);
+        Callable<String> request = HedgedMain::slowSometimes;
+
+        HedgedExecutor single = new HedgedExecutor(es, HedgePolicy.fixed(Duration.ofDays(1)));
+        for (int i = 0; i < REQUESTS; i++) {
+            single.invoke(request, 1);
+        }
+        logger("단일 요청: " + single.stats());
+
+        LatencyHistogram invokeAnyLatency = new LatencyHistogram();
+        for (int i = 0; i < REQUESTS; i++) {
+            long start = System.nanoTime();
+            es.invokeAny(Collections.nCopies(3, request));
+            invokeAnyLatency.recordSince(start);
+        }
+        logger("invokeAny(3): loadFactor=3.00\n  latency: " + invokeAnyLatency.snapshot());
+
+        HedgedExecutor hedged = new HedgedExecutor(es, HedgePolicy.percentile(95, Duration.ofMillis(50), 20));
+        for (int i = 0; i < REQUESTS; i++) {
+            hedged.invoke(request, 3);
+        }
+        logger("hedged(p95): " + hedged.stats());
+
+        es.close();
+    }
+
+    private static String slowSometimes() throws InterruptedException {
+        long millis = ThreadLocalRandom.current().nextInt(100) < 5 ? 300 : 10;
+        Thread.sleep(millis); // 진 시도는 cancel(true) 로 인터럽트되어 여기서 빠져나간다.
+        return "응답(" + millis + "ms)";
+    }
+}
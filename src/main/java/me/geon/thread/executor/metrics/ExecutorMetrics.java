@@ -0,0 +1,45 @@
+package me.geon.thread.executor.metrics;
+
+import java.time.Duration;
+
+import me.geon.thread.metrics.HistogramSnapshot;
+
+/**
+ * InstrumentedExecutorService 의 측정값 스냅샷
+ *
+ * @param name      executor 이름
+ * @param submitted 제출된 작업 수 (누적, 거절 포함)
+ * @param completed 정상 종료한 작업 수 (누적)
+ * @param failed    예외로 끝난 작업 수 (누적, submit() 으로 제출한 작업의 예외는 Future 가 삼키므로 세지 않는다)
+ * @param rejected  거절된 작업 수 (누적)
+ * @param queued    지금 대기 중인 작업 수
+ * @param running   지금 실행 중인 작업 수
+ * @param window    queueWait/execution 분포가 포함하는 최근 시간
+ * @param queueWait 최근 window 동안의 대기 시간 분포
+ * @param execution 최근 window 동안의 실행 시간 분포
+ */
+public record ExecutorMetrics(String name, long submitted, long completed, long failed, long rejected,
+                              long queued, long running, Duration window,
+                              HistogramSnapshot queueWait, HistogramSnapshot execution) {
+
+    /**
+     * 최근 window 동안 초당 끝난 작업 수
+     */
+    public double throughputPerSecond() {
+        return execution.count() * 1_000_000_000.0 / window.toNanos();
+    }
+
+    @Override
+    public String toString() {
+        return name
+                + " submitted=" + submitted
+                + ", completed=" + completed
+                + ", failed=" + failed
+                + ", rejected=" + rejected
+                + ", queued=" + queued
+                + ", running=" + running
+                + String.format(", throughput=%.2f/s (최근 %ds)", throughputPerSecond(), window.toSeconds())
+                + "\n  queueWait: " + queueWait
+                + "\n  execution: " + execution;
+    }
+}
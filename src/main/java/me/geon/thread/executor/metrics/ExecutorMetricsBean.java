@@ -0,0 +1,79 @@
+package me.geon.thread.executor.metrics;
+
+class ExecutorMetricsBean implements ExecutorMetricsMXBean {
+
+    private final InstrumentedExecutorService executor;
+
+    ExecutorMetricsBean(InstrumentedExecutorService executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public long getSubmitted() {
+        return executor.snapshot().submitted();
+    }
+
+    @Override
+    public long getCompleted() {
+        return executor.snapshot().completed();
+    }
+
+    @Override
+    public long getFailed() {
+        return executor.snapshot().failed();
+    }
+
+    @Override
+    public long getRejected() {
+        return executor.snapshot().rejected();
+    }
+
+    @Override
+    public long getQueued() {
+        return executor.snapshot().queued();
+    }
+
+    @Override
+    public long getRunning() {
+        return executor.snapshot().running();
+    }
+
+    @Override
+    public double getThroughputPerSecond() {
+        return executor.snapshot().throughputPerSecond();
+    }
+
+    @Override
+    public double getQueueWaitP50Millis() {
+        return millis(executor.snapshot().queueWait().percentile(50));
+    }
+
+    @Override
+    public double getQueueWaitP99Millis() {
+        return millis(executor.snapshot().queueWait().percentile(99));
+    }
+
+    @Override
+    public double getQueueWaitMaxMillis() {
+        return millis(executor.snapshot().queueWait().max());
+    }
+
+    @Override
+    public double getExecutionP50Millis() {
+        return millis(executor.snapshot().execution().percentile(50));
+    }
+
+    @Override
+    public double getExecutionP99Millis() {
+        return millis(executor.snapshot().execution().percentile(99));
+    }
+
+    @Override
+    public double getExecutionMaxMillis() {
+        return millis(executor.snapshot().execution().max());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
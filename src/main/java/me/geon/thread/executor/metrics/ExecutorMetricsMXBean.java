@@ -0,0 +1,33 @@
+package me.geon.thread.executor.metrics;
+
+/**
+ * JMX 로 노출하는 executor 측정값 (시간 단위: 밀리초, 분포는 최근 window 기준)
+ */
+public interface ExecutorMetricsMXBean {
+
+    long getSubmitted();
+
+    long getCompleted();
+
+    long getFailed();
+
+    long getRejected();
+
+    long getQueued();
+
+    long getRunning();
+
+    double getThroughputPerSecond();
+
+    double getQueueWaitP50Millis();
+
+    double getQueueWaitP99Millis();
+
+    double getQueueWaitMaxMillis();
+
+    double getExecutionP50Millis();
+
+    double getExecutionP99Millis();
+
+    double getExecutionMaxMillis();
+}
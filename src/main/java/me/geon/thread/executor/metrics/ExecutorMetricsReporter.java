@@ -0,0 +1,43 @@
+package me.geon.thread.executor.metrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * 주기적으로 executor 들의 스냅샷을 찍어 내보내는 리포터
+ * - 기본은 Utils.logger 로 출력한다. 다른 곳(파일, 모니터링 시스템)으로 보내려면 Consumer 를 넘긴다.
+ * - 리포터 스레드는 데몬 스레드이므로 close() 를 잊어도 JVM 종료를 막지 않는다.
+ */
+public class ExecutorMetricsReporter implements AutoCloseable {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "executor-metrics-reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ExecutorMetricsReporter(Duration period, List<InstrumentedExecutorService> executors) {
+        this(period, executors, metrics -> logger(metrics));
+    }
+
+    public ExecutorMetricsReporter(Duration period, List<InstrumentedExecutorService> executors,
+                                   Consumer<ExecutorMetrics> sink) {
+        long periodMs = period.toMillis();
+        scheduler.scheduleAtFixedRate(() -> {
+            for (InstrumentedExecutorService executor : executors) {
+                sink.accept(executor.snapshot());
+            }
+        }, periodMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,46 @@
+package me.geon.thread.executor.metrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import me.geon.thread.executor.ExecutorUtils;
+
+import static me.geon.thread.Utils.logger;
+import static me.geon.thread.Utils.timeSleep;
+
+/**
+ * 같은 작업(100ms 짜리 20개)을 세 종류의 executor 에 넣고 대기 시간을 비교한다.
+ * - fixed(2) : 작업이 큐에서 오래 기다린다. (대기 시간 p99 가 약 900ms)
+ * - forkJoin(4) : 스레드가 늘어난 만큼 대기 시간이 줄어든다.
+ * - virtual : 작업마다 스레드가 생기므로 대기 시간이 거의 0 이다.
+ */
+public class InstrumentedExecutorMain {
+
+    public static void main(String[] args) {
+        InstrumentedExecutorService fixed = new InstrumentedExecutorService("fixed", Executors.newFixedThreadPool(2))
+                .registerMBean();
+        InstrumentedExecutorService forkJoin = new InstrumentedExecutorService("forkJoin", new ForkJoinPool(4))
+                .registerMBean();
+        InstrumentedExecutorService virtual = new InstrumentedExecutorService("virtual",
+                Executors.newVirtualThreadPerTaskExecutor()).registerMBean();
+        List<InstrumentedExecutorService> executors = List.of(fixed, forkJoin, virtual);
+
+        ExecutorMetricsReporter reporter = new ExecutorMetricsReporter(Duration.ofMillis(500), executors);
+        try (reporter) {
+            for (InstrumentedExecutorService executor : executors) {
+                for (int i = 0; i < 20; i++) {
+                    executor.submit(() -> timeSleep(100));
+                }
+            }
+            timeSleep(1500);
+        }
+
+        logger("== 최종 상태 ==");
+        for (InstrumentedExecutorService executor : executors) {
+            ExecutorUtils.printState(executor);
+            executor.close();
+        }
+    }
+}
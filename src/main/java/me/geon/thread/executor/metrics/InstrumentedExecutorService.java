@@ -0,0 +1,205 @@
+package me.geon.thread.executor.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import me.geon.thread.metrics.RollingLatencyWindow;
+
+/**
+ * 다른 ExecutorService 를 감싸서 작업별 대기 시간, 실행 시간, 거절 횟수를 측정하는 ExecutorService
+ *
+ * - 대기 시간(queue wait) : execute()/submit() 호출부터 작업 스레드가 run() 을 시작할 때까지
+ * - 실행 시간(execution) : run() 시작부터 끝날 때까지
+ * - 두 값 모두 최근 window(기본 1분) 동안의 분포만 보여주는 RollingLatencyWindow 에 기록한다.
+ *
+ * 모든 작업을 execute() 하나로 받아서 감싸기 때문에 ThreadPoolExecutor, ForkJoinPool,
+ * 가상 스레드 executor(Executors.newVirtualThreadPerTaskExecutor()) 어디에나 사용할 수 있다.
+ * (submit/invokeAll 은 AbstractExecutorService 가 FutureTask 로 만든 뒤 execute() 를 호출한다)
+ */
+public class InstrumentedExecutorService extends AbstractExecutorService {
+
+    private static final Duration DEFAULT_WINDOW = Duration.ofMinutes(1);
+    private static final int DEFAULT_SLICES = 12;
+
+    private final String name;
+    private final ExecutorService delegate;
+
+    private final RollingLatencyWindow queueWait;
+    private final RollingLatencyWindow execution;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    // 넘겼지만 아직 시작하지 않은 작업. 개수만 세면 위임 대상이 조용히 버린 작업을 빼낼 수 없어서 작업 자체를 들고 있는다.
+    private final Set<TimedTask> pending = ConcurrentHashMap.newKeySet();
+    private final LongAdder running = new LongAdder();
+
+    private volatile ObjectName mbeanName;
+
+    public InstrumentedExecutorService(String name, ExecutorService delegate) {
+        this(name, delegate, DEFAULT_WINDOW, DEFAULT_SLICES);
+    }
+
+    public InstrumentedExecutorService(String name, ExecutorService delegate, Duration window, int slices) {
+        this.name = name;
+        this.delegate = delegate;
+        this.queueWait = new RollingLatencyWindow(window, slices);
+        this.execution = new RollingLatencyWindow(window, slices);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        TimedTask task = new TimedTask(command);
+        submitted.increment();
+        pending.add(task);
+        try {
+            delegate.execute(task);
+        } catch (RejectedExecutionException e) {
+            pending.remove(task);
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ExecutorService getDelegate() {
+        return delegate;
+    }
+
+    public ExecutorMetrics snapshot() {
+        return new ExecutorMetrics(name, submitted.sum(), completed.sum(), failed.sum(), rejected.sum(),
+                queued(), running.sum(), queueWait.window(), queueWait.snapshot(), execution.snapshot());
+    }
+
+    /**
+     * 대기 중인 작업 수
+     * - 위임 대상이 종료됐으면 남은 작업은 더 실행되지 않으므로 비운다.
+     *   (ForkJoinPool.shutdownNow() 는 빈 목록을 돌려주고, DiscardPolicy 같은 거절 정책은 작업을 조용히 버린다)
+     */
+    private long queued() {
+        if (!pending.isEmpty() && delegate.isTerminated()) {
+            pending.clear();
+        }
+        return pending.size();
+    }
+
+    /**
+     * JMX 에 "me.geon.thread:type=Executor,name=이름" 으로 등록한다. (jconsole, VisualVM 에서 확인)
+     * shutdown()/shutdownNow()/close() 시 자동으로 해제된다.
+     */
+    public InstrumentedExecutorService registerMBean() {
+        try {
+            ObjectName objectName = new ObjectName("me.geon.thread:type=Executor,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new ExecutorMetricsBean(this), objectName);
+            mbeanName = objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("MBean 등록 실패: " + name, e);
+        }
+        return this;
+    }
+
+    @Override
+    public void shutdown() {
+        unregisterMBean();
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        unregisterMBean();
+        List<Runnable> drained = delegate.shutdownNow();
+        List<Runnable> original = new ArrayList<>(drained.size());
+        for (Runnable runnable : drained) {
+            original.add(runnable instanceof TimedTask task ? task.command : runnable);
+        }
+        // 돌려받지 못한 작업(ForkJoinPool 등)도 더 이상 시작되지 않으므로 모두 대기 목록에서 뺀다.
+        // 이미 꺼내져 막 시작하려던 작업은 run() 에서 remove 가 실패할 뿐 중복으로 빠지지 않는다.
+        pending.clear();
+        return original;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return name + "[" + delegate + "]";
+    }
+
+    private void unregisterMBean() {
+        ObjectName objectName = mbeanName;
+        if (objectName == null) {
+            return;
+        }
+        mbeanName = null;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            // 이미 해제된 경우 등은 무시한다.
+        }
+    }
+
+    private final class TimedTask implements Runnable {
+
+        private final Runnable command;
+        private final long submittedAt = System.nanoTime();
+
+        private TimedTask(Runnable command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            queueWait.record(startedAt - submittedAt);
+            pending.remove(this);
+            running.increment();
+            boolean success = false;
+            try {
+                command.run();
+                success = true;
+            } finally {
+                execution.recordSince(startedAt);
+                running.decrement();
+                (success ? completed : failed).increment();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return command.toString();
+        }
+    }
+}
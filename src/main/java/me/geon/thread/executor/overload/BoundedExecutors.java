@@ -0,0 +1,43 @@
+package me.geon.thread.executor.overload;
+
+import java.time.Duration;
+
+/**
+ * 크기가 정해진 큐를 쓰는 스레드 풀 생성
+ *
+ * Executors.newFixedThreadPool() 은 크기 제한이 없는 LinkedBlockingQueue 를 사용하므로,
+ * 처리 속도보다 작업이 빨리 들어오면 큐가 계속 커지고(힙 증가) 큐 대기 시간도 끝없이 늘어난다.
+ * 여기서 만드는 풀은 큐 크기를 제한하고, 넘치는 작업은 OverloadStrategy 에 따라 처리한다.
+ */
+public abstract class BoundedExecutors {
+
+    // RFC 8289 의 기본값과 같다.
+    public static final Duration DEFAULT_CODEL_TARGET = Duration.ofMillis(5);
+    public static final Duration DEFAULT_CODEL_INTERVAL = Duration.ofMillis(100);
+
+    public static SheddingThreadPoolExecutor newFixedThreadPool(int threads, int capacity, OverloadStrategy strategy) {
+        return switch (strategy) {
+            case CALLER_RUNS -> newCallerRunsPool(threads, capacity);
+            case DROP_OLDEST -> newDropOldestPool(threads, capacity);
+            case CODEL -> newCoDelPool(threads, capacity, DEFAULT_CODEL_TARGET, DEFAULT_CODEL_INTERVAL);
+        };
+    }
+
+    public static SheddingThreadPoolExecutor newCallerRunsPool(int threads, int capacity) {
+        return new SheddingThreadPoolExecutor(threads, new BoundedTaskQueue(capacity), OverloadStrategy.CALLER_RUNS);
+    }
+
+    public static SheddingThreadPoolExecutor newDropOldestPool(int threads, int capacity) {
+        return new SheddingThreadPoolExecutor(threads, new BoundedTaskQueue(capacity), OverloadStrategy.DROP_OLDEST);
+    }
+
+    /**
+     * @param target   허용하는 큐 대기 시간
+     * @param interval 평소 허용하는 최대 대기 시간, 대기 시간이 이 시간 내내 target 을 넘으면 과부하로 본다. (target 보다 커야 한다)
+     */
+    public static SheddingThreadPoolExecutor newCoDelPool(int threads, int capacity, Duration target, Duration interval) {
+        BoundedTaskQueue queue = new BoundedTaskQueue(capacity, new CoDelController(target, interval),
+                SheddingThreadPoolExecutor::discard);
+        return new SheddingThreadPoolExecutor(threads, queue, OverloadStrategy.CODEL);
+    }
+}
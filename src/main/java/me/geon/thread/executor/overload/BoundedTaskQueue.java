@@ -0,0 +1,227 @@
+package me.geon.thread.executor.overload;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import me.geon.thread.bounded.BoundedQueueV8;
+import me.geon.thread.metrics.HistogramSnapshot;
+import me.geon.thread.metrics.LatencyHistogram;
+
+/**
+ * ThreadPoolExecutor 에 넣을 수 있도록 BoundedQueueV8 을 BlockingQueue 로 감싼 작업 큐
+ *
+ * - 크기가 정해져 있으므로, 가득 차면 offer() 가 false 를 반환하고 executor 의 RejectedExecutionHandler 가 호출된다.
+ * - 작업마다 넣은 시각을 함께 저장해서, 꺼낼 때 큐 대기 시간(sojourn time)을 잰다.
+ * - CoDelController 가 있으면 꺼낸 작업이 너무 오래 기다렸을 때 실행하지 않고 버린다. (onDrop 으로 넘김)
+ *
+ * remove(Object) 는 BoundedQueueV8.removeFirst 로 작업이 같은 항목을 지운다.
+ * ThreadPoolExecutor 는 execute() 와 shutdown() 이 겹치면 넣었던 작업을 remove() 로 되돌리고, remove()/purge() 도 이를 사용한다.
+ */
+public class BoundedTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private final BoundedQueueV8<Entry> queue;
+    private final CoDelController codel;
+    private final Consumer<Runnable> onDrop;
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LongAdder droppedBySojourn = new LongAdder();
+
+    private record Entry(Runnable task, long enqueuedNanos) {
+    }
+
+    public BoundedTaskQueue(int capacity) {
+        this(capacity, null, task -> {
+        });
+    }
+
+    /**
+     * @param codel  null 이면 대기 시간으로 버리지 않는다.
+     * @param onDrop 대기 시간 때문에 버린 작업을 받는다. (예: Future 취소)
+     */
+    BoundedTaskQueue(int capacity, CoDelController codel, Consumer<Runnable> onDrop) {
+        this.queue = new BoundedQueueV8<>(capacity);
+        this.codel = codel;
+        this.onDrop = onDrop;
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        return queue.offer(entry(task));
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.offer(entry(task), timeout, unit);
+    }
+
+    /**
+     * BoundedQueueV8.put()/take() 는 InterruptedException 을 RuntimeException 으로 감싸는데,
+     * ThreadPoolExecutor 는 shutdown() 때 쉬고 있는 작업 스레드를 인터럽트하고 InterruptedException 을 기다린다.
+     * 그래서 인터럽트를 그대로 던지는 timeout 버전을 사용한다.
+     */
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        Entry entry = entry(task);
+        while (!queue.offer(entry, Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+            // awaitNanos 가 끝까지 기다린 경우, 다시 기다린다.
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        while (true) {
+            Entry entry = queue.poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            if (entry != null && admit(entry)) {
+                return entry.task();
+            }
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            Entry entry = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (entry == null) {
+                return null;
+            }
+            if (admit(entry)) {
+                return entry.task();
+            }
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            if (admit(entry)) {
+                return entry.task();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 대기 시간 검사 없이 가장 오래된 작업을 꺼낸다. (DROP_OLDEST 에서 버릴 작업을 고를 때 사용)
+     */
+    Runnable pollOldest() {
+        Entry entry = queue.poll();
+        return entry == null ? null : entry.task();
+    }
+
+    @Override
+    public Runnable peek() {
+        Entry entry = queue.peek();
+        return entry == null ? null : entry.task();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> sink) {
+        return drainTo(sink, Integer.MAX_VALUE);
+    }
+
+    /**
+     * shutdownNow() 가 남은 작업을 돌려줄 때 사용한다. 대기 시간으로 버리지 않는다.
+     */
+    @Override
+    public int drainTo(Collection<? super Runnable> sink, int max) {
+        List<Entry> drained = new ArrayList<>();
+        queue.drainTo(drained, max, 0, TimeUnit.NANOSECONDS);
+        for (Entry entry : drained) {
+            sink.add(entry.task());
+        }
+        return drained.size();
+    }
+
+    @Override
+    public boolean remove(Object task) {
+        return task != null && queue.removeFirst(entry -> entry.task() == task);
+    }
+
+    /**
+     * 호출 시점의 복사본을 순회한다. 반복자의 remove() 는 큐에서 그 작업을 지운다. (purge() 가 사용)
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Entry> entries = queue.snapshot();
+        return new Iterator<>() {
+            private int cursor;
+            private Runnable last;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < entries.size();
+            }
+
+            @Override
+            public Runnable next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = entries.get(cursor++).task();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                BoundedTaskQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    public int capacity() {
+        return queue.capacity();
+    }
+
+    /**
+     * 실행하러 꺼내진 작업들의 큐 대기 시간 분포 (버린 작업은 제외)
+     */
+    public HistogramSnapshot queueWait() {
+        return queueWait.snapshot();
+    }
+
+    public long droppedBySojourn() {
+        return droppedBySojourn.sum();
+    }
+
+    private boolean admit(Entry entry) {
+        long now = System.nanoTime();
+        long sojourn = now - entry.enqueuedNanos();
+        if (codel != null && codel.shouldDrop(sojourn, now)) {
+            droppedBySojourn.increment();
+            onDrop.accept(entry.task());
+            return false;
+        }
+        queueWait.record(sojourn);
+        return true;
+    }
+
+    private static Entry entry(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        return new Entry(task, System.nanoTime());
+    }
+}
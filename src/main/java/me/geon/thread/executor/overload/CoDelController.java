@@ -0,0 +1,52 @@
+package me.geon.thread.executor.overload;
+
+import java.time.Duration;
+
+/**
+ * CoDel(Controlled Delay) 방식으로 큐에서 꺼낸 작업을 버릴지 판단한다.
+ *
+ * 큐 길이가 아니라 "작업이 큐에서 기다린 시간(sojourn time)" 을 본다.
+ * - 평소 : interval 보다 오래 기다린 작업만 버린다. 잠깐 몰리는 것(burst)은 그대로 흡수한다.
+ * - 과부하: 대기 시간이 interval 동안 한 번도 target 아래로 내려오지 않았다면 큐가 계속 밀려 있다는 뜻이다.
+ *          이때는 target 보다 오래 기다린 작업을 모두 버려서 큐를 빠르게 비운다.
+ *
+ * RFC 8289 의 제어 법칙(interval / sqrt(버린 수) 간격으로 하나씩 버림)은 패킷 큐용이라,
+ * 처리 속도의 몇 배로 작업이 들어오는 스레드 풀에서는 버리는 속도가 따라가지 못해 큐가 계속 가득 차 있다.
+ * 그래서 판단 기준(interval 동안 target 초과)만 가져오고, 과부하일 때는 target 을 timeout 으로 사용한다.
+ *
+ * 여러 작업 스레드가 꺼낼 때마다 호출하므로 synchronized 로 보호한다. (블로킹 없이 바로 끝난다)
+ */
+class CoDelController {
+
+    private final long targetNanos;
+    private final long intervalNanos;
+
+    private long lastBelowTarget; // 대기 시간이 target 아래였던 마지막 시각
+
+    CoDelController(Duration target, Duration interval) {
+        if (target.isNegative() || target.isZero() || interval.compareTo(target) <= 0) {
+            throw new IllegalArgumentException("target=" + target + ", interval=" + interval);
+        }
+        this.targetNanos = target.toNanos();
+        this.intervalNanos = interval.toNanos();
+        this.lastBelowTarget = System.nanoTime();
+    }
+
+    /**
+     * 큐에서 꺼낸 작업을 버려야 하는지
+     *
+     * @param sojournNanos 꺼낸 작업이 큐에서 기다린 시간
+     * @param now          System.nanoTime()
+     */
+    synchronized boolean shouldDrop(long sojournNanos, long now) {
+        if (sojournNanos < targetNanos) {
+            lastBelowTarget = now;
+            return false;
+        }
+        return isOverloaded(now) || sojournNanos > intervalNanos;
+    }
+
+    synchronized boolean isOverloaded(long now) {
+        return now - lastBelowTarget > intervalNanos;
+    }
+}
@@ -0,0 +1,68 @@
+package me.geon.thread.executor.overload;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import me.geon.thread.executor.ExecutorUtils;
+import me.geon.thread.metrics.LatencyHistogram;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * 처리 속도의 2배로 작업을 3초 동안 넣는다. (스레드 2개 x 10ms 작업 = 초당 200개, 제출은 초당 400개)
+ *
+ * - unbounded   : ExecutorBasicMain 과 같은 LinkedBlockingQueue. 버리는 작업은 없지만 큐가 계속 커지고,
+ *                 마지막 작업은 제출 후 몇 초를 기다린다.
+ * - CALLER_RUNS : 제출하는 쪽이 직접 실행하면서 느려진다. 제출 수가 처리 속도에 맞춰진다.
+ * - DROP_OLDEST : 큐(100개)는 가득 찬 채로 유지되므로 대기 시간은 약 0.5초에서 멈춘다.
+ * - CODEL       : 오래 기다린 작업을 버려서 대기 시간을 interval(100ms) 이하로 유지한다.
+ */
+public class OverloadMain {
+
+    private static final int THREADS = 2;
+    private static final int CAPACITY = 100;
+    private static final long TASK_MILLIS = 10;
+    private static final long SUBMIT_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(2500);
+    private static final long DURATION_NANOS = TimeUnit.SECONDS.toNanos(3);
+
+    public static void main(String[] args) throws InterruptedException {
+        run("unbounded", new ThreadPoolExecutor(THREADS, THREADS, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()));
+        for (OverloadStrategy strategy : OverloadStrategy.values()) {
+            run(strategy.name(), BoundedExecutors.newFixedThreadPool(THREADS, CAPACITY, strategy));
+        }
+    }
+
+    private static void run(String name, ExecutorService es) throws InterruptedException {
+        LatencyHistogram latency = new LatencyHistogram(); // 제출 ~ 실행 완료
+        LongAdder completed = new LongAdder();
+        int submitted = 0;
+        int maxQueued = 0;
+
+        long start = System.nanoTime();
+        long next = start;
+        while (System.nanoTime() - start < DURATION_NANOS) {
+            long submittedAt = System.nanoTime();
+            es.execute(() -> {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(TASK_MILLIS));
+                latency.recordSince(submittedAt);
+                completed.increment();
+            });
+            submitted++;
+            maxQueued = Math.max(maxQueued, ((ThreadPoolExecutor) es).getQueue().size());
+            next += SUBMIT_INTERVAL_NANOS;
+            LockSupport.parkNanos(next - System.nanoTime());
+        }
+        long submitMillis = (System.nanoTime() - start) / 1_000_000;
+        es.shutdown();
+        es.awaitTermination(1, TimeUnit.MINUTES);
+
+        logger("=== " + name + " ===");
+        logger("제출 " + submitted + "개 (" + submitMillis + "ms), 완료 " + completed.sum() + "개, 최대 큐 길이 " + maxQueued);
+        logger("지연(제출~완료): " + latency.snapshot());
+        ExecutorUtils.printState(es);
+    }
+}
@@ -0,0 +1,26 @@
+package me.geon.thread.executor.overload;
+
+/**
+ * 큐가 가득 찼거나 작업이 큐에서 너무 오래 기다렸을 때의 처리 방식
+ */
+public enum OverloadStrategy {
+
+    /**
+     * 큐가 가득 차면 제출한 스레드가 직접 실행한다.
+     * 버리는 작업은 없지만 제출하는 쪽이 느려지므로, 결과적으로 생산 속도가 처리 속도에 맞춰진다.
+     */
+    CALLER_RUNS,
+
+    /**
+     * 큐가 가득 차면 가장 오래 기다린 작업을 버리고 새 작업을 넣는다.
+     * 최신 작업일수록 가치가 있는 경우(시세, 상태 갱신 등)에 맞다.
+     */
+    DROP_OLDEST,
+
+    /**
+     * CoDel(Controlled Delay): 큐에서 꺼낼 때 대기 시간을 보고 버린다. (CoDelController 참고)
+     * 평소에는 interval 보다 오래 기다린 작업만, 대기 시간이 interval 내내 target 을 넘으면 target 보다 오래 기다린 작업을 버린다.
+     * 큐가 가득 차면 새 작업을 버린다.
+     */
+    CODEL
+}
@@ -0,0 +1,33 @@
+package me.geon.thread.executor.overload;
+
+import me.geon.thread.metrics.HistogramSnapshot;
+
+/**
+ * SheddingThreadPoolExecutor 의 과부하 처리 통계
+ *
+ * @param callerRuns       큐가 가득 차서 제출한 스레드가 직접 실행한 작업 수 (CALLER_RUNS)
+ * @param droppedOldest    새 작업에 자리를 내주려고 버린 가장 오래된 작업 수 (DROP_OLDEST)
+ * @param droppedBySojourn 큐에서 너무 오래 기다려서 실행하지 않고 버린 작업 수 (CODEL)
+ * @param rejectedWhenFull 큐가 가득 차서 받지 않은 새 작업 수 (CODEL)
+ * @param queueWait        실행된 작업의 큐 대기 시간 분포
+ */
+public record ShedStats(long callerRuns, long droppedOldest, long droppedBySojourn, long rejectedWhenFull,
+                        HistogramSnapshot queueWait) {
+
+    /**
+     * 실행되지 않고 버려진 작업 수
+     */
+    public long shed() {
+        return droppedOldest + droppedBySojourn + rejectedWhenFull;
+    }
+
+    @Override
+    public String toString() {
+        return "shed=" + shed()
+                + " (droppedOldest=" + droppedOldest
+                + ", droppedBySojourn=" + droppedBySojourn
+                + ", rejectedWhenFull=" + rejectedWhenFull
+                + "), callerRuns=" + callerRuns
+                + "\n  queueWait: " + queueWait;
+    }
+}
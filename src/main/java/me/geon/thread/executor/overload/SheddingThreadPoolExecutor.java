@@ -0,0 +1,74 @@
+package me.geon.thread.executor.overload;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 크기가 정해진 BoundedTaskQueue 와 과부하 처리 방식(OverloadStrategy)을 묶은 고정 크기 스레드 풀
+ *
+ * 작업이 처리 속도보다 빨리 들어와도 큐가 끝없이 커지지 않는다.
+ * 대신 제출한 스레드가 직접 실행하거나(CALLER_RUNS), 작업을 버린다(DROP_OLDEST, CODEL).
+ * 버린 작업이 submit() 으로 받은 Future 라면 취소해서, get() 으로 기다리는 쪽이 영원히 멈추지 않게 한다.
+ *
+ * 생성은 BoundedExecutors 를 사용한다.
+ */
+public class SheddingThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private final OverloadStrategy strategy;
+    private final BoundedTaskQueue queue;
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder droppedOldest = new LongAdder();
+    private final LongAdder rejectedWhenFull = new LongAdder();
+
+    SheddingThreadPoolExecutor(int threads, BoundedTaskQueue queue, OverloadStrategy strategy) {
+        super(threads, threads, 0, TimeUnit.MILLISECONDS, queue);
+        this.strategy = strategy;
+        this.queue = queue;
+        setRejectedExecutionHandler((task, executor) -> onRejected(task));
+    }
+
+    public OverloadStrategy getStrategy() {
+        return strategy;
+    }
+
+    public ShedStats getShedStats() {
+        return new ShedStats(callerRuns.sum(), droppedOldest.sum(), queue.droppedBySojourn(),
+                rejectedWhenFull.sum(), queue.queueWait());
+    }
+
+    private void onRejected(Runnable task) {
+        if (isShutdown()) {
+            throw new RejectedExecutionException("종료된 executor 입니다: " + this);
+        }
+        switch (strategy) {
+            case CALLER_RUNS -> {
+                callerRuns.increment();
+                task.run();
+            }
+            case DROP_OLDEST -> {
+                Runnable oldest = queue.pollOldest();
+                if (oldest != null) {
+                    droppedOldest.increment();
+                    discard(oldest);
+                }
+                execute(task); // 그 사이 다른 스레드가 자리를 차지했다면 다시 이 메서드로 온다.
+            }
+            case CODEL -> {
+                rejectedWhenFull.increment();
+                discard(task);
+            }
+        }
+    }
+
+    /**
+     * 버린 작업을 기다리는 쪽이 있으면 취소로 알린다. (future.get() -> CancellationException)
+     */
+    static void discard(Runnable task) {
+        if (task instanceof Future<?> future) {
+            future.cancel(false);
+        }
+    }
+}
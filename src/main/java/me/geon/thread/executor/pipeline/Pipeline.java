@@ -0,0 +1,99 @@
+package me.geon.thread.executor.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * CompletableFuture 위에 만든 단계(stage)별 파이프라인
+ *
+ * CompletableFutureExample 처럼 입력마다 supplyAsync 를 부르면, 입력이 수천 개일 때
+ * 공용 ForkJoinPool 이 작업으로 넘치고 결과를 기다리는 future 가 힙에 쌓인다.
+ *
+ * Pipeline.from(inputs)
+ *         .mapAsync(8, ioExecutor, this::fetch)            // 순서 유지, 동시에 최대 8개
+ *         .mapAsyncUnordered(4, cpuExecutor, this::parse)  // 끝나는 대로 내보냄, 동시에 최대 4개
+ *         .forEach(this::save);
+ *
+ * - 단계마다 전용 executor 와 동시 실행 한도(maxInFlight)를 둔다.
+ * - 단계 사이는 BoundedQueueV8(크기 = 다음 단계의 maxInFlight)로 연결한다. 아래 단계가 느리면 큐가 차고,
+ *   위 단계(그리고 입력을 읽는 쪽)가 멈춰서 기다린다. (backpressure)
+ *   따라서 메모리에 올라가는 입력/future 수는 단계별 maxInFlight 의 합 정도로 제한된다.
+ * - 어느 단계든 예외가 나면 파이프라인 전체를 멈추고, forEach()/toList() 가 CompletionException 으로 던진다.
+ * - 입력이나 단계 결과로 null 은 허용하지 않는다. (NullPointerException 으로 실패)
+ *
+ * 파이프라인은 불변이며, forEach()/toList() 를 호출할 때 실행된다.
+ */
+public final class Pipeline<T> {
+
+    private final Iterable<?> source;
+    private final List<StageSpec> stages;
+
+    private Pipeline(Iterable<?> source, List<StageSpec> stages) {
+        this.source = source;
+        this.stages = stages;
+    }
+
+    public static <T> Pipeline<T> from(Iterable<? extends T> source) {
+        return new Pipeline<>(source, List.of());
+    }
+
+    /**
+     * 입력 순서대로 결과를 내보내는 비동기 단계 (앞의 결과가 늦으면 뒤의 결과는 기다린다)
+     */
+    public <R> Pipeline<R> mapAsync(int maxInFlight, Executor executor, Function<? super T, ? extends R> fn) {
+        return add(new StageSpec(maxInFlight, executor, fn, true));
+    }
+
+    /**
+     * 끝나는 순서대로 결과를 내보내는 비동기 단계
+     */
+    public <R> Pipeline<R> mapAsyncUnordered(int maxInFlight, Executor executor,
+                                             Function<? super T, ? extends R> fn) {
+        return add(new StageSpec(maxInFlight, executor, fn, false));
+    }
+
+    /**
+     * 파이프라인을 실행하고, 마지막 단계의 결과를 호출 스레드에서 하나씩 처리한다.
+     *
+     * @throws CompletionException 어느 단계든 실패하면 그 원인을 담아서 던진다.
+     */
+    public void forEach(Consumer<? super T> action) {
+        new PipelineRun(source, stages).drain(action);
+    }
+
+    public List<T> toList() {
+        List<T> result = new ArrayList<>();
+        forEach(result::add);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> Pipeline<R> add(StageSpec stage) {
+        if (stage.maxInFlight() <= 0) {
+            throw new IllegalArgumentException("maxInFlight 는 0보다 커야 합니다: " + stage.maxInFlight());
+        }
+        List<StageSpec> next = new ArrayList<>(stages);
+        next.add(stage);
+        return new Pipeline<>(source, Collections.unmodifiableList(next));
+    }
+
+    /**
+     * @param fn 타입은 앞뒤 단계가 맞춰주므로 여기서는 Object 로 다룬다.
+     */
+    record StageSpec(int maxInFlight, Executor executor, Function<?, ?> fn, boolean ordered) {
+
+        @SuppressWarnings("unchecked")
+        Object apply(Object input) {
+            Object result = ((Function<Object, Object>) fn).apply(input);
+            if (result == null) {
+                throw new NullPointerException("단계 함수가 null 을 반환했습니다.");
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package me.geon.thread.executor.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * 입력 10,000개를 두 단계로 처리한다.
+ * 1. fetch : I/O 라고 가정 (5ms sleep), 전용 스레드 8개, 동시에 최대 8개, 순서 유지
+ * 2. parse : CPU 작업이라고 가정, 전용 스레드 2개, 동시에 최대 4개, 끝나는 대로 내보냄
+ *
+ * 입력마다 supplyAsync 를 바로 부르는 방식(CompletableFutureExample)과 달리
+ * - 동시에 실행 중인 작업 수가 단계별 한도를 넘지 않고,
+ * - 공용 ForkJoinPool 에는 작업이 하나도 들어가지 않는다.
+ */
+public class PipelineMain {
+
+    private static final int INPUTS = 10_000;
+
+    public static void main(String[] args) {
+        ExecutorService ioPool = Executors.newFixedThreadPool(8);
+        ExecutorService cpuPool = Executors.newFixedThreadPool(2);
+        InFlight fetching = new InFlight();
+        InFlight parsing = new InFlight();
+        LongAdder consumed = new LongAdder();
+
+        List<Integer> inputs = IntStream.range(0, INPUTS).boxed().toList();
+        long commonPoolSteals = ForkJoinPool.commonPool().getStealCount();
+        long start = System.nanoTime();
+
+        Pipeline.from(inputs)
+                .mapAsync(8, ioPool, i -> fetching.track(() -> fetch(i)))
+                .mapAsyncUnordered(4, cpuPool, s -> parsing.track(() -> parse(s)))
+                .forEach(length -> consumed.increment());
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        logger("처리 수 = " + consumed.sum() + ", 소요 시간 = " + elapsedMillis + "ms");
+        logger("fetch 최대 동시 실행 = " + fetching.max() + ", parse 최대 동시 실행 = " + parsing.max());
+        logger("공용 ForkJoinPool steal 증가 = " + (ForkJoinPool.commonPool().getStealCount() - commonPoolSteals)
+                + ", 공용 풀 스레드 수 = " + ForkJoinPool.commonPool().getPoolSize());
+
+        // 순서 유지 단계만 있으면 입력 순서 그대로 나온다.
+        List<String> ordered = Pipeline.from(List.of(3, 1, 2))
+                .mapAsync(3, ioPool, i -> {
+                    sleep(i * 50L); // 늦게 끝나는 입력이 먼저 있어도
+                    return "item-" + i;
+                })
+                .toList();
+        logger("순서 유지 결과 = " + ordered);
+
+        ioPool.close();
+        cpuPool.close();
+    }
+
+    private static String fetch(int i) {
+        sleep(5);
+        return "payload-" + i;
+    }
+
+    private static int parse(String s) {
+        int hash = 0;
+        for (int r = 0; r < 1_000; r++) {
+            hash = 31 * hash + s.hashCode() + r;
+        }
+        return s.length() + (hash & 0);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 동시에 실행 중인 작업 수의 최대값 기록
+     */
+    private static class InFlight {
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        <R> R track(java.util.function.Supplier<R> body) {
+            max.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                return body.get();
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+
+        int max() {
+            return max.get();
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package me.geon.thread.executor.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import me.geon.thread.bounded.BoundedQueueV8;
+
+/**
+ * Pipeline 한 번의 실행
+ *
+ * 스레드 구성 (모두 가상 스레드, 큐 대기는 BoundedQueueV8 이므로 캐리어를 붙잡지 않는다)
+ * - source      : 입력을 읽어 첫 번째 큐에 넣는다.
+ * - coordinator : 단계마다 하나. 큐에서 꺼내 동시 실행 한도(Semaphore) 안에서 단계 executor 로 제출한다.
+ * - emitter     : 단계마다 하나. 끝난 결과를 다음 큐로 넘긴다. (순서 유지 단계는 제출 순서대로 future 를 기다린다)
+ * 실제 작업(fn)은 단계별 executor 스레드에서 실행된다.
+ * executor 스레드는 큐를 기다리지 않는다. 그래서 여러 단계가 executor 를 공유해도, 다음 큐가 가득 찼다고
+ * executor 스레드가 모두 막혀 뒤 단계 작업이 실행되지 못하는 일이 없다.
+ *
+ * 큐 대기와 순서 유지 단계의 future 대기는 짧은 timeout 으로 반복하면서 실패 여부를 확인한다.
+ * 그래서 한 단계가 실패하면 다른 스레드들은 인터럽트 없이도 곧 대기를 멈추고 끝난다.
+ * 작업이 실패하면 emitter 가 그 결과 차례에 오기 전이라도 바로 실패로 처리하고, 진행 중인 future 를 모두 취소한다.
+ * executor 큐에서 아직 시작하지 않은 작업은 실행되지 않고 건너뛰어진다.
+ * (CompletableFuture.cancel 은 이미 실행 중인 fn 을 인터럽트하지 않으므로, 그 작업은 끝난 뒤 결과가 버려진다)
+ *
+ * poll() 의 null 은 "timeout" 이므로 큐에는 null 이 들어가면 안 된다.
+ * 입력의 null 과 단계 함수가 돌려준 null 은 NullPointerException 으로 파이프라인을 실패시킨다.
+ */
+class PipelineRun {
+
+    private static final Object END = new Object();
+    private static final long POLL_MILLIS = 50;
+
+    // 순서 무시 단계의 completed 큐에 들어가는 값
+    private record Completed(Object result, Throwable error) {
+    }
+
+    private record Submitted(long count) {
+    }
+
+    private final Iterable<?> source;
+    private final List<Pipeline.StageSpec> stages;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet(); // 실패 시 취소할 future
+
+    PipelineRun(Iterable<?> source, List<Pipeline.StageSpec> stages) {
+        this.source = source;
+        this.stages = stages;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> void drain(Consumer<? super T> action) {
+        BoundedQueueV8<Object> last = start();
+        try {
+            Object item;
+            while ((item = take(last)) != END) {
+                action.accept((T) item);
+            }
+        } catch (RuntimeException | Error e) {
+            fail(e);
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                fail(e);
+                break;
+            }
+        }
+        Throwable error = failure.get();
+        if (error != null) {
+            throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+        }
+    }
+
+    private BoundedQueueV8<Object> start() {
+        int firstCapacity = stages.isEmpty() ? 16 : stages.get(0).maxInFlight();
+        BoundedQueueV8<Object> head = new BoundedQueueV8<>(firstCapacity);
+        startThread("pipeline-source", () -> {
+            for (Object item : source) {
+                if (item == null) {
+                    fail(new NullPointerException("입력에 null 이 있습니다."));
+                    return;
+                }
+                if (!put(head, item)) {
+                    return;
+                }
+            }
+            put(head, END);
+        });
+
+        BoundedQueueV8<Object> in = head;
+        for (int i = 0; i < stages.size(); i++) {
+            Pipeline.StageSpec stage = stages.get(i);
+            int outCapacity = i + 1 < stages.size() ? stages.get(i + 1).maxInFlight() : stage.maxInFlight();
+            BoundedQueueV8<Object> out = new BoundedQueueV8<>(outCapacity);
+            if (stage.ordered()) {
+                startOrdered(i, stage, in, out);
+            } else {
+                startUnordered(i, stage, in, out);
+            }
+            in = out;
+        }
+        return in;
+    }
+
+    /**
+     * 순서 유지: coordinator 가 제출한 future 를 같은 순서로 pending 큐에 넣고, emitter 가 순서대로 기다린다.
+     * 동시 실행 한도는 "제출 ~ 다음 큐로 넘김" 까지로 센다. (완료됐지만 아직 못 내보낸 결과도 한도에 포함)
+     */
+    private void startOrdered(int index, Pipeline.StageSpec stage, BoundedQueueV8<Object> in,
+                              BoundedQueueV8<Object> out) {
+        Semaphore permits = new Semaphore(stage.maxInFlight());
+        BoundedQueueV8<Object> pending = new BoundedQueueV8<>(stage.maxInFlight());
+
+        startThread("pipeline-stage-" + index, () -> {
+            Object item;
+            while ((item = take(in)) != END) {
+                if (!acquire(permits)) {
+                    return;
+                }
+                if (!put(pending, submit(stage, item))) {
+                    return;
+                }
+            }
+            put(pending, END);
+        });
+
+        startThread("pipeline-stage-" + index + "-emitter", () -> {
+            Object next;
+            while ((next = take(pending)) != END) {
+                Object result = await((CompletableFuture<?>) next);
+                if (result == END) {
+                    return;
+                }
+                if (!put(out, result)) {
+                    return;
+                }
+                permits.release();
+            }
+            put(out, END);
+        });
+    }
+
+    /**
+     * 순서 무시: executor 스레드는 끝난 결과를 completed 큐에 넣기만 하고(기다리지 않음), emitter 가 끝난 순서대로 다음 큐로 넘긴다.
+     * 동시 실행 한도는 순서 유지와 같이 "제출 ~ 다음 큐로 넘김" 까지로 센다.
+     * 그래서 completed 에는 최대 maxInFlight 개의 결과와 끝 표시(Submitted) 하나만 들어가고, offer 가 실패하지 않는다.
+     */
+    private void startUnordered(int index, Pipeline.StageSpec stage, BoundedQueueV8<Object> in,
+                                BoundedQueueV8<Object> out) {
+        Semaphore permits = new Semaphore(stage.maxInFlight());
+        BoundedQueueV8<Object> completed = new BoundedQueueV8<>(stage.maxInFlight() + 1);
+
+        startThread("pipeline-stage-" + index, () -> {
+            long submitted = 0;
+            Object item;
+            while ((item = take(in)) != END) {
+                if (!acquire(permits)) {
+                    return;
+                }
+                submit(stage, item).whenComplete((result, error) -> {
+                    if (!completed.offer(new Completed(result, error))) {
+                        fail(new IllegalStateException("completed 큐가 가득 찼습니다."));
+                    }
+                });
+                submitted++;
+            }
+            // 진행 중인 작업이 아직 남아 있을 수 있으므로, 몇 개를 제출했는지 알려서 emitter 가 모두 받은 뒤 끝내게 한다.
+            put(completed, new Submitted(submitted));
+        });
+
+        startThread("pipeline-stage-" + index + "-emitter", () -> {
+            long emitted = 0;
+            long total = -1;
+            while (total < 0 || emitted < total) {
+                Object next = take(completed);
+                if (next == END) {
+                    return;
+                }
+                if (next instanceof Submitted end) {
+                    total = end.count();
+                    continue;
+                }
+                Completed done = (Completed) next;
+                if (done.error() != null) {
+                    fail(unwrap(done.error()));
+                    return;
+                }
+                if (!put(out, done.result())) {
+                    return;
+                }
+                permits.release();
+                emitted++;
+            }
+            put(out, END);
+        });
+    }
+
+    private CompletableFuture<Object> submit(Pipeline.StageSpec stage, Object item) {
+        CompletableFuture<Object> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> stage.apply(item), stage.executor());
+        } catch (RuntimeException e) { // RejectedExecutionException 등
+            return CompletableFuture.failedFuture(e);
+        }
+        inFlight.add(future);
+        future.whenComplete((result, error) -> { // 이미 끝났으면 바로 실행된다.
+            inFlight.remove(future);
+            if (error != null) {
+                // 순서 유지 단계의 emitter 는 앞 작업을 기다리는 중일 수 있으므로, 실패는 끝나는 즉시 알린다.
+                fail(unwrap(error));
+            }
+        });
+        if (failed()) {
+            future.cancel(true); // fail() 이 취소 목록을 훑은 뒤에 제출된 경우
+        }
+        return future;
+    }
+
+    private void startThread(String name, Runnable body) {
+        threads.add(Thread.ofVirtual().name(name).start(() -> {
+            try {
+                body.run();
+            } catch (RuntimeException | Error e) {
+                fail(e);
+            }
+        }));
+    }
+
+    private void fail(Throwable error) {
+        if (failure.compareAndSet(null, error)) {
+            for (CompletableFuture<?> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private boolean failed() {
+        return failure.get() != null;
+    }
+
+    /**
+     * @return 실패로 중단되었으면 false
+     */
+    private boolean put(BoundedQueueV8<Object> queue, Object item) {
+        try {
+            while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (failed()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            fail(e);
+            return false;
+        }
+    }
+
+    /**
+     * @return 꺼낸 값, 실패로 중단되었으면 END
+     */
+    private Object take(BoundedQueueV8<Object> queue) {
+        try {
+            Object item;
+            while ((item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                if (failed()) {
+                    return END;
+                }
+            }
+            return item;
+        } catch (InterruptedException e) {
+            fail(e);
+            return END;
+        }
+    }
+
+    /**
+     * @return future 의 결과, 실패로 중단되었으면 END
+     */
+    private Object await(CompletableFuture<?> future) {
+        try {
+            while (true) {
+                try {
+                    return future.get(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    if (failed()) {
+                        return END;
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            fail(e.getCause() == null ? e : e.getCause());
+            return END;
+        } catch (CancellationException e) { // 다른 단계가 실패해서 fail() 이 취소했다.
+            fail(e);
+            return END;
+        } catch (InterruptedException e) {
+            fail(e);
+            return END;
+        }
+    }
+
+    private boolean acquire(Semaphore permits) {
+        try {
+            while (!permits.tryAcquire(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (failed()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            fail(e);
+            return false;
+        }
+    }
+}
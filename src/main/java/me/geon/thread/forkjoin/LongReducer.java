@@ -0,0 +1,35 @@
+package me.geon.thread.forkjoin;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * long 값을 하나로 합치는 방법 (결합 법칙을 만족해야 한다)
+ *
+ * 구간을 어떻게 나누든 결과가 같으려면 combine(combine(a, b), c) == combine(a, combine(b, c)) 이어야 하고,
+ * identity 는 combine(identity, x) == x 를 만족해야 한다.
+ * 모든 계산을 기본형 long 으로 하므로 Long 박싱이 생기지 않는다.
+ */
+public interface LongReducer {
+
+    LongReducer SUM = of(0, Long::sum);
+    LongReducer MIN = of(Long.MAX_VALUE, Math::min);
+    LongReducer MAX = of(Long.MIN_VALUE, Math::max);
+
+    long identity();
+
+    long combine(long left, long right);
+
+    static LongReducer of(long identity, LongBinaryOperator combiner) {
+        return new LongReducer() {
+            @Override
+            public long identity() {
+                return identity;
+            }
+
+            @Override
+            public long combine(long left, long right) {
+                return combiner.applyAsLong(left, right);
+            }
+        };
+    }
+}
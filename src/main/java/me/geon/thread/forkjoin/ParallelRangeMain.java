@@ -0,0 +1,29 @@
+package me.geon.thread.forkjoin;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * JoinSleep 의 1 ~ 100 합계를 ForkJoinPool 로 계산하고, 큰 구간과 다른 리듀서도 사용해 본다.
+ */
+public class ParallelRangeMain {
+
+    public static void main(String[] args) {
+        ParallelRangeReducer reducer = new ParallelRangeReducer();
+
+        logger("sum(1, 100) = " + reducer.sum(1, 100));
+
+        long n = 2_000_000_000L;
+        long start = System.nanoTime();
+        long sum = reducer.sum(1, n);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger("sum(1, " + n + ") = " + sum + ", 기대값 = " + n * (n + 1) / 2 + ", " + elapsedMs + "ms");
+
+        // (i * 7919) % 1000 의 최솟값/최댓값
+        logger("min = " + reducer.min(1, 1_000_000, i -> (i * 7919) % 1000));
+        logger("max = " + reducer.max(1, 1_000_000, i -> (i * 7919) % 1000));
+
+        // 직접 만든 리듀서: 1 ~ 1,000,000 의 XOR
+        long xor = reducer.reduce(1, 1_000_000, i -> i, LongReducer.of(0, (a, b) -> a ^ b));
+        logger("xor = " + xor);
+    }
+}
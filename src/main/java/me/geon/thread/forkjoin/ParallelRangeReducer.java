@@ -0,0 +1,123 @@
+package me.geon.thread.forkjoin;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * [start, end] 구간의 값들을 ForkJoinPool 로 나누어 합치는 병렬 리듀서
+ *
+ * JoinSleep.Job 은 구간을 직접 두 개로 나누고 스레드 두 개를 만들어 join() 으로 기다렸다.
+ * 여기서는 구간을 작업(task)으로 잘게 나누고, 놀고 있는 워커가 다른 워커의 작업을 훔쳐(work-stealing) 가져가므로
+ * 코어 수만큼 자동으로 퍼진다.
+ *
+ * 나누는 기준
+ * 1. 임계값(threshold) : 구간 길이 / (병렬도 x 8) 보다 짧으면 더 나누지 않는다. (워커당 약 8조각)
+ *    단, 아주 작은 조각은 나누는 비용이 더 크므로 MIN_THRESHOLD 보다 작게는 나누지 않는다.
+ * 2. 여유 작업 수 : 내 큐에 아직 아무도 훔쳐가지 않은 작업이 SURPLUS_LIMIT 개보다 많으면
+ *    다른 워커들도 바쁘다는 뜻이므로 더 나누지 않고 바로 계산한다.
+ *
+ * 결과는 RecursiveTask<Long> 대신 RecursiveAction 의 long 필드에 담아서 박싱 없이 합친다.
+ */
+public class ParallelRangeReducer {
+
+    static final long MIN_THRESHOLD = 1 << 13;
+    private static final int LEAVES_PER_WORKER = 8;
+    private static final int SURPLUS_LIMIT = 3;
+
+    private final ForkJoinPool pool;
+
+    public ParallelRangeReducer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelRangeReducer(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public long sum(long start, long end) {
+        return reduce(start, end, LongUnaryOperator.identity(), LongReducer.SUM);
+    }
+
+    public long min(long start, long end, LongUnaryOperator mapper) {
+        return reduce(start, end, mapper, LongReducer.MIN);
+    }
+
+    public long max(long start, long end, LongUnaryOperator mapper) {
+        return reduce(start, end, mapper, LongReducer.MAX);
+    }
+
+    /**
+     * mapper(start), mapper(start + 1), ..., mapper(end) 를 reducer 로 합친다.
+     *
+     * @param end 포함 (JoinSleep.Job 과 같이 양 끝을 포함한다)
+     */
+    public long reduce(long start, long end, LongUnaryOperator mapper, LongReducer reducer) {
+        if (end < start) {
+            return reducer.identity();
+        }
+        if (end == Long.MAX_VALUE || end - start < 0) {
+            throw new IllegalArgumentException("구간이 너무 큽니다: [" + start + ", " + end + "]");
+        }
+        long size = end - start + 1;
+        long threshold = Math.max(MIN_THRESHOLD, size / ((long) pool.getParallelism() * LEAVES_PER_WORKER));
+        RangeTask task = new RangeTask(start, end + 1, threshold, mapper, reducer);
+        pool.invoke(task);
+        return task.result;
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to; // 미포함
+        private final long threshold;
+        // ForkJoinTask 는 Serializable 이지만 이 작업은 직렬화하지 않는다.
+        private final transient LongUnaryOperator mapper;
+        private final transient LongReducer reducer;
+
+        private long result;
+        private RangeTask next; // 같은 부모가 fork 한 바로 앞(왼쪽) 작업
+
+        private RangeTask(long from, long to, long threshold, LongUnaryOperator mapper, LongReducer reducer) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.mapper = mapper;
+            this.reducer = reducer;
+        }
+
+        @Override
+        protected void compute() {
+            long lo = from;
+            long hi = to;
+            RangeTask forked = null; // 왼쪽 절반을 fork 한 작업들을 연결 리스트로 잡아둔다.
+            // 오른쪽 절반은 직접 계속 나누어 계산하므로, 재귀 깊이만큼 스레드 스택을 쓰지 않는다.
+            while (hi - lo > threshold && getSurplusQueuedTaskCount() <= SURPLUS_LIMIT) {
+                long mid = lo + (hi - lo) / 2; // 음수 구간에서도 넘치지 않도록
+                RangeTask left = new RangeTask(lo, mid, threshold, mapper, reducer);
+                left.next = forked;
+                forked = left;
+                left.fork();
+                lo = mid;
+            }
+
+            long acc = reducer.identity();
+            for (long i = lo; i < hi; i++) {
+                acc = reducer.combine(acc, mapper.applyAsLong(i));
+            }
+
+            while (forked != null) {
+                if (forked.tryUnfork()) {
+                    forked.compute(); // 아무도 훔쳐가지 않았으면 직접 계산한다.
+                } else {
+                    forked.join();
+                }
+                acc = reducer.combine(forked.result, acc); // 왼쪽 + 오른쪽 순서를 지킨다.
+                forked = forked.next;
+            }
+            result = acc;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package me.geon.thread.log;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 비동기 로그 출력
+ * - 호출 스레드는 시간, 스레드 이름, 메시지만 미리 할당된 링 버퍼 슬롯에 기록하고 바로 반환한다.
+ * - 포맷과 출력은 전용 writer 스레드가 모아서(batch) 한 번에 처리한다.
+ * - 따라서 락을 잡은 채로 로그를 남겨도 임계 영역이 System.out 출력 시간만큼 늘어나지 않는다.
+ *
+ * 주의: System.out 에 직접 출력한 내용과는 순서가 섞일 수 있다.
+ *
+ * writer 스레드를 시작해야 하므로 생성자 대신 start() 로 만든다.
+ */
+public class AsyncLogSink implements LogSink {
+
+	private static final int BATCH_SIZE = 256;
+	private static final long IDLE_PARK_NANOS = 10_000_000L; // 10ms
+
+	// 링 버퍼 슬롯: 레코드 객체를 만들지 않고 배열 칸을 재사용한다.
+	private final long[] times;
+	private final String[] threadNames;
+	private final String[] messages;
+	private final AtomicLongArray sequences;
+	private final int mask;
+
+	private final AtomicLong tail = new AtomicLong(); // 생산자(로그 호출 스레드)들이 CAS 로 전진
+	private volatile long head;                      // writer 스레드만 전진
+
+	private final OverflowPolicy policy;
+	private final LongAdder dropped = new LongAdder();
+	private final PrintStream out;
+	private final LogSink fallback = new ConsoleLogSink(); // 닫힌 뒤에 들어온 로그용
+	private final Thread writer;
+	private Thread shutdownHook;
+
+	private volatile boolean running = true;
+	private volatile boolean writerSleeping;
+
+	private AsyncLogSink(int capacity, OverflowPolicy policy, PrintStream out) {
+		if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("capacity는 2 이상의 2의 제곱수여야 합니다: " + capacity);
+		}
+		this.times = new long[capacity];
+		this.threadNames = new String[capacity];
+		this.messages = new String[capacity];
+		this.sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+		this.mask = capacity - 1;
+		this.policy = policy;
+		this.out = out;
+
+		this.writer = new Thread(this::writeLoop, "async-logger");
+		this.writer.setDaemon(true);
+	}
+
+	public static AsyncLogSink start(int capacity, OverflowPolicy policy) {
+		return start(capacity, policy, System.out);
+	}
+
+	public static AsyncLogSink start(int capacity, OverflowPolicy policy, PrintStream out) {
+		AsyncLogSink sink = new AsyncLogSink(capacity, policy, out);
+		sink.writer.start();
+
+		// writer 는 데몬 스레드이므로 JVM 종료 시 남은 로그를 출력하고 끝낸다.
+		sink.shutdownHook = new Thread(sink::stop, "async-logger-shutdown");
+		Runtime.getRuntime().addShutdownHook(sink.shutdownHook);
+		return sink;
+	}
+
+	@Override
+	public void log(Object obj) {
+		if (!running) {
+			fallback.log(obj);
+			return;
+		}
+		long time = CachedClock.currentTimeMillis();
+		String threadName = Thread.currentThread().getName();
+		String message = String.valueOf(obj); // 나중에 포맷하면 그 사이 값이 바뀔 수 있으므로 지금 문자열로 고정
+
+		int attempt = 0;
+		while (true) {
+			long pos = tail.get();
+			int index = (int) pos & mask;
+			long diff = sequences.get(index) - pos;
+			if (diff == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					times[index] = time;
+					threadNames[index] = threadName;
+					messages[index] = message;
+					sequences.set(index, pos + 1); // writer 에게 공개
+					if (writerSleeping) {
+						LockSupport.unpark(writer);
+					}
+					if (!running) {
+						writtenOrFallback(pos, obj);
+					}
+					return;
+				}
+			} else if (diff < 0) {
+				// 버퍼가 가득 참
+				if (policy == OverflowPolicy.DROP) {
+					dropped.increment();
+					return;
+				}
+				if (!running || !writer.isAlive()) {
+					// 닫혔거나 writer 가 죽었으면 버퍼가 비워지지 않으므로, 기다리지 않고 직접 출력한다.
+					fallback.log(obj);
+					return;
+				}
+				LockSupport.unpark(writer);
+				attempt = backoff(attempt);
+			}
+		}
+	}
+
+	@Override
+	public void flush() {
+		long target = tail.get();
+		int attempt = 0;
+		while (head < target && writer.isAlive()) {
+			LockSupport.unpark(writer);
+			attempt = backoff(attempt);
+		}
+	}
+
+	@Override
+	public void close() {
+		stop();
+		try {
+			Runtime.getRuntime().removeShutdownHook(shutdownHook);
+		} catch (IllegalStateException e) {
+			// 이미 종료 중
+		}
+	}
+
+	/**
+	 * running 을 확인한 뒤 stop() 이 불리면, writer 가 이 칸을 보기 전에 끝났을 수 있다.
+	 * writer 가 끝나기를 기다렸다가 이 칸이 출력되지 않았으면 직접 출력한다.
+	 */
+	private void writtenOrFallback(long pos, Object obj) {
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (!writer.isAlive() && head <= pos) {
+			fallback.log(obj);
+		}
+	}
+
+	public long droppedCount() {
+		return dropped.sum();
+	}
+
+	private void stop() {
+		if (!running) {
+			return;
+		}
+		running = false;
+		LockSupport.unpark(writer);
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void writeLoop() {
+		StringBuilder sb = new StringBuilder(BATCH_SIZE * 64);
+		long reportedDrops = 0;
+		while (true) {
+			int written = drain(sb);
+			long drops = dropped.sum();
+			if (drops != reportedDrops) {
+				appendLine(sb, CachedClock.currentTimeMillis(), writer.getName(),
+					"로그 버퍼가 가득 차서 " + (drops - reportedDrops) + "개를 버림");
+				reportedDrops = drops;
+			}
+			if (!sb.isEmpty()) {
+				out.print(sb);
+				out.flush();
+				sb.setLength(0);
+			}
+			if (written > 0) {
+				continue;
+			}
+			if (!running) {
+				// stop() 전에 tail 을 잡은 생산자가 아직 공개하지 않았을 수 있으므로, 잡힌 칸을 모두 출력할 때까지 돈다.
+				if (head == tail.get()) {
+					return;
+				}
+				Thread.onSpinWait();
+				continue;
+			}
+			writerSleeping = true;
+			if (sequences.get((int) head & mask) != head + 1) {
+				LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+			}
+			writerSleeping = false;
+		}
+	}
+
+	private int drain(StringBuilder sb) {
+		int count = 0;
+		long pos = head;
+		while (count < BATCH_SIZE) {
+			int index = (int) pos & mask;
+			if (sequences.get(index) != pos + 1) {
+				break;
+			}
+			appendLine(sb, times[index], threadNames[index], messages[index]);
+			threadNames[index] = null;
+			messages[index] = null;
+			sequences.set(index, pos + mask + 1); // 다음 바퀴의 생산자에게 반납
+			pos++;
+			count++;
+		}
+		head = pos;
+		return count;
+	}
+
+	private void appendLine(StringBuilder sb, long epochMillis, String threadName, String message) {
+		LogLineFormat.appendLine(sb, CachedClock.localMillisOfDay(epochMillis), threadName, message);
+	}
+
+	private static int backoff(int attempt) {
+		if (attempt < 100) {
+			Thread.onSpinWait();
+		} else {
+			LockSupport.parkNanos(100_000L); // 0.1ms
+		}
+		return attempt + 1;
+	}
+}
@@ -0,0 +1,58 @@
+package me.geon.thread.log;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 1ms 마다 갱신되는 거친(coarse) 시계
+ * - 로그를 남길 때마다 LocalTime.now() 로 객체를 만들지 않고, 데몬 스레드가 갱신한 값을 읽기만 한다.
+ * - 시간대 오프셋(서머타임 등)은 1초마다 다시 계산한다.
+ */
+public abstract class CachedClock {
+
+	private static final long TICK_NANOS = 1_000_000L;      // 1ms
+	private static final long OFFSET_REFRESH_MILLIS = 1_000L;
+	private static final long MILLIS_PER_DAY = 86_400_000L;
+
+	private static volatile long millis = System.currentTimeMillis();
+	private static volatile int offsetMillis = currentOffsetMillis();
+
+	static {
+		Thread ticker = new Thread(CachedClock::tick, "cached-clock");
+		ticker.setDaemon(true);
+		ticker.start();
+	}
+
+	public static long currentTimeMillis() {
+		return millis;
+	}
+
+	/**
+	 * 현재 시각을 자정부터 지난 밀리초(로컬 시간 기준)로 반환한다.
+	 */
+	public static long localMillisOfDay() {
+		return localMillisOfDay(millis);
+	}
+
+	public static long localMillisOfDay(long epochMillis) {
+		return Math.floorMod(epochMillis + offsetMillis, MILLIS_PER_DAY);
+	}
+
+	private static void tick() {
+		long lastOffsetRefresh = millis;
+		while (true) {
+			long now = System.currentTimeMillis();
+			millis = now;
+			if (now - lastOffsetRefresh >= OFFSET_REFRESH_MILLIS) {
+				offsetMillis = currentOffsetMillis();
+				lastOffsetRefresh = now;
+			}
+			LockSupport.parkNanos(TICK_NANOS);
+		}
+	}
+
+	private static int currentOffsetMillis() {
+		return ZoneId.systemDefault().getRules().getOffset(Instant.now()).getTotalSeconds() * 1000;
+	}
+}
@@ -0,0 +1,19 @@
+package me.geon.thread.log;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 호출한 스레드에서 바로 포맷하고 System.out 에 출력한다. (기본값)
+ * - System.out 은 synchronized 이므로 여러 스레드가 동시에 로그를 남기면 출력 순서대로 줄을 선다.
+ */
+public class ConsoleLogSink implements LogSink {
+
+	private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+	@Override
+	public void log(Object obj) {
+		String time = LocalTime.now().format(formatter);
+		System.out.printf("%s [%s] %s\n", time, Thread.currentThread().getName(), obj);
+	}
+}
@@ -0,0 +1,55 @@
+package me.geon.thread.log;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 할당 없이 로그 한 줄을 만들어 채널(기본값: stdout 의 FileChannel)에 바로 쓴다.
+ * - 시간: CachedClock (1ms 단위로 캐시된 값)
+ * - 포맷: 스레드마다 재사용하는 StringBuilder 에 직접 쓴다. (printf, varargs 배열 없음)
+ * - 인코딩: 스레드마다 재사용하는 direct ByteBuffer 에 직접 UTF-8 로 쓴다.
+ * 출력 형식은 ConsoleLogSink 와 같다. 메시지를 만드는 문자열 연결("a" + b)은 호출하는 쪽 비용으로 남는다.
+ *
+ * 주의: 가상 스레드마다 버퍼가 하나씩 생기므로 가상 스레드를 대량으로 쓸 때는 AsyncLogSink 가 낫다.
+ */
+public class DirectLogSink implements LogSink {
+
+	private final WritableByteChannel channel;
+	private final ThreadLocal<LineBuffer> buffers = ThreadLocal.withInitial(LineBuffer::new);
+
+	public DirectLogSink() {
+		this(new FileOutputStream(FileDescriptor.out).getChannel());
+	}
+
+	public DirectLogSink(WritableByteChannel channel) {
+		this.channel = channel;
+	}
+
+	@Override
+	public void log(Object obj) {
+		LineBuffer buffer = buffers.get();
+		StringBuilder chars = buffer.chars;
+		chars.setLength(0);
+		CharSequence message = obj instanceof CharSequence cs ? cs : String.valueOf(obj);
+		LogLineFormat.appendLine(chars, CachedClock.localMillisOfDay(), Thread.currentThread().getName(), message);
+
+		ByteBuffer bytes = LogLineFormat.encodeUtf8(chars, buffer.bytes);
+		buffer.bytes = bytes;
+		try {
+			while (bytes.hasRemaining()) {
+				channel.write(bytes);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static final class LineBuffer {
+		final StringBuilder chars = new StringBuilder(256);
+		ByteBuffer bytes = ByteBuffer.allocateDirect(1024);
+	}
+}
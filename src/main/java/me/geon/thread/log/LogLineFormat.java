@@ -0,0 +1,66 @@
+package me.geon.thread.log;
+
+import java.nio.ByteBuffer;
+
+/**
+ * "HH:mm:ss.SSS [스레드 이름] 메시지\n" 형식을 할당 없이 만든다.
+ * - 시간은 DateTimeFormatter 대신 숫자를 직접 자릿수로 쓴다.
+ * - UTF-8 인코딩도 String.getBytes() 대신 재사용하는 ByteBuffer 에 직접 쓴다.
+ */
+public abstract class LogLineFormat {
+
+	public static void appendLine(StringBuilder sb, long millisOfDay, String threadName, CharSequence message) {
+		appendTime(sb, millisOfDay);
+		sb.append(" [").append(threadName).append("] ").append(message).append('\n');
+	}
+
+	static void appendTime(StringBuilder sb, long millisOfDay) {
+		int ms = (int) millisOfDay;
+		append2(sb, ms / 3_600_000);
+		sb.append(':');
+		append2(sb, ms / 60_000 % 60);
+		sb.append(':');
+		append2(sb, ms / 1_000 % 60);
+		sb.append('.');
+		int millis = ms % 1_000;
+		sb.append((char) ('0' + millis / 100)).append((char) ('0' + millis / 10 % 10)).append((char) ('0' + millis % 10));
+	}
+
+	private static void append2(StringBuilder sb, int value) {
+		sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+	}
+
+	/**
+	 * chars 를 UTF-8 로 인코딩해서 buffer 에 쓰고, 읽을 수 있도록 flip 한 버퍼를 반환한다.
+	 * 공간이 부족할 때만 더 큰 direct 버퍼를 새로 만들어 반환하므로 호출한 쪽은 반환값을 보관해야 한다.
+	 */
+	public static ByteBuffer encodeUtf8(CharSequence chars, ByteBuffer buffer) {
+		int length = chars.length();
+		if (buffer.capacity() < length * 3) { // UTF-16 한 글자는 UTF-8 로 최대 3byte (서로게이트 쌍은 2글자에 4byte)
+			buffer = ByteBuffer.allocateDirect(Math.max(length * 3, buffer.capacity() * 2));
+		}
+		buffer.clear();
+		for (int i = 0; i < length; i++) {
+			char c = chars.charAt(i);
+			if (c < 0x80) {
+				buffer.put((byte) c);
+			} else if (c < 0x800) {
+				buffer.put((byte) (0xC0 | c >> 6));
+				buffer.put((byte) (0x80 | c & 0x3F));
+			} else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars.charAt(i + 1))) {
+				int cp = Character.toCodePoint(c, chars.charAt(++i));
+				buffer.put((byte) (0xF0 | cp >> 18));
+				buffer.put((byte) (0x80 | cp >> 12 & 0x3F));
+				buffer.put((byte) (0x80 | cp >> 6 & 0x3F));
+				buffer.put((byte) (0x80 | cp & 0x3F));
+			} else if (Character.isSurrogate(c)) {
+				buffer.put((byte) '?'); // 짝이 맞지 않는 서로게이트
+			} else {
+				buffer.put((byte) (0xE0 | c >> 12));
+				buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+				buffer.put((byte) (0x80 | c & 0x3F));
+			}
+		}
+		return buffer.flip();
+	}
+}
@@ -0,0 +1,20 @@
+package me.geon.thread.log;
+
+/**
+ * Utils.logger() 가 실제로 로그를 내보내는 곳
+ */
+public interface LogSink extends AutoCloseable {
+
+	void log(Object obj);
+
+	/**
+	 * 지금까지 받은 로그를 모두 출력할 때까지 대기한다.
+	 */
+	default void flush() {
+	}
+
+	@Override
+	default void close() {
+		flush();
+	}
+}
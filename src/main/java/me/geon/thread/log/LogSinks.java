@@ -0,0 +1,24 @@
+package me.geon.thread.log;
+
+/**
+ * 시스템 프로퍼티로 LogSink 를 선택한다.
+ * - thread.log          : sync(기본값) | async | direct
+ * - thread.log.capacity : async 버퍼 크기, 2의 제곱수 (기본값 8192)
+ * - thread.log.overflow : async 버퍼가 가득 찼을 때 block(기본값) | drop
+ *
+ * 예) ./gradlew run -Dthread.log=async -Dthread.log.overflow=drop
+ */
+public abstract class LogSinks {
+
+	public static LogSink fromSystemProperties() {
+		String mode = System.getProperty("thread.log", "sync");
+		return switch (mode) {
+			case "sync" -> new ConsoleLogSink();
+			case "async" -> AsyncLogSink.start(
+				Integer.getInteger("thread.log.capacity", 8192),
+				OverflowPolicy.valueOf(System.getProperty("thread.log.overflow", "block").toUpperCase()));
+			case "direct" -> new DirectLogSink();
+			default -> throw new IllegalArgumentException("지원하지 않는 thread.log 값: " + mode);
+		};
+	}
+}
@@ -0,0 +1,15 @@
+package me.geon.thread.log;
+
+/**
+ * 비동기 로그 버퍼가 가득 찼을 때의 동작
+ */
+public enum OverflowPolicy {
+	/**
+	 * 버퍼에 자리가 날 때까지 호출 스레드가 대기한다. (로그 유실 없음)
+	 */
+	BLOCK,
+	/**
+	 * 로그를 버리고 바로 반환한다. (호출 스레드는 절대 대기하지 않음, 버린 개수는 따로 출력)
+	 */
+	DROP
+}
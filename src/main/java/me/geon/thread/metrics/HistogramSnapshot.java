@@ -0,0 +1,115 @@
+package me.geon.thread.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LatencyHistogram 의 특정 시점 복사본 (불변, 단위: 나노초)
+ */
+public final class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long count, long sum, long min, long max) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    public static HistogramSnapshot empty() {
+        return new HistogramSnapshot(new long[LatencyHistogram.BUCKET_COUNT], 0, 0, 0, 0);
+    }
+
+    /**
+     * 두 스냅샷을 합친 새 스냅샷 (예: 시간 구간별 히스토그램을 하나의 윈도우로 합칠 때)
+     */
+    public HistogramSnapshot merge(HistogramSnapshot other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        long[] merged = new long[counts.length];
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] = counts[i] + other.counts[i];
+        }
+        return new HistogramSnapshot(merged, count + other.count, sum + other.sum,
+                Math.min(min, other.min), Math.max(max, other.max));
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long min() {
+        return min;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile 0 ~ 100 (예: 99.9)
+     * @return 해당 백분위 값 (버킷의 중간값이므로 약 3% 오차가 있다)
+     */
+    public long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        double clamped = Math.min(100, Math.max(0, percentile));
+        long rank = Math.max(1, (long) Math.ceil(clamped / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long value = LatencyHistogram.lowestValueAt(i) + LatencyHistogram.widthAt(i) / 2;
+                return Math.min(max, Math.max(min, value));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * threshold 보다 큰 값이 기록된 횟수 (threshold 가 걸친 버킷은 포함하지 않는다)
+     * 예) 락 대기 시간 중 타임아웃의 80%를 넘긴 비율을 보고 타임아웃이 적당한지 판단할 때 사용
+     */
+    public long countAbove(long threshold) {
+        long above = 0;
+        for (int i = LatencyHistogram.indexOf(Math.max(0, threshold)) + 1; i < counts.length; i++) {
+            above += counts[i];
+        }
+        return above;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count
+                + ", mean=" + format((long) mean())
+                + ", p50=" + format(percentile(50))
+                + ", p90=" + format(percentile(90))
+                + ", p99=" + format(percentile(99))
+                + ", p99.9=" + format(percentile(99.9))
+                + ", max=" + format(max);
+    }
+
+    static String format(long nanos) {
+        if (nanos >= TimeUnit.MILLISECONDS.toNanos(1)) {
+            return String.format("%.2fms", nanos / 1_000_000.0);
+        }
+        if (nanos >= TimeUnit.MICROSECONDS.toNanos(1)) {
+            return String.format("%.2fus", nanos / 1_000.0);
+        }
+        return nanos + "ns";
+    }
+}
@@ -0,0 +1,90 @@
+package me.geon.thread.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HdrHistogram 방식의 로그-선형(log-linear) 지연 시간 히스토그램 (단위: 나노초)
+ *
+ * - 2의 거듭제곱 구간마다 32개의 하위 버킷으로 나눈다. 값의 크기와 상관없이 상대 오차가 약 3% 이내로 유지된다.
+ * - 0 ~ Long.MAX_VALUE 를 고정 크기 배열(1888칸) 하나로 표현하므로 record() 는 할당 없이 원자적 증가 한 번으로 끝난다.
+ * - 락을 쓰지 않으므로 여러 스레드가 동시에 record() 해도 된다.
+ *   snapshot() 은 기록 중에 찍으면 count 와 버킷 합이 살짝 어긋날 수 있다. (모니터링 용도로는 충분)
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS; // 32
+    static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        sum.add(value);
+        min.accumulate(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * 시작 시각(System.nanoTime())부터 지금까지 걸린 시간을 기록한다.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        long minValue = total == 0 ? 0 : min.get();
+        return new HistogramSnapshot(copy, total, sum.sum(), minValue, max.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+        min.reset();
+        max.reset();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value; // 0 ~ 31 은 값 그대로
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // floor(log2(value)), 5 이상
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT; // 상위 6비트 중 맨 앞 1을 뺀 나머지 5비트
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * 버킷에 들어갈 수 있는 가장 작은 값
+     */
+    static long lowestValueAt(int index) {
+        int bucket = index >>> SUB_BUCKET_BITS;
+        int subBucket = index & (SUB_BUCKET_COUNT - 1);
+        if (bucket == 0) {
+            return subBucket;
+        }
+        return (long) (SUB_BUCKET_COUNT + subBucket) << (bucket - 1);
+    }
+
+    /**
+     * 버킷의 폭 (같은 버킷으로 취급되는 값의 개수)
+     */
+    static long widthAt(int index) {
+        int bucket = index >>> SUB_BUCKET_BITS;
+        return bucket == 0 ? 1 : 1L << (bucket - 1);
+    }
+}
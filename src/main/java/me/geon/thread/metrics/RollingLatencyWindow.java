@@ -0,0 +1,86 @@
+package me.geon.thread.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 최근 window 동안의 값만 모아 보여주는 히스토그램
+ *
+ * - window 를 sliceCount 개의 구간으로 나누고, 구간마다 LatencyHistogram 을 하나씩 둔다.
+ * - 시간이 한 바퀴 돌아 같은 칸을 다시 쓰게 되면 새 히스토그램으로 CAS 교체한다.
+ *   (기존 히스토그램을 reset() 하면 그 순간 다른 스레드가 기록한 값이 지워지므로 교체 방식을 쓴다)
+ */
+public class RollingLatencyWindow {
+
+    private final long sliceNanos;
+    private final AtomicReference<Slice>[] slices;
+
+    public RollingLatencyWindow(Duration window, int sliceCount) {
+        if (sliceCount <= 0 || window.toNanos() < sliceCount) {
+            throw new IllegalArgumentException("window: " + window + ", sliceCount: " + sliceCount);
+        }
+        this.sliceNanos = window.toNanos() / sliceCount;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        AtomicReference<Slice>[] refs = new AtomicReference[sliceCount];
+        for (int i = 0; i < sliceCount; i++) {
+            refs[i] = new AtomicReference<>(new Slice(Long.MIN_VALUE));
+        }
+        this.slices = refs;
+    }
+
+    public void record(long nanos) {
+        current(System.nanoTime()).record(nanos);
+    }
+
+    public void recordSince(long startNanos) {
+        long now = System.nanoTime();
+        current(now).record(now - startNanos);
+    }
+
+    /**
+     * 최근 window 에 해당하는 구간들을 합친 스냅샷
+     */
+    public HistogramSnapshot snapshot() {
+        long oldest = epochOf(System.nanoTime()) - slices.length;
+        HistogramSnapshot result = HistogramSnapshot.empty();
+        for (AtomicReference<Slice> ref : slices) {
+            Slice slice = ref.get();
+            if (slice.epoch > oldest) {
+                result = result.merge(slice.histogram.snapshot());
+            }
+        }
+        return result;
+    }
+
+    public Duration window() {
+        return Duration.ofNanos(sliceNanos * slices.length);
+    }
+
+    private LatencyHistogram current(long now) {
+        long epoch = epochOf(now);
+        AtomicReference<Slice> ref = slices[(int) Math.floorMod(epoch, (long) slices.length)];
+        while (true) {
+            Slice slice = ref.get();
+            if (slice.epoch >= epoch) {
+                return slice.histogram;
+            }
+            Slice fresh = new Slice(epoch);
+            if (ref.compareAndSet(slice, fresh)) {
+                return fresh.histogram;
+            }
+        }
+    }
+
+    private long epochOf(long nanos) {
+        return Math.floorDiv(nanos, sliceNanos);
+    }
+
+    private static final class Slice {
+        final long epoch;
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        Slice(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package me.geon.thread.monitor;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * ThreadStateSampler 가 그룹별로 모은 결과
+ *
+ * @param group             등록할 때 정한 그룹 이름
+ * @param threads           그룹에 속한 스레드 수
+ * @param samples           모든 스레드의 샘플 수 합계
+ * @param states            상태별 샘플 수
+ * @param blockedCount      등록 이후 모니터 진입을 기다린(BLOCKED) 횟수
+ * @param blockedTimeMillis 그 시간 합계, 경합 모니터링을 지원하지 않으면 -1
+ * @param waitedCount       등록 이후 WAITING/TIMED_WAITING 으로 들어간 횟수 (wait, park, sleep, join)
+ * @param waitedTimeMillis  그 시간 합계, 경합 모니터링을 지원하지 않으면 -1
+ * @param lockOwners        기다리던 락을 가진 스레드 이름별 샘플 수
+ */
+public record ThreadGroupProfile(String group, int threads, long samples, Map<Thread.State, Long> states,
+                                 long blockedCount, long blockedTimeMillis,
+                                 long waitedCount, long waitedTimeMillis,
+                                 Map<String, Long> lockOwners) {
+
+    private static final int TOP_OWNERS = 3;
+
+    /**
+     * 샘플 중 state 였던 비율 (0.0 ~ 1.0)
+     */
+    public double fraction(Thread.State state) {
+        return samples == 0 ? 0 : (double) states.getOrDefault(state, 0L) / samples;
+    }
+
+    /**
+     * WAITING + TIMED_WAITING 비율
+     */
+    public double waitingFraction() {
+        return fraction(Thread.State.WAITING) + fraction(Thread.State.TIMED_WAITING);
+    }
+
+    @Override
+    public String toString() {
+        String owners = lockOwners.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(TOP_OWNERS)
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining(", ", "[", "]"));
+        return group + ": threads=" + threads + ", samples=" + samples
+                + String.format(", RUNNABLE=%.1f%%, BLOCKED=%.1f%%, WAITING=%.1f%%, TIMED_WAITING=%.1f%%",
+                fraction(Thread.State.RUNNABLE) * 100, fraction(Thread.State.BLOCKED) * 100,
+                fraction(Thread.State.WAITING) * 100, fraction(Thread.State.TIMED_WAITING) * 100)
+                + "\n  blocked=" + blockedCount + "회/" + millis(blockedTimeMillis)
+                + ", waited=" + waitedCount + "회/" + millis(waitedTimeMillis)
+                + ", 락 소유자 상위=" + owners;
+    }
+
+    private static String millis(long value) {
+        return value < 0 ? "n/a" : value + "ms";
+    }
+}
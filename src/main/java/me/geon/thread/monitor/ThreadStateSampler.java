@@ -0,0 +1,275 @@
+package me.geon.thread.monitor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 등록한 스레드들의 상태를 주기적으로 찍어서 그룹별로 모으는 샘플러
+ *
+ * ThreadInfo, ThreadState, BoundedMain.printAllState 는 getState() 를 한 번 출력할 뿐이라,
+ * 부하 중에 생산자/소비자가 시간의 몇 %를 BLOCKED, WAITING, RUNNABLE 로 보내는지는 알 수 없다.
+ * 이 샘플러는 프로파일러 없이 그 비율을 보여준다.
+ *
+ * - 데몬 스레드 하나가 period 마다 ThreadMXBean.getThreadInfo(ids, 0) 을 한 번 호출한다.
+ *   스택을 가져오지 않으므로(maxDepth = 0) 스레드 수십 개 기준 한 번에 수십 us 수준이다.
+ * - 스레드별로 상태 횟수, BLOCKED/WAITING 진입 횟수와 시간(등록 이후 증가분), 기다리는 락의 소유자를 모은다.
+ *   진입 시간은 JVM 의 스레드 경합 모니터링이 켜져 있어야 한다. 이 설정은 JVM 전역이므로
+ *   열려 있는 샘플러 수를 static 으로 세어, 처음 열릴 때 켜고 마지막 샘플러가 close() 될 때 원래대로 돌린다.
+ * - 결과는 등록할 때 정한 그룹 이름(예: producer, consumer)별로 합쳐서 ThreadGroupProfile 로 돌려준다.
+ *
+ * ThreadMXBean 은 가상 스레드를 지원하지 않으므로 플랫폼 스레드만 등록할 수 있다.
+ * 이름이 겹치는 me.geon.thread.ThreadInfo 예제가 있으므로 JMX 의 ThreadInfo 는 전체 이름으로 쓴다.
+ */
+public class ThreadStateSampler implements AutoCloseable {
+
+    private static final Thread.State[] STATES = Thread.State.values();
+
+    // 경합 모니터링은 JVM 전역 설정이므로 샘플러끼리 공유한다. (CONTENTION_LOCK 으로 보호)
+    private static final Object CONTENTION_LOCK = new Object();
+    private static int openSamplers;
+    private static boolean contentionMonitoringWasEnabled;
+
+    private final ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Map<Long, Tracked> tracked = new ConcurrentHashMap<>();
+    private final List<String> groupOrder = new ArrayList<>(); // snapshot 을 등록 순서대로 내보내기 위함
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "thread-state-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long rounds;
+    private long samplingNanos;
+
+    private ThreadStateSampler() {
+    }
+
+    /**
+     * 샘플러를 만들고 period 마다 샘플링을 시작한다.
+     * (생성자에서 this::sampleOnce 를 예약하면 생성이 끝나기 전의 객체가 스케줄러 스레드에 노출되므로, 다 만든 뒤에 예약한다)
+     */
+    public static ThreadStateSampler start(Duration period) {
+        ThreadStateSampler sampler = new ThreadStateSampler();
+        sampler.enableContentionMonitoring();
+        long periodNanos = period.toNanos();
+        sampler.scheduler.scheduleAtFixedRate(sampler::sampleOnce, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        return sampler;
+    }
+
+    /**
+     * 스레드가 속한 ThreadGroup 이름으로 등록한다.
+     */
+    public void register(Thread thread) {
+        register(thread.getThreadGroup() == null ? "terminated" : thread.getThreadGroup().getName(), thread);
+    }
+
+    public void register(String group, Collection<? extends Thread> threads) {
+        for (Thread thread : threads) {
+            register(group, thread);
+        }
+    }
+
+    public void register(String group, Thread thread) {
+        if (thread.isVirtual()) {
+            throw new IllegalArgumentException("가상 스레드는 ThreadMXBean 으로 샘플링할 수 없습니다: " + thread);
+        }
+        synchronized (groupOrder) {
+            if (!groupOrder.contains(group)) {
+                groupOrder.add(group);
+            }
+        }
+        tracked.putIfAbsent(thread.threadId(), new Tracked(group, thread.threadId(), thread.getName()));
+    }
+
+    /**
+     * 등록된 스레드를 한 번 샘플링한다. (스케줄러가 period 마다 호출한다)
+     */
+    synchronized void sampleOnce() {
+        long start = System.nanoTime();
+        List<Tracked> live = new ArrayList<>();
+        for (Tracked t : tracked.values()) {
+            if (!t.terminated) {
+                live.add(t);
+            }
+        }
+        long[] ids = new long[live.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = live.get(i).id;
+        }
+        java.lang.management.ThreadInfo[] infos = mxBean.getThreadInfo(ids, 0);
+        for (int i = 0; i < infos.length; i++) {
+            if (infos[i] == null) {
+                live.get(i).terminated = true; // 종료된 스레드는 마지막 값을 유지하고 더 이상 조회하지 않는다.
+            } else {
+                live.get(i).observe(infos[i]);
+            }
+        }
+        rounds++;
+        samplingNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * 지금까지 모은 값을 그룹별로 합친다. (등록 순서)
+     */
+    public synchronized Map<String, ThreadGroupProfile> snapshot() {
+        Map<String, List<Tracked>> byGroup = new LinkedHashMap<>();
+        synchronized (groupOrder) {
+            for (String group : groupOrder) {
+                byGroup.put(group, new ArrayList<>());
+            }
+        }
+        for (Tracked t : tracked.values()) {
+            byGroup.computeIfAbsent(t.group, g -> new ArrayList<>()).add(t);
+        }
+
+        Map<String, ThreadGroupProfile> result = new LinkedHashMap<>();
+        byGroup.forEach((group, members) -> result.put(group, aggregate(group, members)));
+        return result;
+    }
+
+    /**
+     * 샘플링 한 번에 든 평균 시간 (샘플러 자체의 비용)
+     */
+    public synchronized Duration averageSamplingTime() {
+        return Duration.ofNanos(rounds == 0 ? 0 : samplingNanos / rounds);
+    }
+
+    public synchronized long rounds() {
+        return rounds;
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return; // 두 번 닫아도 열린 샘플러 수를 두 번 줄이지 않는다.
+        }
+        scheduler.shutdownNow();
+        synchronized (CONTENTION_LOCK) {
+            openSamplers--;
+            if (openSamplers == 0 && mxBean.isThreadContentionMonitoringSupported()
+                    && !contentionMonitoringWasEnabled) {
+                mxBean.setThreadContentionMonitoringEnabled(false);
+            }
+        }
+    }
+
+    /**
+     * 처음 열리는 샘플러가 원래 설정을 기억해 두고 경합 모니터링을 켠다.
+     */
+    private void enableContentionMonitoring() {
+        synchronized (CONTENTION_LOCK) {
+            if (openSamplers == 0) {
+                contentionMonitoringWasEnabled = mxBean.isThreadContentionMonitoringSupported()
+                        && mxBean.isThreadContentionMonitoringEnabled();
+                if (mxBean.isThreadContentionMonitoringSupported()) {
+                    mxBean.setThreadContentionMonitoringEnabled(true);
+                }
+            }
+            openSamplers++;
+        }
+    }
+
+    private ThreadGroupProfile aggregate(String group, List<Tracked> members) {
+        long samples = 0;
+        long[] states = new long[STATES.length];
+        long blockedCount = 0;
+        long blockedMillis = 0;
+        long waitedCount = 0;
+        long waitedMillis = 0;
+        boolean timesAvailable = mxBean.isThreadContentionMonitoringSupported();
+        Map<String, Long> lockOwners = new HashMap<>();
+        for (Tracked t : members) {
+            samples += t.samples;
+            for (int i = 0; i < states.length; i++) {
+                states[i] += t.states[i];
+            }
+            blockedCount += t.blockedCount;
+            blockedMillis += t.blockedMillis;
+            waitedCount += t.waitedCount;
+            waitedMillis += t.waitedMillis;
+            t.lockOwners.forEach((owner, count) -> lockOwners.merge(owner, count, Long::sum));
+        }
+
+        Map<Thread.State, Long> stateCounts = new EnumMap<>(Thread.State.class);
+        for (int i = 0; i < states.length; i++) {
+            stateCounts.put(STATES[i], states[i]);
+        }
+        return new ThreadGroupProfile(group, members.size(), samples, stateCounts,
+                blockedCount, timesAvailable ? blockedMillis : -1,
+                waitedCount, timesAvailable ? waitedMillis : -1, lockOwners);
+    }
+
+    /**
+     * 스레드 하나의 누적값 (sampleOnce, snapshot 에서만 접근하므로 둘 다 synchronized 로 보호된다)
+     */
+    private static final class Tracked {
+        final String group;
+        final long id;
+        final String name;
+
+        final long[] states = new long[STATES.length];
+        final Map<String, Long> lockOwners = new HashMap<>();
+        long samples;
+        boolean terminated;
+
+        // 처음 관측한 값. ThreadInfo 의 횟수/시간은 스레드 시작부터의 누적이므로 등록 이후 증가분만 센다.
+        boolean first = true;
+        long baseBlockedCount;
+        long baseBlockedMillis;
+        long baseWaitedCount;
+        long baseWaitedMillis;
+
+        long blockedCount;
+        long blockedMillis;
+        long waitedCount;
+        long waitedMillis;
+
+        Tracked(String group, long id, String name) {
+            this.group = group;
+            this.id = id;
+            this.name = name;
+        }
+
+        void observe(java.lang.management.ThreadInfo info) {
+            if (first) {
+                first = false;
+                baseBlockedCount = info.getBlockedCount();
+                baseBlockedMillis = Math.max(0, info.getBlockedTime());
+                baseWaitedCount = info.getWaitedCount();
+                baseWaitedMillis = Math.max(0, info.getWaitedTime());
+            }
+            samples++;
+            states[info.getThreadState().ordinal()]++;
+            blockedCount = info.getBlockedCount() - baseBlockedCount;
+            blockedMillis = Math.max(0, info.getBlockedTime()) - baseBlockedMillis;
+            waitedCount = info.getWaitedCount() - baseWaitedCount;
+            waitedMillis = Math.max(0, info.getWaitedTime()) - baseWaitedMillis;
+
+            // BLOCKED(모니터) 또는 소유자가 있는 락(ReentrantLock 등)에서 park 된 경우에만 소유자가 있다.
+            String owner = info.getLockOwnerName();
+            if (owner != null) {
+                lockOwners.merge(owner, 1L, Long::sum);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name + "#" + id;
+        }
+    }
+}
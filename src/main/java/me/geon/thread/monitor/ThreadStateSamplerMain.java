@@ -0,0 +1,89 @@
+package me.geon.thread.monitor;
+
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import me.geon.thread.Utils;
+import me.geon.thread.bounded.BoundedQueue;
+import me.geon.thread.bounded.BoundedQueueV3;
+import me.geon.thread.bounded.BoundedQueueV5;
+import me.geon.thread.bounded.BoundedQueueV8;
+import me.geon.thread.log.ConsoleLogSink;
+import me.geon.thread.log.DirectLogSink;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * 생산자 3개, 소비자 3개가 크기 2인 큐를 2초 동안 계속 두드릴 때, 각 그룹이 어떤 상태로 시간을 보내는지 샘플링한다.
+ *
+ * - V3 (synchronized + wait/notify) : 모니터 진입 대기(BLOCKED)가 보이고, 락 소유자가 상대편 스레드로 나온다.
+ *                                     notify() 가 같은 편을 깨우면 모두 WAITING 에 멈출 수 있다.
+ * - V5 (ReentrantLock + Condition)  : 락 대기도 park 이므로 BLOCKED 대신 WAITING 으로 보인다.
+ * - V8 (V5 + 락 안에서 로그 없음)     : 상태 비율은 V5 와 비슷하지만, 락을 짧게 잡으므로 같은 시간에 더 많이 주고받는다. (waited 횟수)
+ *
+ * 로그 비용(문자열 생성, 포맷)은 남기고 출력만 버린다. (BoundedQueueBenchmark 와 같은 이유)
+ * 스레드는 데몬이므로, 멈춘 스레드가 있어도 프로그램은 끝난다.
+ */
+public class ThreadStateSamplerMain {
+
+    private static final int PAIRS = 3;
+    private static final long RUN_MILLIS = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        run("V3", new BoundedQueueV3<>(2));
+        run("V5", new BoundedQueueV5<>(2));
+        run("V8", new BoundedQueueV8<>(2));
+    }
+
+    private static void run(String name, BoundedQueue<String> queue) throws InterruptedException {
+        Utils.setLogSink(new DirectLogSink(Channels.newChannel(OutputStream.nullOutputStream())));
+        List<Thread> producers = new ArrayList<>();
+        List<Thread> consumers = new ArrayList<>();
+        try (ThreadStateSampler sampler = ThreadStateSampler.start(Duration.ofMillis(5))) {
+            for (int i = 1; i <= PAIRS; i++) {
+                producers.add(start(name + "-producer" + i, () -> queue.put("data")));
+                consumers.add(start(name + "-consumer" + i, queue::take));
+            }
+            sampler.register("producer", producers);
+            sampler.register("consumer", consumers);
+            Thread.sleep(RUN_MILLIS);
+
+            Map<String, ThreadGroupProfile> profiles = sampler.snapshot();
+            stop(producers);
+            stop(consumers);
+            Utils.setLogSink(new ConsoleLogSink());
+
+            logger("=== " + name + " (" + queue.getClass().getSimpleName() + ") ===");
+            profiles.values().forEach(profile -> logger(profile));
+            logger("샘플링 " + sampler.rounds() + "회, 1회 평균 " + sampler.averageSamplingTime().toNanos() / 1000 + "us");
+        }
+    }
+
+    private static void stop(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        for (Thread thread : threads) {
+            thread.join(100); // V3 처럼 멈춘 스레드도 인터럽트로 깨어나지만, 혹시 남아도 데몬이라 괜찮다.
+        }
+    }
+
+    private static Thread start(String name, Runnable action) {
+        Thread thread = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    action.run();
+                }
+            } catch (RuntimeException e) {
+                // 구현체들은 InterruptedException 을 RuntimeException 으로 감싸서 던진다. 종료 신호로 본다.
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+}
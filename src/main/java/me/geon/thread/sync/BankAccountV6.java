@@ -11,10 +11,18 @@ public class BankAccountV6 implements BankAccount {
 
     private int balance;
 
-    private final Lock lock = new ReentrantLock();
+    private final Lock lock;
 
     public BankAccountV6(int initialBalance) {
+        this(initialBalance, new ReentrantLock());
+    }
+
+    /**
+     * 락 구현을 외부에서 주입한다. (예: InstrumentedLock 으로 감싸서 대기/점유 시간 측정)
+     */
+    public BankAccountV6(int initialBalance, Lock lock) {
         this.balance = initialBalance;
+        this.lock = lock;
     }
 
     @Override
@@ -0,0 +1,86 @@
+package me.geon.thread.sync;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+
+import static me.geon.thread.Utils.logger;
+import static me.geon.thread.Utils.timeSleep;
+
+/**
+ * 락 없이 CAS(compare-and-set) 재시도로 출금하는 계좌
+ * - 출금에 걸리는 시간(1초)은 한 번만 보내고, 그 뒤에 읽은 잔액으로 검증해서 잔액이 그대로일 때만 CAS 로 차감한다.
+ * - 그 사이 다른 스레드가 먼저 출금했다면 CAS 가 실패하고, 바뀐 잔액으로 검증과 CAS 만 다시 한다.
+ *   (1초 작업까지 다시 하면 경합하는 스레드 N 개가 N 초씩 걸려서 락을 쓰는 것보다 나을 게 없다)
+ *   그래서 BankAccountV2 와 마찬가지로 잔액이 음수가 되지 않는다.
+ * - getBalance() 는 volatile 읽기 한 번이라 출금 중에도 대기하지 않는다.
+ * - CAS 재시도 횟수로 경합 정도를 확인할 수 있다.
+ */
+public class BankAccountV7 implements BankAccount {
+
+    private static final VarHandle BALANCE;
+
+    static {
+        try {
+            BALANCE = MethodHandles.lookup().findVarHandle(BankAccountV7.class, "balance", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile int balance;
+
+    private final LongAdder casAttempts = new LongAdder();
+    private final LongAdder casRetries = new LongAdder();
+
+    public BankAccountV7(int initialBalance) {
+        this.balance = initialBalance;
+    }
+
+    @Override
+    public boolean withdraw(int amount) {
+        logger("거래 시작: " + getClass().getSimpleName());
+
+        int current = balance;
+        logger("[검증 시작] 출금액: " + amount + ", 잔액: " + current);
+        if (current < amount) {
+            logger("[검증 실패] 출금액: " + amount + ", 잔액: " + current);
+            return false;
+        }
+        timeSleep(1000); // 출금에 걸리는 시간으로 가정 (락이 없으므로 다른 스레드도 동시에 진행한다)
+
+        while (true) {
+            current = balance;
+            if (current < amount) {
+                logger("[검증 실패] 출금액: " + amount + ", 잔액: " + current);
+                return false;
+            }
+
+            // 잔고가 출금액 보다 많으면, 진행
+            logger("[검증 완료] 출금액: " + amount + ", 잔액: " + current);
+            casAttempts.increment();
+            if (BALANCE.compareAndSet(this, current, current - amount)) {
+                logger("[출금 완료] 출금액: " + amount + ", 잔액: " + (current - amount));
+                break;
+            }
+            casRetries.increment();
+            logger("[CAS 실패] 다른 스레드가 먼저 잔액을 변경함, 다시 검증");
+        }
+
+        logger("거래 종료");
+        return true;
+    }
+
+    @Override
+    public int getBalance() {
+        return balance;
+    }
+
+    public long getCasAttemptCount() {
+        return casAttempts.sum();
+    }
+
+    public long getCasRetryCount() {
+        return casRetries.sum();
+    }
+}
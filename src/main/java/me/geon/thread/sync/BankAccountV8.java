@@ -0,0 +1,267 @@
+package me.geon.thread.sync;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static me.geon.thread.Utils.logger;
+import static me.geon.thread.Utils.timeSleep;
+
+/**
+ * 잔액을 여러 칸(stripe)으로 나눠서 관리하는 계좌
+ * - 스레드는 스레드 ID 로 정해진 자기 stripe 에서만 CAS 로 출금하므로, 하나의 락/모니터에 줄을 서지 않는다.
+ * - 자기 stripe 잔액이 부족하면 이웃 stripe 에서 잔액을 빌려와 모은 뒤 출금한다. (rebalanceLock 사용)
+ * - 각 stripe 는 절대 음수가 되지 않으므로 전체 잔액도 음수가 되지 않는다. (BankAccountV2 와 같은 보장)
+ * - stripe 마다 서로 다른 캐시 라인에 두어 false sharing 을 피한다.
+ *
+ * stripe 값 = (FROZEN 1bit | 버전 31bit) << 32 | 잔액
+ * 버전은 값이 바뀔 때마다 증가하며, getBalance() 가 일관된 스냅샷을 읽었는지 확인하는 데 사용한다.
+ * FROZEN 은 getBalance() 가 스냅샷을 끝내 못 읽었을 때 stripe 를 잠깐 멈춰 두는 표시다.
+ */
+public class BankAccountV8 implements BankAccount {
+
+    private static final int PAD = 16; // long 16개 = 128byte (인접 캐시 라인 prefetch 까지 고려)
+    private static final int MAX_COLLECT_ATTEMPTS = 8; // 두 번 읽기를 이만큼 실패하면 stripe 를 멈추고 읽는다.
+    private static final long FROZEN = Long.MIN_VALUE;  // 최상위 비트
+    private static final int VERSION_MASK = Integer.MAX_VALUE;
+
+    private final int stripes;
+    private final AtomicLongArray cells;
+
+    // 여러 stripe 를 함께 건드리는 작업(빌려오기, 정확한 잔액 합계)끼리만 직렬화한다. 일반 출금은 이 락을 잡지 않는다.
+    private final Lock rebalanceLock = new ReentrantLock();
+
+    public BankAccountV8(int initialBalance) {
+        this(initialBalance, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BankAccountV8(int initialBalance, int stripes) {
+        if (initialBalance < 0 || stripes <= 0) {
+            throw new IllegalArgumentException("initialBalance=" + initialBalance + ", stripes=" + stripes);
+        }
+        this.stripes = stripes;
+        this.cells = new AtomicLongArray(stripes * PAD);
+        int share = initialBalance / stripes;
+        for (int i = 0; i < stripes; i++) {
+            int balance = i == 0 ? share + initialBalance % stripes : share;
+            cells.set(index(i), pack(0, balance));
+        }
+    }
+
+    @Override
+    public boolean withdraw(int amount) {
+        logger("거래 시작: " + getClass().getSimpleName());
+
+        int home = homeStripe();
+        logger("[검증 시작] 출금액: " + amount + ", stripe[" + home + "] 잔액: " + balanceOf(home));
+        timeSleep(1000); // 출금에 걸리는 시간으로 가정 (락이 없으므로 다른 스레드도 동시에 진행한다)
+
+        if (tryDebit(home, amount)) {
+            logger("[출금 완료] 출금액: " + amount + ", stripe[" + home + "] 잔액: " + balanceOf(home));
+            logger("거래 종료");
+            return true;
+        }
+
+        logger("[잔액 부족] stripe[" + home + "] 잔액: " + balanceOf(home) + ", 이웃 stripe 에서 빌려옴");
+        if (!borrowAndDebit(home, amount)) {
+            logger("[검증 실패] 출금액: " + amount + ", 잔액: " + getApproximateBalance());
+            return false;
+        }
+        logger("[출금 완료] 출금액: " + amount + ", stripe[" + home + "] 잔액: " + balanceOf(home));
+        logger("거래 종료");
+        return true;
+    }
+
+    /**
+     * 정확한 잔액
+     * - 빌려오는 중(한 stripe 에서 빼고 다른 stripe 에 아직 넣지 않은 상태)인 돈을 놓치지 않도록 rebalanceLock 을 잡는다.
+     * - 일반 출금은 계속 진행되므로, 모든 stripe 를 두 번 읽어 버전이 같을 때의 합계만 인정한다.
+     * - 출금이 계속 몰려 MAX_COLLECT_ATTEMPTS 번 모두 실패하면, stripe 를 하나씩 멈춰(FROZEN) 합계를 구하고 풀어 준다.
+     *   그동안 출금은 잠깐 spin 하며 기다린다. (락을 잡은 채 끝없이 다시 읽는 일이 없다)
+     */
+    @Override
+    public int getBalance() {
+        rebalanceLock.lock();
+        try {
+            long[] snapshot = new long[stripes];
+            for (int attempt = 0; attempt < MAX_COLLECT_ATTEMPTS; attempt++) {
+                for (int i = 0; i < stripes; i++) {
+                    snapshot[i] = cells.get(index(i));
+                }
+                long sum = 0;
+                boolean stable = true;
+                for (int i = 0; i < stripes; i++) {
+                    long cell = cells.get(index(i));
+                    if (cell != snapshot[i]) {
+                        stable = false;
+                        break;
+                    }
+                    sum += balance(cell);
+                }
+                if (stable) {
+                    return (int) sum;
+                }
+            }
+            return frozenSum();
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    /**
+     * stripe 를 멈춘 상태에서 구한 정확한 잔액 (getBalance() 의 대체 경로, 테스트에서 직접 확인한다)
+     */
+    int getFrozenBalance() {
+        rebalanceLock.lock();
+        try {
+            return frozenSum();
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    /**
+     * rebalanceLock 을 잡은 상태에서 호출한다. (빌려오기와 동시에 멈추지 않도록)
+     * 모든 stripe 에 FROZEN 을 세운 뒤에는 어느 stripe 도 바뀌지 않으므로, 그때의 합계가 정확한 잔액이다.
+     */
+    private int frozenSum() {
+        long[] frozen = new long[stripes];
+        int count = 0;
+        try {
+            while (count < stripes) {
+                frozen[count] = freeze(count);
+                count++;
+            }
+            long sum = 0;
+            for (long cell : frozen) {
+                sum += balance(cell);
+            }
+            return (int) sum;
+        } finally {
+            for (int i = 0; i < count; i++) {
+                cells.set(index(i), frozen[i]); // 멈춘 동안에는 아무도 바꾸지 않으므로 원래 값으로 되돌린다.
+            }
+        }
+    }
+
+    private long freeze(int stripe) {
+        int index = index(stripe);
+        while (true) {
+            long cell = cells.get(index);
+            if (cells.compareAndSet(index, cell, cell | FROZEN)) {
+                return cell;
+            }
+        }
+    }
+
+    /**
+     * 락 없이 stripe 잔액을 더한 근사값 (동시에 출금, 빌려오기가 진행되면 정확하지 않을 수 있다)
+     */
+    public int getApproximateBalance() {
+        long sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += balanceOf(i);
+        }
+        return (int) sum;
+    }
+
+    private boolean tryDebit(int stripe, int amount) {
+        int index = index(stripe);
+        while (true) {
+            long cell = cells.get(index);
+            if ((cell & FROZEN) != 0) {
+                Thread.onSpinWait(); // getBalance() 가 합계를 구하는 중
+                continue;
+            }
+            int balance = balance(cell);
+            if (balance < amount) {
+                return false;
+            }
+            if (cells.compareAndSet(index, cell, pack(version(cell) + 1, balance - amount))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 이웃 stripe 의 잔액을 home 으로 옮겨 모은 뒤 출금한다.
+     * 돈은 빌려오기를 통해서만 stripe 사이를 이동하므로, 옮길 돈이 하나도 없다면 전체 잔액이 부족한 것이다.
+     */
+    private boolean borrowAndDebit(int home, int amount) {
+        rebalanceLock.lock();
+        try {
+            while (true) {
+                if (tryDebit(home, amount)) {
+                    return true;
+                }
+                int moved = 0;
+                for (int k = 1; k < stripes; k++) {
+                    int needed = amount - balanceOf(home);
+                    if (needed <= 0) {
+                        break;
+                    }
+                    int neighbour = (home + k) % stripes;
+                    int taken = takeUpTo(neighbour, needed);
+                    if (taken > 0) {
+                        add(home, taken);
+                        moved += taken;
+                    }
+                }
+                if (moved == 0) {
+                    return tryDebit(home, amount);
+                }
+            }
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    private int takeUpTo(int stripe, int max) {
+        int index = index(stripe);
+        while (true) {
+            long cell = cells.get(index);
+            int balance = balance(cell);
+            int taken = Math.min(balance, max);
+            if (taken == 0) {
+                return 0;
+            }
+            if (cells.compareAndSet(index, cell, pack(version(cell) + 1, balance - taken))) {
+                return taken;
+            }
+        }
+    }
+
+    private void add(int stripe, int amount) {
+        int index = index(stripe);
+        while (true) {
+            long cell = cells.get(index);
+            if (cells.compareAndSet(index, cell, pack(version(cell) + 1, balance(cell) + amount))) {
+                return;
+            }
+        }
+    }
+
+    private int homeStripe() {
+        return (int) (Thread.currentThread().threadId() % stripes);
+    }
+
+    private int balanceOf(int stripe) {
+        return balance(cells.get(index(stripe)));
+    }
+
+    private static int index(int stripe) {
+        return stripe * PAD;
+    }
+
+    private static long pack(int version, int balance) {
+        return ((long) (version & VERSION_MASK) << 32) | (balance & 0xFFFFFFFFL); // 버전이 넘쳐도 FROZEN 비트를 건드리지 않는다.
+    }
+
+    private static int version(long cell) {
+        return (int) (cell >>> 32) & VERSION_MASK;
+    }
+
+    private static int balance(long cell) {
+        return (int) cell;
+    }
+}
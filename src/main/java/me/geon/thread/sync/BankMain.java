@@ -12,6 +12,8 @@ public class BankMain {
         //BankAccount account = new BankAccountV4(1000);
         //BankAccount account = new BankAccountV5(1000);
         BankAccount account = new BankAccountV6(1000);
+        //BankAccount account = new BankAccountV7(1000);
+        //BankAccount account = new BankAccountV8(1000);
 
         Thread t1 = new Thread(new WithdrawTask(account, 800), "t1");
         Thread t2 = new Thread(new WithdrawTask(account, 800), "t2");
@@ -0,0 +1,96 @@
+package me.geon.thread.sync.counter;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 스레드마다 따로 세다가 batchSize 번마다 공용 합계에 반영하는 카운터
+ *
+ * - 증가는 거의 항상 자기 스레드의 칸만 건드리므로 다른 스레드와 캐시 라인을 주고받지 않는다.
+ * - get() : 공용 합계 + 각 스레드가 아직 반영하지 않은 값. (반영 도중이면 잠깐 적게 보일 수 있다)
+ * - getApproximate() : 공용 합계만 읽는다. 스레드마다 최대 batchSize - 1 만큼 늦다.
+ * - 끝난 스레드가 남긴 값은 get() 이 공용 합계로 옮기고 목록에서 지운다.
+ *   (가상 스레드처럼 스레드가 계속 바뀌어도 목록이 끝없이 커지지 않는다)
+ */
+public class BatchingCounter implements Counter {
+
+    private final int batchSize;
+    private final LongAdder flushed = new LongAdder();
+    private final ConcurrentLinkedQueue<Local> locals = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Local> local = ThreadLocal.withInitial(this::register);
+
+    public BatchingCounter(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void add(long delta) {
+        Local mine = local.get();
+        long pending = mine.pending.get() + delta; // 쓰는 스레드는 자기 자신뿐이므로 get + lazySet 으로 충분하다.
+        if (pending >= batchSize || pending <= -batchSize) {
+            // 먼저 0 으로 만든 뒤 반영한다. 그 사이에 읽으면 잠깐 적게 보일 수는 있어도 두 번 세지는 않는다.
+            mine.pending.lazySet(0);
+            flushed.add(pending);
+        } else {
+            mine.pending.lazySet(pending);
+        }
+    }
+
+    /**
+     * 현재 스레드가 아직 반영하지 않은 값을 공용 합계에 반영한다.
+     */
+    public void flush() {
+        Local mine = local.get();
+        long pending = mine.pending.get();
+        if (pending != 0) {
+            mine.pending.lazySet(0);
+            flushed.add(pending);
+        }
+    }
+
+    @Override
+    public long get() {
+        long sum = flushed.sum();
+        Iterator<Local> iterator = locals.iterator();
+        while (iterator.hasNext()) {
+            Local next = iterator.next();
+            Thread owner = next.owner.get();
+            if (owner == null || !owner.isAlive()) {
+                // 끝난 스레드: 남은 값을 공용 합계로 옮긴다. (getAndSet 으로 한 번만 옮긴다)
+                long leftover = next.pending.getAndSet(0);
+                flushed.add(leftover);
+                sum += leftover;
+                iterator.remove();
+            } else {
+                sum += next.pending.get();
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long getApproximate() {
+        return flushed.sum();
+    }
+
+    private Local register() {
+        Local created = new Local(Thread.currentThread());
+        locals.add(created);
+        return created;
+    }
+
+    private static final class Local {
+        final WeakReference<Thread> owner;
+        final AtomicLong pending = new AtomicLong();
+
+        Local(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+    }
+}
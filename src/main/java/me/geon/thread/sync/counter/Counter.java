@@ -0,0 +1,26 @@
+package me.geon.thread.sync.counter;
+
+/**
+ * 여러 스레드가 동시에 증가시키는 이벤트 카운터
+ */
+public interface Counter {
+
+    default void increment() {
+        add(1);
+    }
+
+    void add(long delta);
+
+    /**
+     * 지금까지 더해진 값 (동시에 증가 중이면 그 중 일부만 포함될 수 있다)
+     */
+    long get();
+
+    /**
+     * 정확도를 조금 포기하고 빠르게 읽는 값. 구현마다 얼마나 늦을 수 있는지가 다르다.
+     * 기본은 get() 과 같다.
+     */
+    default long getApproximate() {
+        return get();
+    }
+}
@@ -0,0 +1,42 @@
+package me.geon.thread.sync.counter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * SyncTest1Main 과 같은 방식(스레드 N개가 각각 increment() 를 반복)으로 카운터 구현을 비교한다.
+ */
+public class CounterMain {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS = 5_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        run("synchronized", new SynchronizedCounter());
+        run("striped", new StripedCounter());
+        run("batching(1024)", new BatchingCounter(1024));
+    }
+
+    private static void run(String name, Counter counter) throws InterruptedException {
+        Runnable task = () -> {
+            for (int i = 0; i < INCREMENTS; i++) {
+                counter.increment();
+            }
+        };
+
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < THREADS; i++) {
+            Thread thread = new Thread(task, name + "-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger(name + " 결과: " + counter.get() + " (기대값 " + (long) THREADS * INCREMENTS + "), " + elapsedMs + "ms");
+    }
+}
@@ -0,0 +1,20 @@
+package me.geon.thread.sync.counter;
+
+/**
+ * SyncTest1Main.Counter 와 같은 방식 (비교 기준)
+ * - 정확하지만 모든 스레드가 하나의 모니터에 줄을 선다.
+ */
+public class SynchronizedCounter implements Counter {
+
+    private long count;
+
+    @Override
+    public synchronized void add(long delta) {
+        count += delta;
+    }
+
+    @Override
+    public synchronized long get() {
+        return count;
+    }
+}
@@ -0,0 +1,39 @@
+package me.geon.thread.sync.metrics;
+
+import me.geon.thread.metrics.HistogramSnapshot;
+
+/**
+ * InstrumentedBankAccount 의 측정값 스냅샷
+ *
+ * @param account        감싼 계좌 구현 이름
+ * @param succeeded      성공한 출금 수
+ * @param failed         실패한 출금 수 (잔액 부족, 락 획득 실패 포함)
+ * @param elapsedNanos   측정 시작부터 스냅샷까지 걸린 시간
+ * @param withdrawLatency withdraw() 호출 전체에 걸린 시간 분포
+ * @param lock           락 측정값 (InstrumentedLock 을 넘기지 않았으면 null)
+ */
+public record AccountMetrics(String account, long succeeded, long failed, long elapsedNanos,
+                             HistogramSnapshot withdrawLatency, LockMetrics lock) {
+
+    public long withdrawals() {
+        return succeeded + failed;
+    }
+
+    /**
+     * 초당 성공한 출금 수
+     */
+    public double withdrawalsPerSecond() {
+        return elapsedNanos == 0 ? 0 : succeeded * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return account
+                + " withdrawals=" + withdrawals()
+                + ", succeeded=" + succeeded
+                + ", failed=" + failed
+                + String.format(", %.2f/s", withdrawalsPerSecond())
+                + "\n  latency: " + withdrawLatency
+                + (lock == null ? "" : "\n  lock: " + lock);
+    }
+}
@@ -0,0 +1,59 @@
+package me.geon.thread.sync.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import me.geon.thread.metrics.LatencyHistogram;
+import me.geon.thread.sync.BankAccount;
+
+/**
+ * 어떤 BankAccount 든 감싸서 출금 횟수, 성공/실패, 초당 출금 수, 출금 지연 시간을 측정하는 데코레이터
+ *
+ * 락 대기/점유 시간까지 보려면 계좌를 InstrumentedLock 으로 만들고 함께 넘긴다.
+ * 예)
+ *   InstrumentedLock lock = new InstrumentedLock();
+ *   InstrumentedBankAccount account = new InstrumentedBankAccount(new BankAccountV6(1000, lock), lock);
+ */
+public class InstrumentedBankAccount implements BankAccount {
+
+    private final BankAccount delegate;
+    private final InstrumentedLock lock; // null 이면 락 측정값 없음
+
+    private final LatencyHistogram withdrawLatency = new LatencyHistogram();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final long startedAt = System.nanoTime();
+
+    public InstrumentedBankAccount(BankAccount delegate) {
+        this(delegate, null);
+    }
+
+    public InstrumentedBankAccount(BankAccount delegate, InstrumentedLock lock) {
+        this.delegate = delegate;
+        this.lock = lock;
+    }
+
+    @Override
+    public boolean withdraw(int amount) {
+        long start = System.nanoTime();
+        boolean result = false;
+        try {
+            result = delegate.withdraw(amount);
+            return result;
+        } finally {
+            withdrawLatency.recordSince(start);
+            (result ? succeeded : failed).increment();
+        }
+    }
+
+    @Override
+    public int getBalance() {
+        return delegate.getBalance();
+    }
+
+    public AccountMetrics snapshot() {
+        long elapsed = System.nanoTime() - startedAt;
+        LockMetrics lockMetrics = lock == null ? null : lock.snapshot();
+        return new AccountMetrics(delegate.getClass().getSimpleName(), succeeded.sum(), failed.sum(), elapsed,
+                withdrawLatency.snapshot(), lockMetrics);
+    }
+}
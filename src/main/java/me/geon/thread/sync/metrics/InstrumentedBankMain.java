@@ -0,0 +1,36 @@
+package me.geon.thread.sync.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import me.geon.thread.sync.BankAccountV6;
+import me.geon.thread.sync.WithdrawTask;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * BankAccountV6 의 500ms 타임아웃이 적당한지 측정
+ * - 출금 한 건이 락을 1초 쥐고 있으므로, 동시에 들어온 나머지 요청은 대부분 500ms 뒤 실패한다.
+ * - tryLockFailureRate 와 wait 분포(p99, nearTimeoutRate)를 보고 타임아웃을 조정한다.
+ */
+public class InstrumentedBankMain {
+
+    public static void main(String[] args) throws InterruptedException {
+        InstrumentedLock lock = new InstrumentedLock();
+        InstrumentedBankAccount account = new InstrumentedBankAccount(new BankAccountV6(10_000, lock), lock);
+
+        Thread[] threads = new Thread[5];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new WithdrawTask(account, 100), "t" + (i + 1));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        AccountMetrics metrics = account.snapshot();
+        logger("최종 잔액: " + account.getBalance());
+        logger(metrics);
+        logger(String.format("500ms 타임아웃의 80%%(400ms) 넘게 기다린 비율: %.1f%%",
+                metrics.lock().nearTimeoutRate(500, TimeUnit.MILLISECONDS, 0.8) * 100));
+    }
+}
@@ -0,0 +1,216 @@
+package me.geon.thread.sync.metrics;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import me.geon.thread.metrics.LatencyHistogram;
+
+/**
+ * 다른 Lock 을 감싸서 경합 정도를 측정하는 Lock
+ *
+ * - 대기 시간(wait) : lock()/tryLock() 호출부터 락을 얻을 때까지. 락을 얻은 경우만 기록한다.
+ *   (tryLock(timeout) 실패는 항상 timeout 만큼 기다린 것이므로 분포에 섞지 않고 실패 횟수로 따로 센다)
+ * - 점유 시간(hold) : 락을 얻은 순간부터 마지막 unlock() 까지. 재진입한 경우 바깥쪽 한 번만 기록한다.
+ * - newCondition() 의 await() 는 락을 내려놓으므로 점유를 거기서 끝내고, 깨어나 락을 다시 얻은 때부터 새로 잰다.
+ *
+ * 사용 예) new BankAccountV6(1000, new InstrumentedLock())
+ */
+public class InstrumentedLock implements Lock {
+
+    private final Lock delegate;
+
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram holdTime = new LatencyHistogram();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder tryLockFailures = new LongAdder();
+
+    // owner 는 락을 가진 스레드만 쓴다. 다른 스레드가 읽어도 자기 자신으로 보이는 일은 없다.
+    // 아래 두 필드는 owner 만 읽고 쓰므로, 락 자체가 가시성을 보장한다.
+    private volatile Thread owner;
+    private long acquiredAt;
+    private int holdCount;
+
+    public InstrumentedLock() {
+        this(new ReentrantLock());
+    }
+
+    public InstrumentedLock(Lock delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void lock() {
+        long start = System.nanoTime();
+        delegate.lock();
+        acquired(start);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        long start = System.nanoTime();
+        delegate.lockInterruptibly();
+        acquired(start);
+    }
+
+    @Override
+    public boolean tryLock() {
+        long start = System.nanoTime();
+        if (delegate.tryLock()) {
+            acquired(start);
+            return true;
+        }
+        tryLockFailures.increment();
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        long start = System.nanoTime();
+        if (delegate.tryLock(time, unit)) {
+            acquired(start);
+            return true;
+        }
+        tryLockFailures.increment();
+        return false;
+    }
+
+    @Override
+    public void unlock() {
+        // 락을 갖지 않은 스레드의 unlock() 은 delegate 가 IllegalMonitorStateException 을 던지게 두고, 수치는 건드리지 않는다.
+        if (isHeldByCurrentThread() && --holdCount == 0) {
+            holdTime.recordSince(acquiredAt);
+            owner = null;
+        }
+        delegate.unlock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        return new InstrumentedCondition(delegate.newCondition());
+    }
+
+    public boolean isHeldByCurrentThread() {
+        return owner == Thread.currentThread();
+    }
+
+    public LockMetrics snapshot() {
+        return new LockMetrics(acquisitions.sum(), tryLockFailures.sum(), waitTime.snapshot(), holdTime.snapshot());
+    }
+
+    public void reset() {
+        waitTime.reset();
+        holdTime.reset();
+        acquisitions.reset();
+        tryLockFailures.reset();
+    }
+
+    private void acquired(long start) {
+        long now = System.nanoTime();
+        waitTime.record(now - start);
+        acquisitions.increment();
+        if (holdCount++ == 0) {
+            owner = Thread.currentThread();
+            acquiredAt = now;
+        }
+    }
+
+    /**
+     * await() 직전: 재진입 횟수와 관계없이 락을 모두 내려놓으므로 점유를 끝낸다.
+     *
+     * @return 깨어난 뒤 되돌릴 재진입 횟수, 락을 갖지 않았으면 0 (delegate 가 예외를 던진다)
+     */
+    private int suspendHold() {
+        if (!isHeldByCurrentThread()) {
+            return 0;
+        }
+        int saved = holdCount;
+        holdTime.recordSince(acquiredAt);
+        holdCount = 0;
+        owner = null;
+        return saved;
+    }
+
+    /**
+     * await() 직후: 예외로 끝나도 락은 다시 얻은 상태이므로 항상 점유를 다시 시작한다.
+     */
+    private void resumeHold(int saved) {
+        if (saved > 0) {
+            owner = Thread.currentThread();
+            holdCount = saved;
+            acquiredAt = System.nanoTime();
+        }
+    }
+
+    private class InstrumentedCondition implements Condition {
+
+        private final Condition delegate;
+
+        InstrumentedCondition(Condition delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            int saved = suspendHold();
+            try {
+                delegate.await();
+            } finally {
+                resumeHold(saved);
+            }
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            int saved = suspendHold();
+            try {
+                delegate.awaitUninterruptibly();
+            } finally {
+                resumeHold(saved);
+            }
+        }
+
+        @Override
+        public long awaitNanos(long nanosTimeout) throws InterruptedException {
+            int saved = suspendHold();
+            try {
+                return delegate.awaitNanos(nanosTimeout);
+            } finally {
+                resumeHold(saved);
+            }
+        }
+
+        @Override
+        public boolean await(long time, TimeUnit unit) throws InterruptedException {
+            int saved = suspendHold();
+            try {
+                return delegate.await(time, unit);
+            } finally {
+                resumeHold(saved);
+            }
+        }
+
+        @Override
+        public boolean awaitUntil(Date deadline) throws InterruptedException {
+            int saved = suspendHold();
+            try {
+                return delegate.awaitUntil(deadline);
+            } finally {
+                resumeHold(saved);
+            }
+        }
+
+        @Override
+        public void signal() {
+            delegate.signal();
+        }
+
+        @Override
+        public void signalAll() {
+            delegate.signalAll();
+        }
+    }
+}
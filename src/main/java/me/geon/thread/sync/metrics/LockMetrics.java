@@ -0,0 +1,47 @@
+package me.geon.thread.sync.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import me.geon.thread.metrics.HistogramSnapshot;
+
+/**
+ * InstrumentedLock 의 측정값 스냅샷
+ *
+ * @param acquisitions    락 획득 성공 횟수
+ * @param tryLockFailures tryLock() 실패 횟수
+ * @param waitTime        락을 얻기까지 기다린 시간 분포 (성공한 경우만)
+ * @param holdTime        락을 쥐고 있던 시간 분포
+ */
+public record LockMetrics(long acquisitions, long tryLockFailures, HistogramSnapshot waitTime,
+                          HistogramSnapshot holdTime) {
+
+    /**
+     * tryLock 실패율 (0 ~ 1)
+     */
+    public double tryLockFailureRate() {
+        long attempts = acquisitions + tryLockFailures;
+        return attempts == 0 ? 0 : (double) tryLockFailures / attempts;
+    }
+
+    /**
+     * 락을 얻은 경우 중 대기 시간이 timeout 의 ratio 배를 넘긴 비율 (0 ~ 1)
+     * 이 값이 크면 timeout 이 실제 대기 시간에 비해 빠듯하다는 뜻이다.
+     * 예) nearTimeoutRate(500, MILLISECONDS, 0.8) -> 400ms 넘게 기다린 비율
+     */
+    public double nearTimeoutRate(long timeout, TimeUnit unit, double ratio) {
+        if (waitTime.count() == 0) {
+            return 0;
+        }
+        long threshold = (long) (unit.toNanos(timeout) * ratio);
+        return (double) waitTime.countAbove(threshold) / waitTime.count();
+    }
+
+    @Override
+    public String toString() {
+        return "acquisitions=" + acquisitions
+                + ", tryLockFailures=" + tryLockFailures
+                + String.format(" (%.1f%%)", tryLockFailureRate() * 100)
+                + "\n  wait: " + waitTime
+                + "\n  hold: " + holdTime;
+    }
+}
@@ -0,0 +1,4 @@
+package me.geon.thread.sync.transfer;
+
+public record Transfer(TransferAccount from, TransferAccount to, int amount) {
+}
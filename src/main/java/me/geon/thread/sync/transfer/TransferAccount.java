@@ -0,0 +1,82 @@
+package me.geon.thread.sync.transfer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import me.geon.thread.sync.BankAccount;
+
+/**
+ * 이체가 가능한 계좌
+ * - 계좌마다 고유한 id 가 있고, TransferEngine 은 이 id 순서대로 락을 잡는다.
+ * - 단독 출금(withdraw)은 BankAccountV4 처럼 자기 락만 잡는다.
+ */
+public class TransferAccount implements BankAccount {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final long id;
+    private final Lock lock = new ReentrantLock();
+    private int balance;
+
+    public TransferAccount(int initialBalance) {
+        this.id = SEQUENCE.incrementAndGet();
+        this.balance = initialBalance;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean withdraw(int amount) {
+        lock.lock();
+        try {
+            if (balance < amount) {
+                return false;
+            }
+            balance -= amount;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void deposit(int amount) {
+        lock.lock();
+        try {
+            balance += amount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getBalance() {
+        lock.lock();
+        try {
+            return balance;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 아래는 TransferEngine 이 두 계좌의 락을 모두 잡은 상태에서만 호출한다.
+
+    Lock lock() {
+        return lock;
+    }
+
+    int balanceLocked() {
+        return balance;
+    }
+
+    void addLocked(int amount) {
+        balance += amount;
+    }
+
+    @Override
+    public String toString() {
+        return "Account#" + id;
+    }
+}
@@ -0,0 +1,130 @@
+package me.geon.thread.sync.transfer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static me.geon.thread.Utils.logger;
+
+/**
+ * 계좌 간 이체
+ *
+ * 1. 데드락 방지 : 두 계좌의 락을 항상 id 가 작은 계좌부터 잡는다.
+ *    (A -> B, B -> A 이체가 동시에 일어나도 둘 다 A 락부터 잡으므로 서로 기다리는 상황이 생기지 않는다)
+ * 2. 무한 대기 방지 : BankAccountV6 처럼 tryLock(timeout) 을 사용하고, 실패하면 잡은 락을 모두 풀고
+ *    무작위 지연(backoff) 후 다시 시도한다.
+ * 3. 병렬 처리 : transferAll() 은 같은 계좌를 건드리는 이체끼리만 순서대로 실행하고,
+ *    서로 다른 계좌들을 건드리는 이체는 executor 에서 동시에 실행한다.
+ */
+public class TransferEngine {
+
+    private static final long DEFAULT_LOCK_TIMEOUT_MS = 500;
+    private static final int DEFAULT_MAX_ATTEMPTS = 10;
+    private static final long BASE_BACKOFF_NANOS = 100_000L; // 0.1ms
+
+    private final Executor executor;
+    private final long lockTimeoutMs;
+    private final int maxAttempts;
+
+    public TransferEngine(Executor executor) {
+        this(executor, DEFAULT_LOCK_TIMEOUT_MS, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    public TransferEngine(Executor executor, long lockTimeoutMs, int maxAttempts) {
+        this.executor = executor;
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * @return 이체 성공 여부 (잔액 부족, 또는 maxAttempts 번 모두 락 획득에 실패하면 false)
+     */
+    public boolean transfer(TransferAccount from, TransferAccount to, int amount) {
+        if (from == to) {
+            throw new IllegalArgumentException("같은 계좌로 이체할 수 없습니다: " + from);
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("이체 금액은 0보다 커야 합니다: " + amount);
+        }
+
+        // 항상 id 가 작은 계좌의 락을 먼저 잡는다.
+        TransferAccount first = from.getId() < to.getId() ? from : to;
+        TransferAccount second = first == from ? to : from;
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (tryLock(first)) {
+                try {
+                    if (tryLock(second)) {
+                        try {
+                            if (from.balanceLocked() < amount) {
+                                return false;
+                            }
+                            from.addLocked(-amount);
+                            to.addLocked(amount);
+                            return true;
+                        } finally {
+                            second.lock().unlock();
+                        }
+                    }
+                } finally {
+                    first.lock().unlock();
+                }
+            }
+            logger("[진입 실패] " + from + " -> " + to + " 락 획득 실패, 재시도 " + attempt + "/" + maxAttempts);
+            backoff(attempt);
+        }
+        logger("[이체 포기] " + from + " -> " + to + ", 출금액: " + amount);
+        return false;
+    }
+
+    /**
+     * 여러 이체를 실행하고, 입력 순서대로 성공 여부를 반환한다.
+     * - 같은 계좌를 건드리는 이체끼리는 입력 순서대로 실행된다.
+     * - 건드리는 계좌가 겹치지 않는 이체는 서로 기다리지 않고 동시에 실행된다.
+     */
+    public List<Boolean> transferAll(List<Transfer> transfers) {
+        // 계좌별로 "이 계좌를 마지막으로 건드리는 이체"를 기억해서, 다음 이체는 그 이체가 끝난 뒤에 실행한다.
+        Map<TransferAccount, CompletableFuture<?>> lastTouch = new HashMap<>();
+        List<CompletableFuture<Boolean>> results = new ArrayList<>(transfers.size());
+        CompletableFuture<Void> none = CompletableFuture.completedFuture(null);
+
+        for (Transfer t : transfers) {
+            CompletableFuture<?> afterFrom = lastTouch.getOrDefault(t.from(), none);
+            CompletableFuture<?> afterTo = lastTouch.getOrDefault(t.to(), none);
+            CompletableFuture<Boolean> result = CompletableFuture.allOf(afterFrom, afterTo)
+                    .thenApplyAsync(v -> transfer(t.from(), t.to(), t.amount()), executor);
+            // 앞선 이체가 예외로 끝나도 뒤의 이체는 실행되도록 완료 여부만 전달한다.
+            CompletableFuture<Void> done = result.handle((r, e) -> null);
+            lastTouch.put(t.from(), done);
+            lastTouch.put(t.to(), done);
+            results.add(result);
+        }
+        return results.stream().map(CompletableFuture::join).toList();
+    }
+
+    private boolean tryLock(TransferAccount account) {
+        try {
+            return account.lock().tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 재시도마다 최대 대기 시간을 두 배로 늘리고, 그 안에서 무작위로 기다린다.
+     * 같은 계좌 쌍을 노리는 스레드들이 동시에 다시 부딪히지 않도록 하기 위함이다.
+     */
+    private static void backoff(int attempt) {
+        long max = BASE_BACKOFF_NANOS << Math.min(attempt, 10);
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(max));
+        if (Thread.currentThread().isInterrupted()) {
+            throw new RuntimeException(new InterruptedException("이체 재시도 대기 중 인터럽트 발생"));
+        }
+    }
+}
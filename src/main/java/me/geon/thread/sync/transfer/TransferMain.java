@@ -0,0 +1,59 @@
+package me.geon.thread.sync.transfer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static me.geon.thread.Utils.logger;
+
+public class TransferMain {
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService es = Executors.newFixedThreadPool(8);
+        TransferEngine engine = new TransferEngine(es);
+
+        // 1. A -> B, B -> A 를 동시에 반복해도 데드락이 생기지 않는다.
+        TransferAccount a = new TransferAccount(1000);
+        TransferAccount b = new TransferAccount(1000);
+        Thread t1 = new Thread(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                engine.transfer(a, b, 1);
+            }
+        }, "t1");
+        Thread t2 = new Thread(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                engine.transfer(b, a, 1);
+            }
+        }, "t2");
+        t1.start();
+        t2.start();
+        t1.join();
+        t2.join();
+        logger("A 잔액: " + a.getBalance() + ", B 잔액: " + b.getBalance() + ", 합계: " + (a.getBalance() + b.getBalance()));
+
+        // 2. 계좌 100개 사이의 이체 10만 건을 일괄 처리
+        List<TransferAccount> accounts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            accounts.add(new TransferAccount(10_000));
+        }
+        List<Transfer> transfers = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 100_000; i++) {
+            int from = random.nextInt(accounts.size());
+            int to = (from + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+            transfers.add(new Transfer(accounts.get(from), accounts.get(to), 1 + random.nextInt(100)));
+        }
+
+        long start = System.nanoTime();
+        List<Boolean> results = engine.transferAll(transfers);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        long succeeded = results.stream().filter(Boolean::booleanValue).count();
+        int total = accounts.stream().mapToInt(TransferAccount::getBalance).sum();
+        logger("이체 " + transfers.size() + "건, 성공: " + succeeded + ", 소요: " + elapsedMs + "ms, 전체 잔액: " + total);
+
+        es.close();
+    }
+}
@@ -0,0 +1,95 @@
+package me.geon.thread.bounded;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedQueueV10Test {
+
+    private static final int COUNT = 100_000;
+
+    @Test
+    @DisplayName("생산자 2개, 소비자 2개가 주고받아도 모든 데이터가 한 번씩 꺼내진다.")
+    void mpmcDeliversEverything() throws InterruptedException {
+        BoundedQueueV10 queue = new BoundedQueueV10(16, 32);
+        long[] sums = new long[2];
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < 2; p++) {
+            int offset = p * COUNT;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < COUNT; i++) {
+                    queue.put(String.valueOf(offset + i));
+                }
+            }));
+        }
+        for (int c = 0; c < 2; c++) {
+            int index = c;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < COUNT; i++) {
+                    sums[index] += Long.parseLong(queue.take());
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long n = 2L * COUNT;
+        assertThat(sums[0] + sums[1]).isEqualTo(n * (n - 1) / 2);
+    }
+
+    @Test
+    @DisplayName("claim/publish 로 슬롯에 직접 쓰고, acquire/release 로 읽기 전용 view 에서 읽는다.")
+    void zeroCopySlots() {
+        BoundedQueueV10 queue = new BoundedQueueV10(2, 16);
+
+        BoundedQueueV10.Slot written = queue.claim();
+        written.buffer().putLong(42L).putInt(7);
+        queue.publish(written);
+
+        BoundedQueueV10.Slot read = queue.acquire();
+        ByteBuffer view = read.view();
+        assertThat(view.remaining()).isEqualTo(12);
+        assertThat(view.isReadOnly()).isTrue();
+        assertThat(view.getLong()).isEqualTo(42L);
+        assertThat(view.getInt()).isEqualTo(7);
+        queue.release(read);
+
+        assertThat(queue.acquire(10, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("배치 메서드는 넣은 순서대로 옮기고, 슬롯보다 큰 데이터는 거절한다.")
+    void batchAndOversized() {
+        BoundedQueueV10 queue = new BoundedQueueV10(4, 8);
+        queue.putAll(List.of("a", "b", "c"));
+
+        List<String> sink = new ArrayList<>();
+        assertThat(queue.takeBatch(2, sink)).isEqualTo(2);
+        assertThat(queue.drainTo(sink, 10, 10, TimeUnit.MILLISECONDS)).isEqualTo(1);
+        assertThat(sink).isEqualTo(List.of("a", "b", "c"));
+
+        assertThatThrownBy(() -> queue.put("123456789")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("max 가 Integer.MAX_VALUE 여도 슬롯 수만큼만 잡고 모두 꺼낸다.")
+    void hugeMaxDoesNotAllocateMaxSizedArray() {
+        BoundedQueueV10 queue = new BoundedQueueV10(4, 8);
+        queue.putAll(List.of("a", "b", "c"));
+
+        List<String> sink = new ArrayList<>();
+        assertThat(queue.drainTo(sink, Integer.MAX_VALUE, 10, TimeUnit.MILLISECONDS)).isEqualTo(3);
+        queue.put("d");
+        assertThat(queue.takeBatch(Integer.MAX_VALUE, sink)).isEqualTo(1);
+        assertThat(sink).isEqualTo(List.of("a", "b", "c", "d"));
+    }
+}
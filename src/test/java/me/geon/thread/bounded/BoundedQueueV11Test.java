@@ -0,0 +1,142 @@
+package me.geon.thread.bounded;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedQueueV11Test {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("메모리가 가득 차도 put 은 기다리지 않고, 넘친 데이터는 파일을 거쳐 넣은 순서대로 꺼내진다.")
+    void spillsAndKeepsOrder() {
+        try (BoundedQueueV11 queue = new BoundedQueueV11(10, dir.resolve("queue.spill"), 64)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < 5_000; i++) {
+                queue.put("한글-" + i);
+            }
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+            assertThat(queue.size()).isEqualTo(5_000);
+            assertThat(queue.memorySize()).isEqualTo(10);
+
+            for (int i = 0; i < 5_000; i++) {
+                assertThat(queue.take()).isEqualTo("한글-" + i);
+            }
+            assertThat(queue.size()).isZero();
+            // 넘친 4,990개 중 배치(64개)로 채워진 것만 파일에 쓰고, 나머지는 파일을 거치지 않고 메모리로 옮긴다.
+            assertThat(queue.spilledTotal()).isEqualTo(4_990 / 64 * 64);
+        }
+    }
+
+    @Test
+    @DisplayName("파일이 비면 다시 메모리로만 동작하고, 배치 크기보다 적게 넘친 데이터도 빠짐없이 꺼내진다.")
+    void returnsToMemoryAfterDrain() {
+        try (BoundedQueueV11 queue = new BoundedQueueV11(4, dir.resolve("queue.spill"), 1_000)) {
+            for (int i = 0; i < 10; i++) {
+                queue.put("a" + i);
+            }
+            List<String> taken = new ArrayList<>();
+            while (taken.size() < 10) {
+                queue.takeBatch(10, taken);
+            }
+            for (int i = 0; i < 10; i++) {
+                assertThat(taken.get(i)).isEqualTo("a" + i);
+            }
+
+            assertThat(queue.spilledTotal()).isZero();
+            queue.put("b");
+            assertThat(queue.memorySize()).isEqualTo(1);
+            assertThat(queue.take()).isEqualTo("b");
+        }
+    }
+
+    @Test
+    @DisplayName("spill 스레드가 죽으면 메모리에 남은 데이터를 꺼낸 뒤 take/put/close 가 예외를 던진다.")
+    void surfacesSpillFailure() {
+        Path spillFile = dir.resolve("failing.spill");
+        BoundedQueueV11 queue = new BoundedQueueV11(2, spillFile);
+        queue.put("a");
+        queue.put("b");
+        Thread spiller = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("spill-" + spillFile.getFileName()))
+                .findFirst()
+                .orElseThrow();
+        spiller.interrupt(); // FileChannel 이 닫히는 것과 같은 실패
+
+        assertThat(queue.take()).isEqualTo("a");
+        assertThat(queue.take()).isEqualTo("b");
+        assertThatThrownBy(queue::take).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> queue.put("c")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(queue::close).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("비어 있으면 drainTo 는 timeout 후 0 을 반환하고, close() 하면 spill 파일을 지운다.")
+    void drainTimeoutAndClose() {
+        Path spillFile = dir.resolve("queue.spill");
+        BoundedQueueV11 queue = new BoundedQueueV11(2, spillFile);
+        assertThat(queue.drainTo(new ArrayList<>(), 10, 50, TimeUnit.MILLISECONDS)).isZero();
+
+        queue.close();
+        assertThat(Files.exists(spillFile)).isFalse();
+        assertThatThrownBy(() -> queue.put("x")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("""
+            기다리는 소비자가 있을 때 close()
+            1. 블로킹된 take/takeBatch 가 깨어나 예외를 던진다.
+            2. 메모리에 남은 데이터는 닫힌 뒤에도 꺼낼 수 있고, 비면 예외를 던진다.
+            """)
+    void closeWakesBlockedConsumers() throws InterruptedException {
+        BoundedQueueV11 queue = new BoundedQueueV11(2, dir.resolve("queue.spill"));
+        List<Throwable> errors = new ArrayList<>();
+        Thread taker = new Thread(() -> {
+            try {
+                queue.take();
+            } catch (Throwable e) {
+                synchronized (errors) {
+                    errors.add(e);
+                }
+            }
+        }, "taker");
+        Thread batchTaker = new Thread(() -> {
+            try {
+                queue.takeBatch(10, new ArrayList<>());
+            } catch (Throwable e) {
+                synchronized (errors) {
+                    errors.add(e);
+                }
+            }
+        }, "batch-taker");
+        taker.start();
+        batchTaker.start();
+        Thread.sleep(100); // 두 소비자가 notEmpty 에서 기다리도록
+
+        queue.close();
+        taker.join(5_000);
+        batchTaker.join(5_000);
+        assertThat(taker.isAlive()).isFalse();
+        assertThat(batchTaker.isAlive()).isFalse();
+        assertThat(errors).hasSize(2).allMatch(e -> e instanceof IllegalStateException);
+
+        BoundedQueueV11 leftover = new BoundedQueueV11(2, dir.resolve("leftover.spill"));
+        leftover.put("a");
+        leftover.close();
+        assertThat(leftover.take()).isEqualTo("a");
+        assertThatThrownBy(leftover::take).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> leftover.drainTo(new ArrayList<>(), 10, 1, TimeUnit.SECONDS))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,80 @@
+package me.geon.thread.bounded;
+
+import me.geon.thread.bounded.BoundedQueueV12.Lane;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedQueueV12Test {
+
+    @Test
+    @DisplayName("STRICT_PRIORITY 는 높은 lane 부터 꺼내되, 낮은 lane 이 starvationLimit 번 밀리면 한 번은 꺼낸다.")
+    void strictPriorityWithStarvationProtection() {
+        BoundedQueueV12<String> queue = BoundedQueueV12.strictPriority(3, Lane.of(10), Lane.of(10));
+        for (int i = 0; i < 10; i++) {
+            queue.put(1, "bulk" + i);
+            queue.put(0, "urgent" + i);
+        }
+
+        List<String> taken = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            taken.add(queue.take());
+        }
+        assertThat(taken).containsExactly("urgent0", "urgent1", "urgent2", "bulk0",
+                "urgent3", "urgent4", "urgent5", "bulk1");
+    }
+
+    @Test
+    @DisplayName("WEIGHTED_ROUND_ROBIN 은 weight 비율로 꺼내고, 한 lane 이 비면 남은 lane 에서 계속 꺼낸다.")
+    void weightedRoundRobin() {
+        BoundedQueueV12<String> queue = BoundedQueueV12.weightedRoundRobin(new Lane(10, 3), new Lane(10, 1));
+        for (int i = 0; i < 4; i++) {
+            queue.put(0, "a" + i);
+        }
+        for (int i = 0; i < 4; i++) {
+            queue.put(1, "b" + i);
+        }
+
+        List<String> taken = new ArrayList<>();
+        while (taken.size() < 8) {
+            queue.takeBatch(8, taken);
+        }
+        assertThat(taken).containsExactly("a0", "a1", "a2", "b0", "a3", "b1", "b2", "b3");
+        assertThat(queue.served(0)).isEqualTo(4);
+        assertThat(queue.served(1)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("lane 마다 capacity 가 따로 있어서, 한 lane 이 가득 차도 다른 lane 에는 넣을 수 있다.")
+    void perLaneCapacity() throws InterruptedException {
+        BoundedQueueV12<String> queue = BoundedQueueV12.strictPriority(8, Lane.of(1), Lane.of(2));
+        queue.put("bulk0");
+        queue.put("bulk1");
+        assertThat(queue.offer(1, "bulk2")).isFalse();
+        assertThat(queue.offer(0, "urgent")).isTrue();
+        assertThat(queue.size()).isEqualTo(3);
+
+        CountDownLatch stored = new CountDownLatch(1);
+        Thread producer = Thread.ofPlatform().start(() -> {
+            queue.put(1, "bulk2");
+            stored.countDown();
+        });
+        assertThat(stored.await(100, TimeUnit.MILLISECONDS)).isFalse();
+
+        assertThat(queue.take()).isEqualTo("urgent");
+        assertThat(stored.await(100, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(queue.take()).isEqualTo("bulk0");
+        assertThat(stored.await(1, TimeUnit.SECONDS)).isTrue();
+        producer.join();
+        assertThat(queue.size(1)).isEqualTo(2);
+
+        assertThatThrownBy(() -> queue.put(2, "x")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
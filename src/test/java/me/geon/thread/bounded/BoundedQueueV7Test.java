@@ -0,0 +1,303 @@
+package me.geon.thread.bounded;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedQueueV7Test {
+
+    private static final int COUNT = 100_000;
+
+    @Test
+    @DisplayName("""
+            SPSC 링 버퍼
+            1. 생산자 1개, 소비자 1개
+            2. 넣은 순서대로 모두 꺼내진다.
+            """)
+    void spscKeepsOrder() throws InterruptedException {
+        BoundedQueueV7_1<String> queue = new BoundedQueueV7_1<>(8);
+        List<String> taken = new ArrayList<>();
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < COUNT; i++) {
+                queue.put("data" + i);
+            }
+        }, "producer");
+        Thread consumer = new Thread(() -> {
+            for (int i = 0; i < COUNT; i++) {
+                taken.add(queue.take());
+            }
+        }, "consumer");
+
+        producer.start();
+        consumer.start();
+        producer.join();
+        consumer.join();
+
+        assertThat(taken).hasSize(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            assertThat(taken.get(i)).isEqualTo("data" + i);
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            MPMC 링 버퍼
+            1. 생산자 4개, 소비자 4개
+            2. 모든 데이터가 정확히 한 번씩 꺼내진다.
+            """)
+    void mpmcDeliversExactlyOnce() throws InterruptedException {
+        BoundedQueueV7_2<String> queue = new BoundedQueueV7_2<>(16);
+        Set<String> taken = ConcurrentHashMap.newKeySet();
+        int threads = 4;
+        int perThread = COUNT / threads;
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int producerId = t;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    queue.put(producerId + "-" + i);
+                }
+            }, "producer" + t));
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    taken.add(queue.take());
+                }
+            }, "consumer" + t));
+        }
+
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertThat(taken).hasSize(perThread * threads);
+        assertThat(queue.toString()).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("""
+            SPSC 링 버퍼 배치
+            1. 생산자는 putAll, 소비자는 takeBatch 로 크기가 제각각인 묶음을 주고받는다.
+            2. 넣은 순서대로 모두 꺼내진다.
+            """)
+    void spscBatchKeepsOrder() throws InterruptedException {
+        BoundedQueueV7_1<Integer> queue = new BoundedQueueV7_1<>(8);
+        List<Integer> taken = new ArrayList<>();
+
+        Thread producer = new Thread(() -> {
+            int next = 0;
+            while (next < COUNT) {
+                int size = Math.min(ThreadLocalRandom.current().nextInt(1, 20), COUNT - next);
+                List<Integer> batch = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    batch.add(next++);
+                }
+                queue.putAll(batch); // 용량(8)보다 큰 묶음은 나눠서 들어간다.
+            }
+        }, "producer");
+        Thread consumer = new Thread(() -> {
+            while (taken.size() < COUNT) {
+                queue.takeBatch(Math.min(ThreadLocalRandom.current().nextInt(1, 20), COUNT - taken.size()), taken);
+            }
+        }, "consumer");
+
+        producer.start();
+        consumer.start();
+        producer.join();
+        consumer.join();
+
+        assertThat(taken).hasSize(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            assertThat(taken.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            MPMC 링 버퍼 배치
+            1. 생산자 4개는 putAll, 소비자 4개는 takeBatch 로 여러 슬롯을 CAS 한 번에 선점한다.
+            2. 모든 데이터가 정확히 한 번씩 꺼내진다.
+            3. 소비자마다 같은 생산자의 데이터는 넣은 순서대로 받는다.
+            """)
+    void mpmcBatchDeliversExactlyOnceInProducerOrder() throws InterruptedException {
+        BoundedQueueV7_2<Integer> queue = new BoundedQueueV7_2<>(16);
+        int threads = 4;
+        int perThread = COUNT / threads;
+        List<List<Integer>> takenByConsumer = new ArrayList<>();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int producerId = t;
+            workers.add(new Thread(() -> {
+                int next = 0;
+                while (next < perThread) {
+                    int size = Math.min(ThreadLocalRandom.current().nextInt(1, 40), perThread - next);
+                    List<Integer> batch = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        batch.add(producerId * perThread + next++);
+                    }
+                    queue.putAll(batch);
+                }
+            }, "producer" + t));
+            List<Integer> taken = new ArrayList<>();
+            takenByConsumer.add(taken);
+            workers.add(new Thread(() -> {
+                // 소비자마다 perThread 개만 가져가도록 max 를 남은 개수로 제한한다. (다른 소비자 몫까지 기다리지 않게)
+                while (taken.size() < perThread) {
+                    queue.takeBatch(Math.min(ThreadLocalRandom.current().nextInt(1, 40), perThread - taken.size()), taken);
+                }
+            }, "consumer" + t));
+        }
+
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Set<Integer> all = ConcurrentHashMap.newKeySet();
+        for (List<Integer> taken : takenByConsumer) {
+            assertThat(taken).hasSize(perThread);
+            int[] lastByProducer = {-1, -1, -1, -1};
+            for (int value : taken) {
+                assertThat(all.add(value)).isTrue();
+                int producerId = value / perThread;
+                assertThat(value).isGreaterThan(lastByProducer[producerId]);
+                lastByProducer[producerId] = value;
+            }
+        }
+        assertThat(all).hasSize(perThread * threads);
+        assertThat(queue.toString()).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("""
+            drainTo timeout
+            1. 비어 있으면 timeout 만큼 기다린 뒤 0 을 반환한다.
+            2. 데이터가 있으면 max 개까지 기다리지 않고 꺼낸다.
+            """)
+    void drainToTimesOutWhenEmpty() {
+        List<BoundedQueue<String>> queues = List.of(new BoundedQueueV7_1<>(8), new BoundedQueueV7_2<>(8));
+        for (BoundedQueue<String> queue : queues) {
+            List<String> sink = new ArrayList<>();
+            long start = System.nanoTime();
+            assertThat(queue.drainTo(sink, 10, 50, TimeUnit.MILLISECONDS)).isZero();
+            long elapsed = System.nanoTime() - start;
+            assertThat(elapsed).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+            assertThat(elapsed).isLessThan(TimeUnit.SECONDS.toNanos(5));
+            assertThat(sink).isEmpty();
+
+            queue.putAll(List.of("a", "b", "c"));
+            assertThat(queue.drainTo(sink, 2, 1, TimeUnit.SECONDS)).isEqualTo(2);
+            assertThat(queue.drainTo(sink, 10, 1, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(sink).containsExactly("a", "b", "c");
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            요청한 max 까지만 넣을 수 있다.
+            1. 배열은 2의 제곱수로 올림되지만 capacity() 는 max 그대로다.
+            2. max 개를 넣은 뒤의 put 은 take 로 자리가 날 때까지 대기한다.
+            """)
+    void putBlocksAtRequestedMax() throws InterruptedException {
+        assertPutBlocksAt(new BoundedQueueV7_1<>(3), 3);
+        assertPutBlocksAt(new BoundedQueueV7_2<>(3), 3);
+        assertPutBlocksAt(new BoundedQueueV7_2<>(1), 1);
+        assertThat(new BoundedQueueV7_2<>(3).capacity()).isEqualTo(3);
+        assertThat(new BoundedQueueV7_1<>(16).capacity()).isEqualTo(16);
+    }
+
+    private void assertPutBlocksAt(BoundedQueue<String> queue, int max) throws InterruptedException {
+        List<String> data = new ArrayList<>();
+        for (int i = 0; i < max; i++) {
+            data.add("data" + i);
+        }
+        queue.putAll(data);
+
+        Thread producer = new Thread(() -> queue.put("overflow"), "producer");
+        producer.start();
+        producer.join(100);
+        assertThat(producer.isAlive()).isTrue(); // max 개가 차 있어서 대기 중
+
+        assertThat(queue.take()).isEqualTo("data0");
+        producer.join(5_000);
+        assertThat(producer.isAlive()).isFalse();
+
+        List<String> taken = new ArrayList<>();
+        for (int i = 0; i < max; i++) {
+            taken.add(queue.take());
+        }
+        assertThat(taken).endsWith("overflow");
+    }
+
+    @Test
+    @DisplayName("""
+            원시 타입 링 버퍼도 요청한 max 까지만 넣을 수 있다.
+            """)
+    void primitiveQueuesBlockAtRequestedMax() throws InterruptedException {
+        IntBoundedQueueV7_2 ints = new IntBoundedQueueV7_2(3);
+        LongBoundedQueueV7_2 longs = new LongBoundedQueueV7_2(3);
+        for (int i = 0; i < 3; i++) {
+            ints.put(i);
+            longs.put(i);
+        }
+
+        Thread intProducer = new Thread(() -> ints.put(3), "int-producer");
+        Thread longProducer = new Thread(() -> longs.put(3), "long-producer");
+        intProducer.start();
+        longProducer.start();
+        intProducer.join(100);
+        longProducer.join(100);
+        assertThat(intProducer.isAlive()).isTrue();
+        assertThat(longProducer.isAlive()).isTrue();
+
+        assertThat(ints.take()).isZero();
+        assertThat(longs.take()).isZero();
+        intProducer.join(5_000);
+        longProducer.join(5_000);
+        assertThat(intProducer.isAlive()).isFalse();
+        assertThat(longProducer.isAlive()).isFalse();
+        assertThat(ints.capacity()).isEqualTo(3);
+        assertThat(longs.capacity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("""
+            long 전용 링 버퍼
+            1. 박싱 없이 값을 주고받는다.
+            2. 워밍업 이후 put/take 에 할당이 없다.
+            """)
+    void longQueueDoesNotAllocate() {
+        LongBoundedQueueV7_2 queue = new LongBoundedQueueV7_2(1024);
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long sum = putAndTake(queue); // 워밍업
+        long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        sum += putAndTake(queue);
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(sum).isEqualTo(2 * ((long) COUNT * (COUNT - 1) / 2));
+        assertThat(allocated).isLessThan(1024);
+    }
+
+    private long putAndTake(LongBoundedQueueV7_2 queue) {
+        long sum = 0;
+        for (int i = 0; i < COUNT; i++) {
+            queue.put(i);
+            sum += queue.take();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,109 @@
+package me.geon.thread.bounded;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import me.geon.thread.executor.PinningDetector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedQueueV8Test {
+
+    @Test
+    @DisplayName("""
+            timeout 버전 offer/poll
+            1. 가득 차 있으면 offer 는 timeout 만큼 기다린 뒤 false 를 반환한다.
+            2. 비어 있으면 poll 은 timeout 만큼 기다린 뒤 null 을 반환한다.
+            3. 기다리는 중에 자리가(데이터가) 생기면 바로 성공한다.
+            """)
+    void timedOfferAndPoll() throws Exception {
+        BoundedQueueV8<String> queue = new BoundedQueueV8<>(1);
+        assertThat(queue.poll(50, TimeUnit.MILLISECONDS)).isNull();
+
+        assertThat(queue.offer("a", 50, TimeUnit.MILLISECONDS)).isTrue();
+        long start = System.nanoTime();
+        assertThat(queue.offer("b", 50, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+
+        ExecutorService es = Executors.newSingleThreadExecutor();
+        Future<Boolean> offer = es.submit(() -> queue.offer("c", 10, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertThat(queue.poll(1, TimeUnit.SECONDS)).isEqualTo("a");
+        assertThat(offer.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(queue.poll(1, TimeUnit.SECONDS)).isEqualTo("c");
+
+        Future<String> poll = es.submit(() -> queue.poll(10, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        queue.put("d");
+        assertThat(poll.get(10, TimeUnit.SECONDS)).isEqualTo("d");
+        es.close();
+    }
+
+    @Test
+    @DisplayName("용량보다 큰 putAll 은 가득 찰 때마다 소비자를 깨우고 기다렸다가, 넣은 순서대로 모두 넣는다.")
+    void putAllAcrossFullQueue() throws Exception {
+        BoundedQueueV8<Integer> queue = new BoundedQueueV8<>(4);
+        List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            data.add(i);
+        }
+
+        ExecutorService es = Executors.newFixedThreadPool(2);
+        Future<List<Integer>> consumer = es.submit(() -> {
+            List<Integer> taken = new ArrayList<>();
+            while (taken.size() < data.size()) {
+                queue.takeBatch(3, taken);
+            }
+            return taken;
+        });
+        Future<?> producer = es.submit(() -> queue.putAll(data));
+
+        producer.get(10, TimeUnit.SECONDS);
+        assertThat(consumer.get(10, TimeUnit.SECONDS)).isEqualTo(data);
+        assertThat(queue.size()).isZero();
+        es.close();
+    }
+
+    @Test
+    @DisplayName("""
+            가상 스레드 생산자/소비자
+            1. 용량 1 인 큐에서 가상 스레드 10,000쌍이 기다려도 모두 끝난다.
+            2. ReentrantLock + Condition 으로 기다리므로 캐리어 스레드 고정(pinning)이 없다.
+            """)
+    void virtualThreadsDoNotPin() throws Exception {
+        BoundedQueueV8<Integer> queue = new BoundedQueueV8<>(1);
+        int pairs = 10_000;
+        LongAdder sum = new LongAdder();
+
+        PinningDetector detector = PinningDetector.start(Duration.ofMillis(1));
+        ExecutorService es = Executors.newVirtualThreadPerTaskExecutor();
+        boolean finished;
+        try {
+            for (int i = 0; i < pairs; i++) {
+                int value = i;
+                es.execute(() -> sum.add(queue.take()));
+                es.execute(() -> queue.put(value));
+            }
+            es.shutdown();
+            finished = es.awaitTermination(10, TimeUnit.SECONDS);
+            if (!finished) {
+                es.shutdownNow(); // 멈춘 가상 스레드를 인터럽트로 깨워서 정리한다.
+            }
+        } finally {
+            detector.close(); // 아직 전달되지 않은 이벤트까지 센다.
+        }
+
+        assertThat(finished).isTrue();
+        assertThat(sum.sum()).isEqualTo((long) pairs * (pairs - 1) / 2);
+        assertThat(detector.getPinnedCount()).isZero();
+    }
+}
@@ -0,0 +1,134 @@
+package me.geon.thread.bounded;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedQueueV9Test {
+
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("세그먼트를 여러 번 넘어가도 넣은 순서대로 꺼내지고, 다 읽은 세그먼트 파일은 지워진다.")
+    void keepsOrderAcrossSegments() {
+        try (BoundedQueueV9 queue = new BoundedQueueV9(dir, 10_000, SEGMENT_BYTES)) {
+            for (int i = 0; i < 2_000; i++) {
+                queue.put("data" + i);
+            }
+            assertThat(queue.segmentCount()).isGreaterThan(1);
+
+            for (int i = 0; i < 2_000; i++) {
+                assertThat(queue.take()).isEqualTo("data" + i);
+            }
+            assertThat(queue.size()).isZero();
+            assertThat(queue.segmentCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("close() 없이 버려도 같은 디렉터리로 다시 열면 남은 데이터를 이어서 읽는다.")
+    void recoversWithoutClose() {
+        BoundedQueueV9 crashed = new BoundedQueueV9(dir, 10_000, SEGMENT_BYTES);
+        for (int i = 0; i < 1_000; i++) {
+            crashed.put("한글-" + i);
+        }
+        List<String> firstHalf = new ArrayList<>();
+        crashed.takeBatch(400, firstHalf);
+        crashed.abandon();
+
+        try (BoundedQueueV9 reopened = new BoundedQueueV9(dir, 10_000, SEGMENT_BYTES)) {
+            assertThat(reopened.size()).isEqualTo(600);
+            for (int i = 400; i < 1_000; i++) {
+                assertThat(reopened.take()).isEqualTo("한글-" + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("다 읽은 세그먼트 파일이 지워졌는데 헤더가 아직 그 세그먼트를 가리켜도, 빈 레코드 없이 다음 세그먼트부터 읽는다.")
+    void recoversWhenReadSegmentDeletedBeforeHeaderMoved() throws IOException {
+        // 레코드 = 4 + 8byte, 세그먼트 하나에 341개가 들어가고 끝에 "다음 세그먼트로" 표시가 남는다.
+        int perSegment = SEGMENT_BYTES / 12;
+        BoundedQueueV9 crashed = new BoundedQueueV9(dir, 10_000, SEGMENT_BYTES);
+        for (int i = 0; i < 1_000; i++) {
+            crashed.put(String.format("%08d", i));
+        }
+        for (int i = 0; i < perSegment; i++) {
+            crashed.take();
+        }
+        crashed.abandon();
+        // 헤더의 readPos 는 세그먼트 0 의 끝에 있다. 파일만 지우고 헤더를 옮기기 전에 죽은 상황을 만든다.
+        Files.delete(dir.resolve("segment-0000000000.dat"));
+
+        try (BoundedQueueV9 reopened = new BoundedQueueV9(dir, 10_000, SEGMENT_BYTES)) {
+            assertThat(reopened.size()).isEqualTo(1_000 - perSegment);
+            for (int i = perSegment; i < 1_000; i++) {
+                assertThat(reopened.take()).isEqualTo(String.format("%08d", i));
+            }
+        }
+        assertThat(Files.exists(dir.resolve("segment-0000000000.dat"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("maxRecords 만큼 차면 offer 는 false, poll 은 비어 있으면 timeout 후 null 을 반환한다.")
+    void bounded() throws InterruptedException {
+        try (BoundedQueueV9 queue = new BoundedQueueV9(dir, 2, SEGMENT_BYTES)) {
+            assertThat(queue.offer("a")).isTrue();
+            assertThat(queue.offer("b")).isTrue();
+            assertThat(queue.offer("c")).isFalse();
+
+            assertThat(queue.poll(10, TimeUnit.MILLISECONDS)).isEqualTo("a");
+            assertThat(queue.poll(10, TimeUnit.MILLISECONDS)).isEqualTo("b");
+            assertThat(queue.poll(10, TimeUnit.MILLISECONDS)).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("세그먼트보다 큰 레코드와 segmentBytes 가 다른 재열기는 거절한다.")
+    void rejectsInvalidUsage() {
+        try (BoundedQueueV9 queue = new BoundedQueueV9(dir, 10, SEGMENT_BYTES)) {
+            assertThatThrownBy(() -> queue.put("x".repeat(SEGMENT_BYTES)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThatThrownBy(() -> new BoundedQueueV9(dir, 10, SEGMENT_BYTES * 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("헤더를 만들다 MAGIC 을 쓰기 전에 죽었으면, 다시 열 때 헤더를 새로 초기화한다.")
+    void reinitializesHeaderWithoutMagic() throws IOException {
+        Files.write(dir.resolve(BoundedQueueV9.META_FILE), new byte[8]);
+
+        try (BoundedQueueV9 queue = new BoundedQueueV9(dir, 10, SEGMENT_BYTES)) {
+            assertThat(queue.size()).isZero();
+            queue.put("a");
+            assertThat(queue.take()).isEqualTo("a");
+        }
+    }
+
+    @Test
+    @DisplayName("같은 디렉터리를 두 인스턴스가 동시에 열 수 없다. 닫으면 다시 열 수 있다.")
+    void lockedByOneInstance() {
+        BoundedQueueV9 first = new BoundedQueueV9(dir, 10, SEGMENT_BYTES);
+        assertThatThrownBy(() -> new BoundedQueueV9(dir, 10, SEGMENT_BYTES))
+                .isInstanceOf(IllegalStateException.class);
+        first.close();
+
+        try (BoundedQueueV9 second = new BoundedQueueV9(dir, 10, SEGMENT_BYTES)) {
+            assertThat(second.size()).isZero();
+        }
+    }
+}
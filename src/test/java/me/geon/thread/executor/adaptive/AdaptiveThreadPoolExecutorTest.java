@@ -0,0 +1,43 @@
+package me.geon.thread.executor.adaptive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static me.geon.thread.executor.adaptive.AdaptiveThreadPoolExecutor.nextPoolSize;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveThreadPoolExecutorTest {
+
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long EXEC_100MS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    @DisplayName("대기 시간이 목표를 넘으면 늘리되, 한 번에 두 배를 넘지 않는다.")
+    void growsAtMostDouble() {
+        PoolSample overloaded = new PoolSample(100, TimeUnit.MILLISECONDS.toNanos(300), EXEC_100MS, 50, 2);
+        assertThat(nextPoolSize(2, 2, 16, TARGET, overloaded)).isEqualTo(4);
+        assertThat(nextPoolSize(8, 2, 16, TARGET, overloaded)).isEqualTo(16);
+        assertThat(nextPoolSize(12, 2, 16, TARGET, overloaded)).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("한가하면 하나씩 줄이되, 리틀의 법칙으로 계산한 필요 수(+20%) 아래로는 줄이지 않는다.")
+    void shrinksOneByOneDownToRequired() {
+        PoolSample idle = new PoolSample(0, 0, 0, 0, 0);
+        assertThat(nextPoolSize(5, 2, 16, TARGET, idle)).isEqualTo(4);
+        assertThat(nextPoolSize(2, 2, 16, TARGET, idle)).isEqualTo(2);
+
+        PoolSample steady = new PoolSample(50, 0, EXEC_100MS, 0, 5); // 필요 5개, 여유 포함 6개
+        assertThat(nextPoolSize(8, 2, 16, TARGET, steady)).isEqualTo(7);
+        assertThat(nextPoolSize(6, 2, 16, TARGET, steady)).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("대기 시간이 목표 근처면 그대로 둔다.")
+    void keepsSizeNearTarget() {
+        PoolSample nearTarget = new PoolSample(50, TimeUnit.MILLISECONDS.toNanos(40), EXEC_100MS, 2, 5);
+        assertThat(nextPoolSize(5, 2, 16, TARGET, nearTarget)).isEqualTo(5);
+    }
+}
@@ -0,0 +1,128 @@
+package me.geon.thread.executor.cancel;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CancellationTokenTest {
+
+    @Test
+    @DisplayName("부모를 취소하면 자식도 취소되고, 자식을 취소해도 부모는 그대로다.")
+    void childFollowsParent() {
+        CancellationToken parent = CancellationToken.create();
+        CancellationToken child1 = parent.child();
+        CancellationToken child2 = parent.child();
+
+        child1.cancel();
+        assertThat(parent.isCancelled()).isFalse();
+
+        parent.cancel("종료");
+        assertThat(child2.isCancelled()).isTrue();
+        assertThat(child2.getReason()).isEqualTo("종료");
+    }
+
+    @Test
+    @DisplayName("sleep() 은 다른 스레드가 취소하면 바로 깨어난다.")
+    void sleepWakesUpOnCancel() throws InterruptedException {
+        CancellationToken token = CancellationToken.create();
+        Thread canceller = new Thread(() -> {
+            sleepQuietly(100);
+            token.cancel();
+        });
+        canceller.start();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> token.sleep(10_000)).isInstanceOf(CancellationException.class);
+        assertThat(System.nanoTime() - start).isLessThan(Duration.ofSeconds(2).toNanos());
+        canceller.join();
+    }
+
+    @Test
+    @DisplayName("마감 시각은 체인의 다음 단계로 이어지고, 마감 뒤 단계는 실행되지 않는다.")
+    void deadlinePropagatesAcrossStages() {
+        ExecutorService es = Executors.newFixedThreadPool(1);
+        AtomicBoolean lastStageRan = new AtomicBoolean();
+
+        CancellableFuture<Integer> chain = CancellableFuture.supplyAsync(Deadline.after(Duration.ofMillis(300)),
+                token -> {
+                    token.sleep(200);
+                    return 1;
+                }, es).thenApplyAsync((value, token) -> {
+            token.sleep(200);
+            return value + 1;
+        }, es).thenApplyAsync((value, token) -> {
+            lastStageRan.set(true);
+            return value + 1;
+        }, es);
+
+        assertThatThrownBy(chain::join).isInstanceOf(CancellationException.class);
+        assertThat(lastStageRan).isFalse();
+        es.close();
+    }
+
+    @Test
+    @DisplayName("취소되면 토큰을 모르는 블로킹 작업도 인터럽트로 풀려나고, 풀 스레드에는 인터럽트가 남지 않는다.")
+    void interruptsRunningTask() {
+        ExecutorService es = Executors.newFixedThreadPool(1);
+        CancellableFuture<String> blocking = CancellableFuture.supplyAsync(CancellationToken.create(), token -> {
+            Thread.sleep(10_000);
+            return "done";
+        }, es);
+        sleepQuietly(100);
+        blocking.cancel();
+
+        assertThatThrownBy(blocking::join).isInstanceOf(CancellationException.class);
+        CancellableFuture<Boolean> next = CancellableFuture.supplyAsync(CancellationToken.create(),
+                token -> Thread.currentThread().isInterrupted(), es);
+        assertThat(next.join()).isFalse();
+        es.close();
+    }
+
+    @Test
+    @DisplayName("끝난 체인은 오래 사는 부모 토큰에 리스너와 마감 타이머를 남기지 않고, 끝난 뒤 붙인 단계도 부모 취소를 따른다.")
+    void completedChainsReleaseParent() {
+        ExecutorService es = Executors.newFixedThreadPool(2);
+        CancellationToken parent = CancellationToken.create(Deadline.after(Duration.ofHours(1)));
+        int timersBefore = CancellationToken.scheduledTimers();
+
+        for (int i = 0; i < 1_000; i++) {
+            int value = i;
+            CancellableFuture.supplyAsync(parent, token -> value, es)
+                    .thenApplyAsync((v, token) -> v + 1, es)
+                    .join();
+        }
+        CancellableFuture<Integer> finished = CancellableFuture.supplyAsync(parent, token -> 1, es);
+        finished.join();
+        es.close(); // 완료 콜백까지 모두 끝난다.
+
+        assertThat(parent.listenerCount()).isZero();
+        assertThat(CancellationToken.scheduledTimers()).isEqualTo(timersBefore);
+
+        // 끝난 체인에 단계를 붙이면 다시 부모에 연결된다.
+        ExecutorService next = Executors.newFixedThreadPool(1);
+        CancellableFuture<Integer> resumed = finished.thenApplyAsync((v, token) -> {
+            token.sleep(10_000);
+            return v;
+        }, next);
+        assertThat(parent.listenerCount()).isEqualTo(1);
+        parent.cancel("종료");
+        assertThatThrownBy(resumed::join).isInstanceOf(CancellationException.class);
+        next.close();
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package me.geon.thread.executor.hedge;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgedExecutorTest {
+
+    @Test
+    @DisplayName("첫 시도가 hedge 지연보다 오래 걸리면 예비 시도가 이기고, 진 시도는 인터럽트된다.")
+    void backupWinsAndLoserIsCancelled() throws Exception {
+        ExecutorService es = Executors.newFixedThreadPool(2);
+        HedgedExecutor hedged = new HedgedExecutor(es, HedgePolicy.fixed(Duration.ofMillis(50)));
+        CountDownLatch loserInterrupted = new CountDownLatch(1);
+
+        Callable<String> slow = () -> {
+            try {
+                Thread.sleep(10_000);
+                return "primary";
+            } catch (InterruptedException e) {
+                loserInterrupted.countDown();
+                throw e;
+            }
+        };
+        Callable<String> fast = () -> "backup";
+
+        assertThat(hedged.invoke(List.of(slow, fast))).isEqualTo("backup");
+        assertThat(loserInterrupted.await(1, TimeUnit.SECONDS)).isTrue();
+
+        HedgeStats stats = hedged.stats();
+        assertThat(stats.hedged()).isEqualTo(1);
+        assertThat(stats.backupWins()).isEqualTo(1);
+        assertThat(stats.loadFactor()).isEqualTo(2.0);
+        es.close();
+    }
+
+    @Test
+    @DisplayName("첫 시도가 빨리 끝나면 예비 시도를 보내지 않는다.")
+    void noHedgeWhenFast() throws Exception {
+        ExecutorService es = Executors.newFixedThreadPool(2);
+        HedgedExecutor hedged = new HedgedExecutor(es, HedgePolicy.fixed(Duration.ofSeconds(1)));
+
+        assertThat(hedged.invoke(() -> "ok", 3)).isEqualTo("ok");
+        assertThat(hedged.stats().attempts()).isEqualTo(1);
+        es.close();
+    }
+
+    @Test
+    @DisplayName("시도가 실패하면 지연 없이 다음 시도를 보내고, 모두 실패하면 ExecutionException 을 던진다.")
+    void failuresTriggerNextAttempt() throws Exception {
+        ExecutorService es = Executors.newFixedThreadPool(2);
+        HedgedExecutor hedged = new HedgedExecutor(es, HedgePolicy.fixed(Duration.ofSeconds(10)));
+        Callable<String> failing = () -> {
+            throw new IllegalStateException("실패");
+        };
+
+        long start = System.nanoTime();
+        assertThat(hedged.invoke(List.of(failing, () -> "retry"))).isEqualTo("retry");
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+
+        assertThatThrownBy(() -> hedged.invoke(failing, 2)).isInstanceOf(ExecutionException.class);
+        assertThat(hedged.stats().failures()).isEqualTo(1);
+        es.close();
+    }
+
+    @Test
+    @DisplayName("""
+            percentile 정책
+            1. 예비 시도가 이기면 취소된 첫 시도가 기다린 시간도 표본에 들어간다.
+            2. 그래서 빠른 예비 시도만 기록되어 hedge 지연이 0 에 가깝게 줄어드는 일이 없다.
+            """)
+    void percentilePolicyKeepsSlowPrimaries() throws Exception {
+        ExecutorService es = Executors.newFixedThreadPool(2);
+        HedgePolicy policy = HedgePolicy.percentile(90, Duration.ofMillis(30), 10);
+        HedgedExecutor hedged = new HedgedExecutor(es, policy);
+        Callable<String> slow = () -> {
+            Thread.sleep(10_000);
+            return "primary";
+        };
+        Callable<String> fast = () -> "backup";
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(hedged.invoke(List.of(slow, fast))).isEqualTo("backup");
+        }
+        Thread.sleep(150); // 백분위 캐시(100ms)가 갱신되도록
+
+        // 표본 절반은 예비 시도(수 µs), 절반은 취소된 첫 시도(hedge 지연 이상)
+        assertThat(policy.hedgeDelayNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+        es.close();
+    }
+}
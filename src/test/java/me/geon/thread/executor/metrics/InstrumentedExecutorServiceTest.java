@@ -0,0 +1,103 @@
+package me.geon.thread.executor.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstrumentedExecutorServiceTest {
+
+    @Test
+    @DisplayName("스레드 1개, 큐 1칸인 풀에서 세 번째 작업은 거절되고, 두 번째 작업의 대기 시간이 기록된다.")
+    void recordsRejectionAndQueueWait() throws InterruptedException {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        InstrumentedExecutorService executor = new InstrumentedExecutorService("test", pool);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.execute(() -> await(release));
+        executor.execute(() -> {
+        });
+        assertThatThrownBy(() -> executor.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+
+        Thread.sleep(50);
+        release.countDown();
+        executor.close();
+
+        ExecutorMetrics metrics = executor.snapshot();
+        assertThat(metrics.submitted()).isEqualTo(3);
+        assertThat(metrics.rejected()).isEqualTo(1);
+        assertThat(metrics.completed()).isEqualTo(2);
+        assertThat(metrics.queued()).isZero();
+        assertThat(metrics.running()).isZero();
+        assertThat(metrics.queueWait().count()).isEqualTo(2);
+        assertThat(metrics.queueWait().max()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    @DisplayName("가상 스레드 executor 도 감쌀 수 있다.")
+    void virtualThreads() {
+        InstrumentedExecutorService executor = new InstrumentedExecutorService("virtual",
+                Executors.newVirtualThreadPerTaskExecutor());
+        for (int i = 0; i < 1_000; i++) {
+            executor.submit(() -> {
+            });
+        }
+        executor.close();
+
+        assertThat(executor.snapshot().completed()).isEqualTo(1_000);
+        assertThat(executor.snapshot().execution().count()).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("""
+            위임 대상이 돌려주지 않거나 버린 작업도 대기 수에서 빠진다.
+            1. ForkJoinPool.shutdownNow() 는 남은 작업을 빈 목록으로 돌려준다.
+            2. DiscardPolicy 는 작업을 조용히 버린다. 풀이 종료되면 대기 수는 0 이다.
+            """)
+    void queuedIsClearedForDroppedTasks() throws InterruptedException {
+        InstrumentedExecutorService forkJoin = new InstrumentedExecutorService("fork-join", new ForkJoinPool(1));
+        CountDownLatch release = new CountDownLatch(1);
+        forkJoin.execute(() -> await(release));
+        for (int i = 0; i < 3; i++) {
+            forkJoin.execute(() -> {
+            });
+        }
+        forkJoin.shutdownNow();
+        assertThat(forkJoin.snapshot().queued()).isZero();
+        release.countDown();
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                new ThreadPoolExecutor.DiscardPolicy());
+        InstrumentedExecutorService discarding = new InstrumentedExecutorService("discard", pool);
+        CountDownLatch block = new CountDownLatch(1);
+        discarding.execute(() -> await(block));
+        discarding.execute(() -> {
+        });
+        discarding.execute(() -> {
+        }); // 조용히 버려진다.
+        block.countDown();
+        discarding.close();
+
+        ExecutorMetrics metrics = discarding.snapshot();
+        assertThat(metrics.completed()).isEqualTo(2);
+        assertThat(metrics.queued()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package me.geon.thread.executor.overload;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SheddingThreadPoolExecutorTest {
+
+    @Test
+    @DisplayName("CALLER_RUNS: 큐가 가득 차면 제출한 스레드가 직접 실행한다.")
+    void callerRuns() throws Exception {
+        SheddingThreadPoolExecutor es = BoundedExecutors.newCallerRunsPool(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        es.execute(() -> await(release)); // 작업 스레드 점유
+        es.execute(() -> {
+        });                               // 큐 1칸 채움
+
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        es.execute(() -> ranOn.set(Thread.currentThread()));
+
+        assertThat(ranOn.get()).isEqualTo(Thread.currentThread());
+        assertThat(es.getShedStats().callerRuns()).isEqualTo(1);
+        assertThat(es.getShedStats().shed()).isZero();
+        release.countDown();
+        es.close();
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST: 큐가 가득 차면 가장 오래된 작업을 버리고, 그 Future 는 취소된다.")
+    void dropOldest() throws Exception {
+        SheddingThreadPoolExecutor es = BoundedExecutors.newDropOldestPool(1, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        es.execute(() -> await(release));
+        Future<String> oldest = es.submit(() -> "oldest");
+        Future<String> middle = es.submit(() -> "middle");
+        Future<String> newest = es.submit(() -> "newest");
+
+        assertThat(oldest.isCancelled()).isTrue();
+        release.countDown();
+        assertThat(middle.get(1, TimeUnit.SECONDS)).isEqualTo("middle");
+        assertThat(newest.get(1, TimeUnit.SECONDS)).isEqualTo("newest");
+        assertThat(es.getShedStats().droppedOldest()).isEqualTo(1);
+        es.close();
+    }
+
+    @Test
+    @DisplayName("CODEL: interval 보다 오래 기다린 작업은 실행하지 않고 버린다.")
+    void codelDropsStaleTasks() throws Exception {
+        SheddingThreadPoolExecutor es = BoundedExecutors.newCoDelPool(1, 10,
+                Duration.ofMillis(5), Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        es.execute(() -> await(release));
+        List<Future<?>> stale = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            stale.add(es.submit(() -> {
+            }));
+        }
+        Thread.sleep(100); // interval(50ms) 보다 오래 기다리게 한다.
+        release.countDown();
+        // 스레드가 1개이므로 새 작업이 끝났다면 앞의 작업들은 이미 처리(버림)되었다.
+        assertThat(es.submit(() -> "fresh").get(1, TimeUnit.SECONDS)).isEqualTo("fresh");
+
+        es.close();
+        assertThat(stale.stream().allMatch(Future::isCancelled)).isTrue();
+        assertThat(es.getShedStats().droppedBySojourn()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("CoDel 판단: 대기 시간이 interval 내내 target 을 넘어야 target 기준으로 버리기 시작한다.")
+    void codelController() {
+        long ms = TimeUnit.MILLISECONDS.toNanos(1);
+        long start = System.nanoTime();
+        CoDelController codel = new CoDelController(Duration.ofMillis(5), Duration.ofMillis(100));
+
+        assertThat(codel.shouldDrop(1 * ms, start)).isFalse();            // target 아래
+        assertThat(codel.shouldDrop(20 * ms, start + 50 * ms)).isFalse();  // 잠깐 밀림 (burst)
+        assertThat(codel.shouldDrop(150 * ms, start + 60 * ms)).isTrue();  // interval 초과는 항상 버림
+        assertThat(codel.shouldDrop(20 * ms, start + 120 * ms)).isTrue();  // 100ms 동안 target 초과 -> 과부하
+        assertThat(codel.isOverloaded(start + 120 * ms)).isTrue();
+        assertThat(codel.shouldDrop(1 * ms, start + 130 * ms)).isFalse(); // 회복
+        assertThat(codel.shouldDrop(20 * ms, start + 140 * ms)).isFalse();
+    }
+
+    @Test
+    @DisplayName("shutdownNow() 는 큐에 남은 작업을 돌려준다.")
+    void shutdownNowReturnsQueuedTasks() throws Exception {
+        SheddingThreadPoolExecutor es = BoundedExecutors.newCallerRunsPool(1, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        es.execute(() -> await(release));
+        es.execute(() -> {
+        });
+        es.execute(() -> {
+        });
+
+        assertThat(es.getQueue().size()).isEqualTo(2);
+        assertThat(es.shutdownNow().size()).isEqualTo(2);
+        assertThat(es.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("execute() 가 큐에 넣은 직후 shutdown() 되면, 작업을 큐에서 되돌리고 RejectedExecutionException 을 던진다.")
+    void executeRacingWithShutdown() throws Exception {
+        AtomicReference<ThreadPoolExecutor> executor = new AtomicReference<>();
+        BoundedTaskQueue queue = new BoundedTaskQueue(4) {
+            @Override
+            public boolean offer(Runnable task) {
+                boolean offered = super.offer(task);
+                executor.get().shutdown(); // offer 와 execute() 의 상태 재확인 사이에 shutdown 이 끼어든 상황
+                return offered;
+            }
+        };
+        // core 0 이면 execute() 가 작업 스레드를 만들기 전에 먼저 큐에 넣는다. (꺼내 갈 작업 스레드가 없다)
+        ThreadPoolExecutor es = new ThreadPoolExecutor(0, 1, 0, TimeUnit.MILLISECONDS, queue);
+        executor.set(es);
+
+        assertThatThrownBy(() -> es.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+        assertThat(queue.size()).isZero();
+        assertThat(es.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("큐에서 기다리는 작업은 remove() 로 지울 수 있고, 취소된 작업은 purge() 로 정리된다.")
+    void removeAndPurge() throws Exception {
+        SheddingThreadPoolExecutor es = BoundedExecutors.newCallerRunsPool(1, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        es.execute(() -> await(release));
+        Runnable removed = () -> {
+        };
+        es.execute(removed);
+        Future<String> cancelled = es.submit(() -> "cancelled");
+        Future<String> kept = es.submit(() -> "kept");
+
+        assertThat(es.remove(removed)).isTrue();
+        assertThat(cancelled.cancel(false)).isTrue();
+        es.purge();
+        assertThat(es.getQueue().size()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(kept.get(1, TimeUnit.SECONDS)).isEqualTo("kept");
+        es.close();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // shutdownNow() 의 인터럽트, 조용히 끝낸다.
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package me.geon.thread.executor.pipeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PipelineTest {
+
+    @Test
+    @DisplayName("mapAsync 는 작업이 끝나는 순서와 관계없이 입력 순서대로 결과를 내보낸다.")
+    void orderedStageKeepsInputOrder() {
+        ExecutorService es = Executors.newFixedThreadPool(4);
+        List<Integer> inputs = IntStream.range(0, 200).boxed().toList();
+
+        List<Integer> result = Pipeline.from(inputs)
+                .mapAsync(4, es, i -> {
+                    sleepRandomly();
+                    return i * 2;
+                })
+                .toList();
+
+        assertThat(result).isEqualTo(inputs.stream().map(i -> i * 2).toList());
+        es.close();
+    }
+
+    @Test
+    @DisplayName("단계마다 동시에 실행되는 작업 수는 maxInFlight 를 넘지 않는다.")
+    void maxInFlightIsRespected() {
+        ExecutorService es = Executors.newFixedThreadPool(16);
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+
+        List<Integer> result = Pipeline.from(IntStream.range(0, 300).boxed().toList())
+                .mapAsyncUnordered(3, es, i -> {
+                    max.accumulateAndGet(current.incrementAndGet(), Math::max);
+                    sleepRandomly();
+                    current.decrementAndGet();
+                    return i;
+                })
+                .toList();
+
+        assertThat(result.size()).isEqualTo(300);
+        assertThat(result.stream().mapToInt(Integer::intValue).sum()).isEqualTo(300 * 299 / 2);
+        assertThat(max.get()).isBetween(1, 3);
+        es.close();
+    }
+
+    @Test
+    @DisplayName("어느 단계든 실패하면 파이프라인이 멈추고 CompletionException 으로 원인을 던진다.")
+    void failureStopsPipeline() {
+        ExecutorService es = Executors.newFixedThreadPool(4);
+        AtomicInteger processed = new AtomicInteger();
+
+        assertThatThrownBy(() -> Pipeline.from(IntStream.range(0, 10_000).boxed().toList())
+                .mapAsync(2, es, i -> {
+                    if (i == 10) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return i;
+                })
+                .mapAsyncUnordered(2, es, i -> processed.incrementAndGet())
+                .toList())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(processed.get()).isLessThan(100);
+        es.close();
+    }
+
+    @Test
+    @DisplayName("단계들이 executor 를 공유하고 뒤 단계가 느려도, executor 스레드가 다음 큐를 기다리며 막히지 않는다.")
+    void sharedExecutorDoesNotDeadlock() throws Exception {
+        ExecutorService es = Executors.newFixedThreadPool(2);
+        ExecutorService runner = Executors.newSingleThreadExecutor();
+        List<Integer> inputs = IntStream.range(0, 200).boxed().toList();
+
+        // 앞 단계(maxInFlight 4)의 결과가 뒤 단계(maxInFlight 1) 큐를 채워도, 뒤 단계 작업이 같은 executor 에서 실행되어야 한다.
+        Future<List<Integer>> run = runner.submit(() -> Pipeline.from(inputs)
+                .mapAsyncUnordered(4, es, i -> i)
+                .mapAsync(1, es, i -> {
+                    sleepRandomly();
+                    return i;
+                })
+                .toList());
+
+        List<Integer> result = run.get(10, TimeUnit.SECONDS);
+        assertThat(result.stream().mapToInt(Integer::intValue).sum()).isEqualTo(200 * 199 / 2);
+        runner.close();
+        es.close();
+    }
+
+    @Test
+    @DisplayName("단계 함수가 null 을 반환하면 결과를 버리지 않고 NullPointerException 으로 실패한다.")
+    void nullResultFailsPipeline() {
+        ExecutorService es = Executors.newFixedThreadPool(2);
+
+        assertThatThrownBy(() -> Pipeline.from(IntStream.range(0, 100).boxed().toList())
+                .mapAsync(2, es, i -> i == 50 ? null : i)
+                .toList())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(NullPointerException.class);
+        es.close();
+    }
+
+    @Test
+    @DisplayName("""
+            순서 유지 단계에서 앞 작업이 끝나지 않아도, 뒤 작업이 실패하면 파이프라인이 바로 실패한다.
+            1. emitter 는 앞 작업의 future 를 timeout 으로 나눠 기다리며 실패 여부를 확인한다.
+            2. 진행 중인 future 는 취소된다.
+            """)
+    void failureDoesNotWaitForSlowOrderedTask() throws Exception {
+        ExecutorService es = Executors.newFixedThreadPool(4);
+        ExecutorService runner = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slowStarted = new CompletableFuture<>();
+
+        Future<List<Integer>> run = runner.submit(() -> Pipeline.from(IntStream.range(0, 100).boxed().toList())
+                .mapAsync(4, es, i -> {
+                    if (i == 0) {
+                        slowStarted.complete(null);
+                        await(release); // 실패 후에도 끝나지 않는 작업
+                    }
+                    if (i == 1) {
+                        slowStarted.join();
+                        throw new IllegalStateException("boom");
+                    }
+                    return i;
+                })
+                .toList());
+
+        assertThatThrownBy(() -> run.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+        release.countDown();
+        runner.close();
+        es.close();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void sleepRandomly() {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package me.geon.thread.forkjoin;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelRangeReducerTest {
+
+    private final ParallelRangeReducer reducer = new ParallelRangeReducer(new ForkJoinPool(4));
+
+    @Test
+    @DisplayName("합계, 최솟값, 최댓값이 순차 계산과 같다. (임계값보다 훨씬 큰 구간)")
+    void matchesSequential() {
+        long start = -3_000_000;
+        long end = 5_000_000;
+        assertThat(reducer.sum(start, end)).isEqualTo(LongStream.rangeClosed(start, end).sum());
+        assertThat(reducer.min(start, end, i -> i * i % 9973)).isEqualTo(
+                LongStream.rangeClosed(start, end).map(i -> i * i % 9973).min().orElseThrow());
+        assertThat(reducer.max(start, end, i -> i * i % 9973)).isEqualTo(
+                LongStream.rangeClosed(start, end).map(i -> i * i % 9973).max().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("나누는 방법과 상관없이 왼쪽에서 오른쪽 순서로 합친다. (교환 법칙이 없는 리듀서)")
+    void keepsEncounterOrder() {
+        LongReducer first = LongReducer.of(Long.MIN_VALUE, (a, b) -> a == Long.MIN_VALUE ? b : a);
+        LongReducer last = LongReducer.of(Long.MIN_VALUE, (a, b) -> b == Long.MIN_VALUE ? a : b);
+        assertThat(reducer.reduce(10, 10_000_000, i -> i, first)).isEqualTo(10);
+        assertThat(reducer.reduce(10, 10_000_000, i -> i, last)).isEqualTo(10_000_000);
+    }
+
+    @Test
+    @DisplayName("빈 구간은 identity, 원소 하나인 구간은 그 값을 반환한다.")
+    void edgeRanges() {
+        assertThat(reducer.sum(5, 4)).isZero();
+        assertThat(reducer.min(5, 4, i -> i)).isEqualTo(Long.MAX_VALUE);
+        assertThat(reducer.sum(7, 7)).isEqualTo(7);
+        assertThat(reducer.sum(1, 100)).isEqualTo(5050);
+    }
+}
@@ -0,0 +1,40 @@
+package me.geon.thread.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("모든 값은 자기 버킷의 [최솟값, 최솟값 + 폭) 범위에 들어간다.")
+    void bucketBoundaries() {
+        long[] values = {0, 1, 31, 32, 63, 64, 65, 1_000, 123_456_789L, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            long lowest = LatencyHistogram.lowestValueAt(index);
+            assertThat(value).isGreaterThanOrEqualTo(lowest);
+            assertThat(value - lowest).isLessThan(LatencyHistogram.widthAt(index));
+        }
+        assertThat(LatencyHistogram.indexOf(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    @DisplayName("백분위 값은 실제 값과 약 3% 이내로 일치한다.")
+    void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1_000L); // 1us ~ 100ms
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo(100_000);
+        assertThat(snapshot.min()).isEqualTo(1_000);
+        assertThat(snapshot.max()).isEqualTo(100_000_000);
+        assertThat((double) snapshot.percentile(50)).isCloseTo(50_000_000, within(1_500_000.0));
+        assertThat((double) snapshot.percentile(99)).isCloseTo(99_000_000, within(3_000_000.0));
+        assertThat(snapshot.countAbove(90_000_000)).isBetween(9_000L, 10_000L);
+    }
+}
@@ -0,0 +1,111 @@
+package me.geon.thread.monitor;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ThreadStateSamplerTest {
+
+    @Test
+    @DisplayName("모니터 진입을 기다리는 스레드는 BLOCKED 로 집계되고, 락 소유자가 기록된다.")
+    void blockedThreadAndLockOwner() throws Exception {
+        Object monitor = new Object();
+        CountDownLatch entered = new CountDownLatch(1);
+        Thread blocked = new Thread(() -> {
+            entered.countDown();
+            synchronized (monitor) {
+                // 진입만 확인
+            }
+        }, "blocked-thread");
+
+        try (ThreadStateSampler sampler = ThreadStateSampler.start(Duration.ofHours(1))) {
+            synchronized (monitor) {
+                blocked.start();
+                entered.await();
+                waitForState(blocked, Thread.State.BLOCKED);
+                sampler.register("worker", blocked);
+                for (int i = 0; i < 5; i++) {
+                    sampler.sampleOnce();
+                }
+            }
+            blocked.join();
+
+            ThreadGroupProfile profile = sampler.snapshot().get("worker");
+            assertThat(profile.threads()).isEqualTo(1);
+            assertThat(profile.samples()).isEqualTo(5);
+            assertThat(profile.fraction(Thread.State.BLOCKED)).isEqualTo(1.0);
+            assertThat(profile.lockOwners().get(Thread.currentThread().getName())).isEqualTo(5L);
+        }
+    }
+
+    @Test
+    @DisplayName("그룹별로 따로 집계하고, 종료된 스레드는 마지막 값을 유지한다.")
+    void aggregatesPerGroup() throws Exception {
+        Thread parked = new Thread(LockSupport::park, "parked-thread");
+        Thread finished = new Thread(() -> {
+        }, "finished-thread");
+        parked.setDaemon(true);
+        parked.start();
+        finished.start();
+        waitForState(parked, Thread.State.WAITING);
+
+        try (ThreadStateSampler sampler = ThreadStateSampler.start(Duration.ofHours(1))) {
+            sampler.register("waiting", parked);
+            sampler.register("done", finished);
+            finished.join();
+            sampler.sampleOnce();
+            sampler.sampleOnce();
+
+            assertThat(sampler.snapshot().get("waiting").fraction(Thread.State.WAITING)).isEqualTo(1.0);
+            assertThat(sampler.snapshot().get("done").samples()).isZero();
+            assertThat(sampler.rounds()).isEqualTo(2);
+        } finally {
+            LockSupport.unpark(parked);
+        }
+    }
+
+    @Test
+    @DisplayName("가상 스레드는 등록할 수 없다.")
+    void rejectsVirtualThreads() {
+        try (ThreadStateSampler sampler = ThreadStateSampler.start(Duration.ofHours(1))) {
+            assertThatThrownBy(() -> sampler.register("virtual", Thread.ofVirtual().unstarted(() -> {
+            }))).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            경합 모니터링은 JVM 전역 설정
+            1. 다른 샘플러가 열려 있는 동안에는 하나를 닫아도 꺼지지 않는다.
+            2. 마지막 샘플러가 닫히면 원래 설정으로 돌아간다.
+            """)
+    void contentionMonitoringStaysOnWhileAnySamplerIsOpen() {
+        ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(mxBean.isThreadContentionMonitoringSupported());
+        boolean before = mxBean.isThreadContentionMonitoringEnabled();
+
+        ThreadStateSampler first = ThreadStateSampler.start(Duration.ofHours(1));
+        ThreadStateSampler second = ThreadStateSampler.start(Duration.ofHours(1));
+        first.close();
+        first.close(); // 두 번 닫아도 second 의 몫을 줄이지 않는다.
+        assertThat(mxBean.isThreadContentionMonitoringEnabled()).isTrue();
+
+        second.close();
+        assertThat(mxBean.isThreadContentionMonitoringEnabled()).isEqualTo(before);
+    }
+
+    private static void waitForState(Thread thread, Thread.State state) throws InterruptedException {
+        while (thread.getState() != state) {
+            Thread.sleep(1);
+        }
+    }
+}
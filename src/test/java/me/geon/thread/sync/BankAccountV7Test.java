@@ -0,0 +1,55 @@
+package me.geon.thread.sync;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BankAccountV7Test {
+
+    @Test
+    @DisplayName("""
+            CAS 재시도 계좌
+            1. 여러 스레드가 동시에 출금해도 잔액이 음수가 되지 않는다.
+            2. 출금 작업(1초)은 스레드마다 한 번만 하므로, 동시에 출금해도 전체가 약 1초에 끝난다.
+            """)
+    void neverOverdraws() throws InterruptedException {
+        BankAccountV7 account = new BankAccountV7(1000);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        // 300원씩 4번 중 3번만 성공할 수 있다.
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread(() -> {
+                if (account.withdraw(300)) {
+                    succeeded.incrementAndGet();
+                }
+            }, "t" + i));
+        }
+        long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(succeeded.get()).isEqualTo(3);
+        assertThat(account.getBalance()).isEqualTo(100);
+        assertThat(account.getCasAttemptCount() - account.getCasRetryCount()).isEqualTo(3);
+        assertThat(elapsedMillis).isLessThan(2000); // CAS 실패마다 1초를 다시 쓰면 2초를 넘긴다.
+    }
+
+    @Test
+    @DisplayName("잔액보다 큰 금액은 CAS 를 시도하지 않고 바로 실패한다.")
+    void rejectsWithoutCas() {
+        BankAccountV7 account = new BankAccountV7(1000);
+
+        assertThat(account.withdraw(1500)).isFalse();
+        assertThat(account.getBalance()).isEqualTo(1000);
+        assertThat(account.getCasAttemptCount()).isZero();
+    }
+}
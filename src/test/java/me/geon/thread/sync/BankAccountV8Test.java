@@ -0,0 +1,76 @@
+package me.geon.thread.sync;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BankAccountV8Test {
+
+    @Test
+    @DisplayName("""
+            stripe 로 나눈 계좌
+            1. 여러 스레드가 동시에 출금해도 잔액이 음수가 되지 않는다.
+            2. 자기 stripe 가 부족하면 이웃 stripe 에서 빌려와 출금한다.
+            """)
+    void neverOverdraws() throws InterruptedException {
+        BankAccountV8 account = new BankAccountV8(1000, 4);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            threads.add(new Thread(() -> {
+                if (account.withdraw(100)) {
+                    succeeded.incrementAndGet();
+                }
+            }, "t" + i));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(succeeded.get()).isEqualTo(10);
+        assertThat(account.getBalance()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("한 stripe 잔액보다 큰 금액도 전체 잔액 안이면 출금된다.")
+    void withdrawMoreThanOneStripe() {
+        BankAccountV8 account = new BankAccountV8(1000, 4);
+
+        assertThat(account.withdraw(900)).isTrue();
+        assertThat(account.getBalance()).isEqualTo(100);
+        assertThat(account.withdraw(200)).isFalse();
+        assertThat(account.getBalance()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("""
+            getBalance() 의 대체 경로 (stripe 를 멈추고 합계)
+            1. 출금이 진행 중이어도 합계는 초기 잔액과 최종 잔액 사이다.
+            2. 멈췄던 stripe 는 다시 풀려서 출금이 모두 끝난다.
+            """)
+    void frozenBalanceReleasesStripes() throws InterruptedException {
+        BankAccountV8 account = new BankAccountV8(1000, 4);
+        assertThat(account.getFrozenBalance()).isEqualTo(1000);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> account.withdraw(100), "t" + i));
+        }
+        threads.forEach(Thread::start);
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            assertThat(account.getFrozenBalance()).isBetween(200, 1000);
+            Thread.sleep(1);
+        }
+
+        assertThat(account.getFrozenBalance()).isEqualTo(200);
+        assertThat(account.getBalance()).isEqualTo(200);
+        assertThat(account.withdraw(200)).isTrue();
+    }
+}
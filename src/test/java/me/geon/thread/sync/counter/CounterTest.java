@@ -0,0 +1,65 @@
+package me.geon.thread.sync.counter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CounterTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS = 100_000;
+
+    @Test
+    @DisplayName("스레드가 모두 끝나면 get() 은 정확한 합계를 반환한다.")
+    void exactAfterJoin() throws InterruptedException {
+        for (Counter counter : List.of(new SynchronizedCounter(), new StripedCounter(), new BatchingCounter(1000))) {
+            hammer(counter);
+            assertThat(counter.get()).isEqualTo((long) THREADS * INCREMENTS);
+        }
+    }
+
+    @Test
+    @DisplayName("BatchingCounter.getApproximate() 는 스레드마다 최대 batchSize - 1 만큼만 늦다.")
+    void batchingApproximateLag() {
+        BatchingCounter counter = new BatchingCounter(100);
+        for (int i = 0; i < 250; i++) {
+            counter.increment();
+        }
+        assertThat(counter.getApproximate()).isEqualTo(200);
+        assertThat(counter.get()).isEqualTo(250);
+
+        counter.flush();
+        assertThat(counter.getApproximate()).isEqualTo(250);
+    }
+
+    @Test
+    @DisplayName("StripedCounter.getApproximate() 는 갱신 주기 동안 이전 합계를 재사용한다.")
+    void stripedApproximateCaches() {
+        StripedCounter counter = new StripedCounter(4, Long.MAX_VALUE / 4);
+        counter.add(10);
+        assertThat(counter.getApproximate()).isEqualTo(10);
+        counter.add(5);
+        assertThat(counter.getApproximate()).isEqualTo(10);
+        assertThat(counter.get()).isEqualTo(15);
+    }
+
+    private static void hammer(Counter counter) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < INCREMENTS; i++) {
+                    counter.increment();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
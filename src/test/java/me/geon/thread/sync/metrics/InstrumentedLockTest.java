@@ -0,0 +1,72 @@
+package me.geon.thread.sync.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentedLockTest {
+
+    @Test
+    @DisplayName("await() 중에 다른 스레드가 락을 잡으면, 그 점유와 깨어난 뒤의 점유가 각각 기록된다.")
+    void awaitEndsAndRestartsHold() throws InterruptedException {
+        InstrumentedLock lock = new InstrumentedLock();
+        Condition ready = lock.newCondition();
+        CountDownLatch waiting = new CountDownLatch(1);
+
+        Thread waiter = new Thread(() -> {
+            lock.lock();
+            try {
+                waiting.countDown();
+                ready.awaitUninterruptibly();
+                assertThat(lock.isHeldByCurrentThread()).isTrue();
+            } finally {
+                lock.unlock();
+            }
+        }, "waiter");
+        waiter.start();
+        waiting.await();
+
+        lock.lock();
+        try {
+            assertThat(lock.isHeldByCurrentThread()).isTrue();
+            ready.signal();
+        } finally {
+            lock.unlock();
+        }
+        waiter.join();
+
+        // waiter(await 전) + main + waiter(깨어난 뒤)
+        assertThat(lock.snapshot().holdTime().count()).isEqualTo(3);
+        assertThat(lock.snapshot().acquisitions()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("락을 갖지 않은 스레드의 unlock() 은 예외를 던지고, 주인의 재진입 횟수를 바꾸지 않는다.")
+    void unlockFromNonOwnerKeepsHoldCount() throws InterruptedException {
+        InstrumentedLock lock = new InstrumentedLock();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        lock.lock();
+        lock.lock();
+        Thread other = new Thread(() -> {
+            try {
+                lock.unlock();
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+        other.start();
+        other.join();
+
+        assertThat(error.get()).isInstanceOf(IllegalMonitorStateException.class);
+        lock.unlock();
+        assertThat(lock.snapshot().holdTime().count()).isZero();
+        lock.unlock();
+        assertThat(lock.snapshot().holdTime().count()).isEqualTo(1);
+    }
+}
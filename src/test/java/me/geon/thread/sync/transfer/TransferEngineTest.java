@@ -0,0 +1,118 @@
+package me.geon.thread.sync.transfer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransferEngineTest {
+
+    @Test
+    @DisplayName("""
+            A -> B, B -> A 이체를 동시에 반복해도
+            1. 데드락 없이 끝난다. (항상 id 가 작은 계좌의 락부터 잡는다)
+            2. 성공한 이체만큼 정확히 잔액이 옮겨진다.
+            """)
+    void oppositeDirectionsDoNotDeadlock() throws Exception {
+        ExecutorService es = Executors.newFixedThreadPool(2);
+        TransferEngine engine = new TransferEngine(es);
+        TransferAccount a = new TransferAccount(1000);
+        TransferAccount b = new TransferAccount(1000);
+
+        Future<Integer> aToB = es.submit(() -> repeat(engine, a, b, 10_000));
+        Future<Integer> bToA = es.submit(() -> repeat(engine, b, a, 10_000));
+        int movedToB = aToB.get(10, TimeUnit.SECONDS);
+        int movedToA = bToA.get(10, TimeUnit.SECONDS);
+
+        assertThat(a.getBalance()).isEqualTo(1000 - movedToB + movedToA);
+        assertThat(b.getBalance()).isEqualTo(1000 + movedToB - movedToA);
+        es.close();
+    }
+
+    @Test
+    @DisplayName("""
+            transferAll 로 계좌 20개 사이의 이체 2만 건을 처리해도
+            1. 전체 잔액이 그대로다.
+            2. 어느 계좌도 음수가 되지 않는다.
+            """)
+    void transferAllConservesMoney() {
+        ExecutorService es = Executors.newFixedThreadPool(8);
+        TransferEngine engine = new TransferEngine(es);
+        List<TransferAccount> accounts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            accounts.add(new TransferAccount(1000));
+        }
+        Random random = new Random(42);
+        List<Transfer> transfers = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            int from = random.nextInt(accounts.size());
+            int to = (from + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+            transfers.add(new Transfer(accounts.get(from), accounts.get(to), 1 + random.nextInt(200)));
+        }
+
+        List<Boolean> results = engine.transferAll(transfers);
+
+        assertThat(results).hasSize(transfers.size());
+        assertThat(accounts.stream().mapToInt(TransferAccount::getBalance).sum()).isEqualTo(20 * 1000);
+        for (TransferAccount account : accounts) {
+            assertThat(account.getBalance()).isGreaterThanOrEqualTo(0);
+        }
+        es.close();
+    }
+
+    @Test
+    @DisplayName("""
+            transferAll 은 같은 계좌를 건드리는 이체를 입력 순서대로 실행한다.
+            잔액이 0 인 중계 계좌로 입금 -> 출금을 번갈아 넣으면, 순서가 바뀌는 순간 출금이 잔액 부족으로 실패한다.
+            """)
+    void transferAllKeepsPerAccountOrder() {
+        // 제출한 순서와 실행 순서가 어긋나도록, 작업마다 무작위로 지연시켜 실행하는 executor
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(8);
+        Executor shuffling = task -> scheduler.schedule(task, ThreadLocalRandom.current().nextInt(500), TimeUnit.MICROSECONDS);
+        TransferEngine engine = new TransferEngine(shuffling);
+        TransferAccount relay = new TransferAccount(0);
+        List<TransferAccount> sources = new ArrayList<>();
+        List<TransferAccount> targets = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            sources.add(new TransferAccount(1000));
+            targets.add(new TransferAccount(0));
+        }
+        List<Transfer> transfers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int amount = 1 + i % 10;
+            transfers.add(new Transfer(sources.get(i % 16), relay, amount));
+            transfers.add(new Transfer(relay, targets.get(i % 16), amount));
+        }
+
+        List<Boolean> results = engine.transferAll(transfers);
+
+        for (Boolean result : results) {
+            assertThat(result).isTrue();
+        }
+        assertThat(relay.getBalance()).isZero();
+        assertThat(targets.stream().mapToInt(TransferAccount::getBalance).sum())
+                .isEqualTo(16 * 1000 - sources.stream().mapToInt(TransferAccount::getBalance).sum());
+        scheduler.close();
+    }
+
+    private static int repeat(TransferEngine engine, TransferAccount from, TransferAccount to, int times) {
+        int moved = 0;
+        for (int i = 0; i < times; i++) {
+            if (engine.transfer(from, to, 1)) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+}